@@ -0,0 +1,93 @@
+package benchmarks;
+
+import model.core.AbstractGame;
+import model.core.GameEvent;
+import model.core.GameListener;
+import model.core.GamePlugin;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.swing.JPanel;
+import java.util.concurrent.TimeUnit;
+
+//Coste de notificar un evento a N oyentes a través de AbstractGame
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GameEventFanOutBenchmark {
+
+    @Param({"1", "8", "64"})
+    public int listeners;
+
+    private BenchGame game;
+    private int score;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        game = new BenchGame();
+        for (int i = 0; i < listeners; i++) {
+            game.addGameListener(new ConsumingListener(blackhole));
+        }
+    }
+
+    @Benchmark
+    public void scoreUpdated() {
+        game.fireScore(score++);
+    }
+
+    @Benchmark
+    public void stateChanged() {
+        game.fireState();
+    }
+
+    private static class ConsumingListener implements GameListener {
+        private final Blackhole blackhole;
+
+        ConsumingListener(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void onGameFinished(GameEvent event) {
+            blackhole.consume(event);
+        }
+
+        @Override
+        public void onScoreUpdated(GameEvent event) {
+            blackhole.consume(event);
+        }
+
+        @Override
+        public void onGameStateChanged(GameEvent event) {
+            blackhole.consume(event);
+        }
+
+        @Override
+        public void onGameError(GameEvent event) {
+            blackhole.consume(event);
+        }
+    }
+
+    private static class BenchGame extends AbstractGame {
+        void fireScore(int value) {
+            notifyScoreUpdated(value);
+        }
+
+        void fireState() {
+            notifyGameStateChanged(GameEvent.EventType.GAME_PAUSED);
+        }
+
+        @Override public String getGameName() { return "Benchmark"; }
+        @Override public String getGameVersion() { return "1.0"; }
+        @Override public String getGameDescription() { return ""; }
+        @Override public JPanel getGamePanel() { return null; }
+        @Override public void startGame() { }
+        @Override public void pauseGame() { }
+        @Override public void restartGame() { }
+        @Override public void stopGame() { }
+        @Override public GamePlugin getInstance() { return this; }
+    }
+}
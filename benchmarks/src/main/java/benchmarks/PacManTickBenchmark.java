@@ -0,0 +1,32 @@
+package benchmarks;
+
+import model.games.PacManGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+//Un paso de la lógica de PacMan (movimiento, colisiones con paredes, fantasmas y comida) sin pintar
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PacManTickBenchmark {
+
+    private PacManGame game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = PacManGame.createInstance();
+        game.startWithoutLoop();
+    }
+
+    @Benchmark
+    public void tick() {
+        if (!game.isGameRunning()) {
+            game.startWithoutLoop();
+        }
+        game.tick();
+    }
+}
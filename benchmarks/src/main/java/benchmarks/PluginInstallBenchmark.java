@@ -0,0 +1,83 @@
+package benchmarks;
+
+import model.core.GamePluginLoader;
+import model.core.PluginManifest;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+
+//Instalación completa de un plugin grande: copia a plugins/, SHA-256 en paralelo, verificación del JAR
+//y move atómico. Cada instalación es una sola medición porque la de 200 MB tarda segundos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PluginInstallBenchmark {
+
+    private static final int ENTRY_BYTES = 1024 * 1024;
+
+    @Param({"20", "200"})
+    public int megabytes;
+
+    private GamePluginLoader loader;
+    private File source;
+    private File installed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        loader = GamePluginLoader.getInstance();
+        source = Files.createTempFile("bench-install", ".jar").toFile();
+        Random random = new Random(42);
+        byte[] body = new byte[ENTRY_BYTES];
+        CRC32 crc = new CRC32();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(source))) {
+            out.putNextEntry(new JarEntry(PluginManifest.MANIFEST_PATH));
+            out.write(("name=BenchInstall\nversion=1.0.0\napiVersion=1.0\nmainClass=bench.BenchGame\n").getBytes("UTF-8"));
+            out.closeEntry();
+            // Sin comprimir: los bytes aleatorios no se achican y así el JAR mide lo pedido
+            for (int i = 0; i < megabytes; i++) {
+                random.nextBytes(body);
+                crc.reset();
+                crc.update(body);
+                JarEntry entry = new JarEntry("bench/Blob" + i + ".bin");
+                entry.setMethod(JarEntry.STORED);
+                entry.setSize(body.length);
+                entry.setCompressedSize(body.length);
+                entry.setCrc(crc.getValue());
+                out.putNextEntry(entry);
+                out.write(body);
+                out.closeEntry();
+            }
+        }
+    }
+
+    // Se borra lo instalado para que cada medición copie sobre un directorio igual
+    @TearDown(Level.Invocation)
+    public void removeInstalled() throws IOException {
+        if (installed != null) {
+            Files.deleteIfExists(installed.toPath());
+            installed = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        source.delete();
+    }
+
+    @Benchmark
+    public File installPlugin() throws Exception {
+        installed = loader.installPlugin(source, copied -> { }, () -> false);
+        return installed;
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import model.core.PluginManifest;
+import model.core.PluginWatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+//Lo que hace el cargador con cada JAR: leer el manifiesto del plugin y verificarlo entrada por entrada
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PluginJarScanBenchmark {
+
+    @Param({"10", "200"})
+    public int entries;
+
+    private File jar;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        jar = Files.createTempFile("bench-plugin", ".jar").toFile();
+        Random random = new Random(42);
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new JarEntry(PluginManifest.MANIFEST_PATH));
+            out.write(("name=Bench\nversion=1.2.3\napiVersion=1.0\nmainClass=bench.BenchGame\n").getBytes("UTF-8"));
+            out.closeEntry();
+            for (int i = 0; i < entries; i++) {
+                out.putNextEntry(new JarEntry("bench/Class" + i + ".class"));
+                byte[] body = new byte[2048];
+                random.nextBytes(body);
+                out.write(body);
+                out.closeEntry();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jar.delete();
+    }
+
+    @Benchmark
+    public PluginManifest readManifest() throws IOException {
+        return PluginManifest.read(jar);
+    }
+
+    @Benchmark
+    public void verifyJar() throws IOException {
+        PluginWatcher.verifyJar(jar);
+    }
+}
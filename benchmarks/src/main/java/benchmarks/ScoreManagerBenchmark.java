@@ -0,0 +1,43 @@
+package benchmarks;
+
+import model.persistence.GameRecord;
+import model.persistence.ScoreManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//updateScore incluye la escritura del JSON a disco; getTopScores es la lectura que hace la vista
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dscores.file=target/bench/scores.json"})
+public class ScoreManagerBenchmark {
+
+    private ScoreManager scoreManager;
+    private int score;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // ScoreManager imprime en cada guardado; se silencia para no medir la consola
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        scoreManager = ScoreManager.getInstance();
+        for (int i = 0; i < 3; i++) {
+            scoreManager.updateScore("Benchmark", i * 100);
+        }
+    }
+
+    @Benchmark
+    public void updateScore() {
+        scoreManager.updateScore("Benchmark", score++ & 1023);
+    }
+
+    @Benchmark
+    public List<GameRecord> getTopScores() {
+        return scoreManager.getTopScores("Benchmark");
+    }
+}
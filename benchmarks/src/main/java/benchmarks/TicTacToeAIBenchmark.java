@@ -0,0 +1,95 @@
+package benchmarks;
+
+import model.games.TicTacToeAI;
+import model.games.TicTacToeBoard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//Búsqueda completa del oponente perfecto desde el tablero vacío y desde posiciones de media partida.
+//Los contadores dan posiciones evaluadas por segundo y, con hits/probes, la tasa de aciertos de la tabla
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TicTacToeAIBenchmark {
+
+    private static final int POSITIONS = 64;
+
+    // "empty" es la primera jugada de la partida; "midgame" son posiciones con 2 a 5 fichas puestas
+    @Param({"empty", "midgame"})
+    public String position;
+
+    // "cold" estrena la tabla en cada búsqueda; "warm" la reutiliza como hace TicTacToeGame entre jugadas
+    @Param({"cold", "warm"})
+    public String table;
+
+    private TicTacToeBoard[] boards;
+    private TicTacToeAI sharedAI;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boards = "empty".equals(position) ? new TicTacToeBoard[]{new TicTacToeBoard()} : midgamePositions();
+        sharedAI = new TicTacToeAI();
+    }
+
+    // Devuelve la jugada para que el JIT no elimine la búsqueda
+    @Benchmark
+    public int chooseMove(SearchCounters counters) {
+        TicTacToeBoard board = boards[next++ % boards.length];
+        TicTacToeAI ai = "cold".equals(table) ? new TicTacToeAI() : sharedAI;
+        ai.resetStats();
+        int move = ai.chooseMove(board);
+        counters.add(ai);
+        return move;
+    }
+
+    private static TicTacToeBoard[] midgamePositions() {
+        Random random = new Random(42);
+        List<TicTacToeBoard> positions = new ArrayList<>(POSITIONS);
+        while (positions.size() < POSITIONS) {
+            TicTacToeBoard board = new TicTacToeBoard();
+            int moves = 2 + random.nextInt(4);
+            for (int i = 0; i < moves && !board.isFinished(); i++) {
+                int cell;
+                do {
+                    cell = random.nextInt(TicTacToeBoard.CLASSIC_CELLS);
+                } while (!board.isEmpty(cell));
+                board.play(cell);
+            }
+            if (!board.isFinished()) {
+                positions.add(board);
+            }
+        }
+        return positions.toArray(new TicTacToeBoard[0]);
+    }
+
+    //JMH los informa por segundo: nodes son posiciones evaluadas, hits/probes la tasa de aciertos de la tabla
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class SearchCounters {
+        public long nodes;
+        public long probes;
+        public long hits;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            nodes = 0;
+            probes = 0;
+            hits = 0;
+        }
+
+        void add(TicTacToeAI ai) {
+            long tableProbes = ai.getTableProbes();
+            nodes += ai.getNodesEvaluated();
+            probes += tableProbes;
+            hits += Math.round(ai.getTableHitRate() * tableProbes);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import model.games.TicTacToeBoard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//Partidas completas con jugadas aleatorias precalculadas: cada play() incluye la comprobación de victoria
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TicTacToeWinCheckBenchmark {
+
+    private static final int GAMES = 256;
+
+    // "3:3" es el clásico con máscaras; "15:5" usa la comprobación O(K) por la última jugada
+    @Param({"3:3", "15:5"})
+    public String board;
+
+    private TicTacToeBoard model;
+    private int[][] games;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] parts = board.split(":");
+        int size = Integer.parseInt(parts[0]);
+        int winLength = Integer.parseInt(parts[1]);
+        model = new TicTacToeBoard(size, winLength);
+
+        Random random = new Random(42);
+        games = new int[GAMES][];
+        for (int g = 0; g < GAMES; g++) {
+            int[] order = new int[size * size];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+            games[g] = order;
+        }
+    }
+
+    // Devuelve el resultado para que el JIT no elimine la partida
+    @Benchmark
+    public TicTacToeBoard.Result playGame() {
+        int[] moves = games[next++ & (GAMES - 1)];
+        model.reset();
+        for (int i = 0; i < moves.length && !model.isFinished(); i++) {
+            model.play(moves[i]);
+        }
+        return model.getResult();
+    }
+}
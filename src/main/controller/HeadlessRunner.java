@@ -0,0 +1,335 @@
+package controller;
+
+import model.core.GameEvent;
+import model.core.GameListener;
+import model.core.GameSession;
+import model.core.GameSessionFactory;
+import model.core.ScriptableGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Modo por lotes sin interfaz para pruebas de carga y CI: juega N partidas de cada juego con entradas
+//al azar, repartidas entre hilos, e informa partidas/s y eventos/s. Cada partida es una GameSession;
+//con --sessions K se mantienen K sesiones vivas a la vez, avanzadas por turnos dentro de cada hilo.
+//--measure-memory informa los bytes por sesión de cada juego.
+//Uso: MainController --headless [--games N] [--game nombre] [--threads T] [--sessions K] [--max-steps M]
+//     [--seed S] [--measure-memory]
+public class HeadlessRunner {
+    public static final String HEADLESS_FLAG = "--headless";
+
+    private static final long DEFAULT_GAMES = 10_000;
+    private static final int DEFAULT_MAX_STEPS = 20_000;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int threads;
+    private final int sessions;
+    private final int maxSteps;
+    private final long seed;
+    private final GameSessionFactory sessionFactory;
+
+    public HeadlessRunner(int threads, int sessions, int maxSteps, long seed) {
+        this.threads = threads;
+        this.sessions = Math.max(sessions, threads);
+        this.maxSteps = maxSteps;
+        this.seed = seed;
+        this.sessionFactory = GameSessionFactory.getInstance();
+    }
+
+    // Devuelve el código de salida del proceso
+    public static int run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        long games = DEFAULT_GAMES;
+        String gameName = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int sessions = 0;
+        int maxSteps = DEFAULT_MAX_STEPS;
+        long seed = 42;
+        boolean measureMemory = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case HEADLESS_FLAG: break;
+                    case "--games": games = Long.parseLong(args[++i]); break;
+                    case "--game": gameName = args[++i]; break;
+                    case "--threads": threads = Integer.parseInt(args[++i]); break;
+                    case "--sessions": sessions = Integer.parseInt(args[++i]); break;
+                    case "--measure-memory": measureMemory = true; break;
+                    case "--max-steps": maxSteps = Integer.parseInt(args[++i]); break;
+                    case "--seed": seed = Long.parseLong(args[++i]); break;
+                    default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Argumentos inválidos: " + e.getMessage());
+            return 2;
+        }
+
+        List<ScriptableGame.Provider> providers = new ArrayList<>();
+        for (ScriptableGame.Provider provider : MainController.getHeadlessInstance().getSimulationProviders()) {
+            if (gameName == null || provider.getGameName().equalsIgnoreCase(gameName)) {
+                providers.add(provider);
+            }
+        }
+        if (providers.isEmpty()) {
+            System.err.println("No hay juegos sin interfaz" + (gameName != null ? " llamados " + gameName : ""));
+            return 1;
+        }
+
+        HeadlessRunner runner = new HeadlessRunner(threads, sessions, maxSteps, seed);
+        if (measureMemory) {
+            System.out.println(Footprint.HEADER);
+            for (ScriptableGame.Provider provider : providers) {
+                System.out.println(runner.measureFootprint(provider, (int) Math.min(games, Integer.MAX_VALUE)).toRow());
+            }
+            return 0;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "headless-session");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            System.out.println(Report.HEADER);
+            Report total = new Report("TOTAL", threads);
+            for (ScriptableGame.Provider provider : providers) {
+                Report report = runner.run(provider, games, pool);
+                System.out.println(report.toRow());
+                total.add(report);
+            }
+            System.out.println(total.toRow());
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Error en la simulación: " + e.getMessage());
+            e.printStackTrace();
+            return 1;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Cada hilo toma índices de partida de un contador compartido; la semilla de cada partida depende solo del índice,
+    // así el resultado no cambia con la cantidad de hilos ni de sesiones simultáneas
+    public Report run(ScriptableGame.Provider provider, long games, ExecutorService pool) throws Exception {
+        AtomicLong nextGame = new AtomicLong();
+        List<Future<Report>> workers = new ArrayList<>(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int slots = sessions / threads + (t < sessions % threads ? 1 : 0);
+            workers.add(pool.submit(() -> {
+                Report partial = new Report(provider.getGameName(), threads);
+                EventCounter counter = new EventCounter();
+                Slot[] live = new Slot[slots];
+                int active = 0;
+                for (int i = 0; i < slots; i++) {
+                    live[i] = openNext(provider, nextGame, games, counter);
+                    if (live[i] != null) {
+                        active++;
+                    }
+                }
+                while (active > 0) {
+                    for (int i = 0; i < slots; i++) {
+                        Slot slot = live[i];
+                        if (slot == null) {
+                            continue;
+                        }
+                        if (step(slot)) {
+                            finish(slot, partial);
+                            live[i] = openNext(provider, nextGame, games, counter);
+                            if (live[i] == null) {
+                                active--;
+                            }
+                        }
+                    }
+                }
+                partial.events = counter.events;
+                partial.scoreSum = counter.finalScores;
+                return partial;
+            }));
+        }
+
+        Report report = new Report(provider.getGameName(), threads);
+        for (Future<Report> worker : workers) {
+            report.add(worker.get());
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    private Slot openNext(ScriptableGame.Provider provider, AtomicLong nextGame, long games, EventCounter counter) {
+        long index = nextGame.getAndIncrement();
+        if (index >= games) {
+            return null;
+        }
+        long gameSeed = seed ^ (index * GOLDEN_GAMMA);
+        GameSession session = sessionFactory.open(provider, gameSeed);
+        session.addGameListener(counter);
+        return new Slot(session, new SplittableRandom(gameSeed));
+    }
+
+    // Un paso de la sesión; true cuando terminó o llegó al máximo de pasos
+    private boolean step(Slot slot) {
+        GameSession session = slot.session;
+        if (session.isFinished() || slot.steps >= maxSteps) {
+            return true;
+        }
+        List<String> inputs = session.getAvailableInputs();
+        if (!inputs.isEmpty()) {
+            session.applyInput(inputs.get(slot.random.nextInt(inputs.size())));
+        }
+        session.tick();
+        slot.steps++;
+        return false;
+    }
+
+    private void finish(Slot slot, Report report) {
+        report.games++;
+        report.steps += slot.steps;
+        if (!slot.session.isFinished()) {
+            report.truncated++;
+        }
+        slot.session.close();
+    }
+
+    // Abre 'count' sesiones, las mantiene vivas y mide el heap antes y después
+    public Footprint measureFootprint(ScriptableGame.Provider provider, int count) {
+        sessionFactory.open(provider, seed).close();
+        long before = usedHeapAfterGc();
+        GameSession[] open = new GameSession[count];
+        for (int i = 0; i < count; i++) {
+            open[i] = sessionFactory.open(provider, seed ^ (i * GOLDEN_GAMMA));
+        }
+        long after = usedHeapAfterGc();
+        for (GameSession session : open) {
+            session.close();
+        }
+        return new Footprint(provider.getGameName(), count, after - before);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    //Sesión en curso dentro de un hilo, con su generador de entradas
+    private static class Slot {
+        final GameSession session;
+        final SplittableRandom random;
+        int steps;
+
+        Slot(GameSession session, SplittableRandom random) {
+            this.session = session;
+            this.random = random;
+        }
+    }
+
+    //Cuenta eventos sin guardarlos; una instancia por hilo
+    private static class EventCounter implements GameListener {
+        long events;
+        long finalScores;
+
+        @Override
+        public void onGameFinished(GameEvent event) {
+            events++;
+            finalScores += event.getScore();
+        }
+
+        @Override
+        public void onScoreUpdated(GameEvent event) {
+            events++;
+        }
+
+        @Override
+        public void onGameStateChanged(GameEvent event) {
+            events++;
+        }
+
+        @Override
+        public void onGameError(GameEvent event) {
+            events++;
+        }
+    }
+
+    public static class Footprint {
+        static final String HEADER = "game,sessions,heapBytes,bytesPerSession";
+
+        private final String gameName;
+        private final int sessions;
+        private final long heapBytes;
+
+        Footprint(String gameName, int sessions, long heapBytes) {
+            this.gameName = gameName;
+            this.sessions = sessions;
+            this.heapBytes = heapBytes;
+        }
+
+        public long getBytesPerSession() {
+            return sessions == 0 ? 0 : heapBytes / sessions;
+        }
+
+        String toRow() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%d", gameName, sessions, heapBytes, getBytesPerSession());
+        }
+    }
+
+    public static class Report {
+        static final String HEADER = "game,games,steps,events,truncated,threads,elapsedMs,gamesPerSec,eventsPerSec,stepsPerSec";
+
+        private final String gameName;
+        private final int threads;
+        private long games;
+        private long steps;
+        private long events;
+        private long truncated;
+        private long scoreSum;
+        private long elapsedNanos;
+
+        Report(String gameName, int threads) {
+            this.gameName = gameName;
+            this.threads = threads;
+        }
+
+        void add(Report other) {
+            games += other.games;
+            steps += other.steps;
+            events += other.events;
+            truncated += other.truncated;
+            scoreSum += other.scoreSum;
+            elapsedNanos += other.elapsedNanos;
+        }
+
+        public String getGameName() { return gameName; }
+        public long getGames() { return games; }
+        public long getSteps() { return steps; }
+        public long getEvents() { return events; }
+        public long getTruncated() { return truncated; }
+        public long getScoreSum() { return scoreSum; }
+        public double getElapsedMillis() { return elapsedNanos / 1e6; }
+
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+        }
+
+        public double getEventsPerSecond() {
+            return elapsedNanos == 0 ? 0 : events * 1e9 / elapsedNanos;
+        }
+
+        String toRow() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f",
+                gameName, games, steps, events, truncated, threads, getElapsedMillis(),
+                getGamesPerSecond(), getEventsPerSecond(), elapsedNanos == 0 ? 0 : steps * 1e9 / elapsedNanos);
+        }
+    }
+}
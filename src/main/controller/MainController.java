@@ -4,44 +4,108 @@ import model.core.*;
 import model.games.TicTacToeGame;
 import model.games.AhorcadoGame;
 import model.games.PacManGame;
+import model.games.PacManModel;
+import model.games.AhorcadoSimulation;
+import model.games.TicTacToeBoard;
+import model.games.TicTacToeSimulation;
+import model.persistence.GameRecord;
 import model.persistence.ScoreManager;
 import view.MainView;
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 //Controlador principal
 public class MainController implements GameListener {
 
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("controller");
+
     private MainView view;
     private ScoreManager scoreManager;
     private GamePluginLoader pluginLoader;
+    private PluginMonitor pluginMonitor;
+    private GameScheduler gameScheduler;
+    private EdtMonitor edtMonitor;
+    private MetricsRegistry metrics;
+    private FlightRecorder flightRecorder;
+    private SnapshotStore snapshotStore;
     private List<GamePlugin> availableGames;
+    private List<PluginManifest> internalCatalog;
+    private GameSessionFactory sessionFactory;
+    private FrameScheduler frameScheduler;
+    // Juegos de la pantalla dividida; vacía si se juega uno solo
+    private final List<GamePlugin> splitGames = new ArrayList<>();
     private GamePlugin currentGame;
+    private final boolean headless;
 
     private static MainController instance;
 
-    private MainController() {
+    private MainController(boolean headless) {
+        this.headless = headless;
         this.availableGames = new ArrayList<>();
+        this.internalCatalog = new ArrayList<>();
         initializeComponents();
     }
 
     public static MainController getInstance() {
         if (instance == null) {
-            instance = new MainController();
+            instance = new MainController(false);
+        }
+        return instance;
+    }
+
+    // Sin interfaz: no se crea ningún componente Swing ni se toca la cola de eventos
+    public static synchronized MainController getHeadlessInstance() {
+        if (instance == null) {
+            instance = new MainController(true);
         }
         return instance;
     }
 
+    public boolean isHeadless() {
+        return headless;
+    }
+
     private void initializeComponents() {
         this.scoreManager = ScoreManager.getInstance();
 
         this.pluginLoader = GamePluginLoader.getInstance();
 
+        this.pluginMonitor = PluginMonitor.getInstance();
+        this.gameScheduler = GameScheduler.getInstance();
+        this.snapshotStore = SnapshotStore.getInstance();
+        this.sessionFactory = GameSessionFactory.getInstance();
+        this.frameScheduler = FrameScheduler.getInstance();
+
+        this.edtMonitor = EdtMonitor.getInstance();
+        if (!headless) {
+            edtMonitor.install();
+        }
+
+        this.metrics = MetricsRegistry.getInstance();
+        registerGauges();
+        metrics.startConfiguredExporters();
+
+        this.flightRecorder = FlightRecorder.getInstance();
+        // Las corridas sin interfaz (carga, CI) no pagan la grabación en disco salvo con -Dflightrecorder=true
+        if (!headless || Boolean.parseBoolean(System.getProperty("flightrecorder", "false"))) {
+            flightRecorder.start();
+        }
+
         pluginLoader.setOnPluginAddedCallback(() -> {
             reloadExternalGames();
         });
 
+        if (headless) {
+            loadInternalSimulations();
+            loadExternalGames();
+            return;
+        }
+
         loadInternalGames();
 
         loadExternalGames();
@@ -52,95 +116,203 @@ public class MainController implements GameListener {
         });
     }
 
+    private void registerGauges() {
+        metrics.gauge("plugins_catalog_size", null, () -> pluginLoader.getCatalog().size());
+        metrics.gauge("plugins_loaded", null, () -> pluginLoader.getLoadedPlugins().size());
+        metrics.gauge("edt_stalls_total", null, edtMonitor::getStallCount);
+        metrics.gauge("edt_dispatch_total", null, edtMonitor::getDispatchCount);
+        metrics.gauge("jvm_heap_used_bytes", null,
+                () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+        metrics.gauge("sessions_open", null, sessionFactory::getOpenSessions);
+    }
+
+    // Los juegos internos en versión sin interfaz; no se instancian sus paneles
+    private void loadInternalSimulations() {
+        sessionFactory.registerProvider(TicTacToeSimulation.provider(TicTacToeBoard.CLASSIC_SIZE, TicTacToeBoard.CLASSIC_SIZE));
+        sessionFactory.registerProvider(AhorcadoSimulation.provider(null));
+        sessionFactory.registerProvider(PacManModel.provider());
+        LOG.info("Juegos internos sin interfaz: {}", sessionFactory.getProviders().size());
+    }
+
+    // Internos más los plugins externos que implementan ScriptableGame.Provider; quedan registrados
+    // en la fábrica de sesiones
+    public List<ScriptableGame.Provider> getSimulationProviders() {
+        for (PluginManifest manifest : pluginLoader.getCatalog()) {
+            try {
+                GamePlugin plugin = pluginLoader.getPlugin(manifest.getName());
+                if (plugin instanceof ScriptableGame.Provider) {
+                    sessionFactory.registerProvider((ScriptableGame.Provider) plugin);
+                } else {
+                    LOG.info("Plugin sin modo sin interfaz: {}", manifest.getName());
+                }
+            } catch (Exception e) {
+                LOG.error("Error instanciando plugin {}: {}", manifest.getName(), e.getMessage());
+            }
+        }
+        return sessionFactory.getProviders();
+    }
+
     private void loadInternalGames() {
         try {
             GamePlugin ticTacToe = TicTacToeGame.createInstance();
             availableGames.add(ticTacToe);
-            System.out.println(" Tic-Tac-Toe cargado correctamente");
+            LOG.info("Tic-Tac-Toe cargado correctamente");
 
             GamePlugin ahorcado = AhorcadoGame.createInstance();
             availableGames.add(ahorcado);
-            System.out.println(" Ahorcado cargado correctamente");
+            LOG.info("Ahorcado cargado correctamente");
 
             GamePlugin pacMan = PacManGame.createInstance();
             availableGames.add(pacMan);
-            System.out.println(" PacMan cargado correctamente");
+            LOG.info("PacMan cargado correctamente");
 
-            System.out.println(" Total de juegos internos: " + availableGames.size());
+            for (GamePlugin game : availableGames) {
+                internalCatalog.add(PluginManifest.forPlugin(game, null));
+                edtMonitor.registerGame(game);
+            }
+
+            LOG.info("Total de juegos internos: {}", availableGames.size());
 
         } catch (Exception e) {
-            System.err.println(" Error cargando juegos internos: " + e.getMessage());
-            e.printStackTrace();
             handleException("Error cargando juegos internos", e);
         }
     }
 
     private void loadExternalGames() {
         try {
-            System.out.println("Iniciando carga de plugins externos...");
-            pluginLoader.loadExternalGames();
-            List<GamePlugin> externalPlugins = pluginLoader.getLoadedPlugins();
-
-            System.out.println("Plugins encontrados: " + externalPlugins.size());
-            for (GamePlugin plugin : externalPlugins) {
-                if (!availableGames.contains(plugin)) {
-                    availableGames.add(plugin);
-                    System.out.println("Plugin externo agregado: " + plugin.getGameName());
-                }
+            LOG.info("Iniciando carga de plugins externos...");
+            // Sin interfaz no hay catálogo que refrescar: los JARs se cargan una vez y no se vigila plugins/
+            pluginLoader.loadExternalGames(!headless);
+            List<PluginManifest> externalCatalog = pluginLoader.getCatalog();
+
+            LOG.info("Plugins encontrados: {}", externalCatalog.size());
+            for (PluginManifest manifest : externalCatalog) {
+                LOG.info("Plugin externo disponible: {} v{}", manifest.getName(), manifest.getVersion());
             }
 
-            if (externalPlugins.isEmpty()) {
-                System.out.println("No se encontraron plugins externos");
+            if (externalCatalog.isEmpty()) {
+                LOG.info("No se encontraron plugins externos");
             }
 
-            System.out.println("Carga de plugins externos completada");
+            LOG.info("Carga de plugins externos completada");
 
         } catch (Exception e) {
-            System.err.println("Error cargando plugins externos: " + e.getMessage());
-            e.printStackTrace();
             handleException("Error cargando plugins externos", e);
         }
     }
 
     private void reloadExternalGames() {
         try {
-            List<GamePlugin> externalPlugins = pluginLoader.getLoadedPlugins();
-
-            boolean updated = false;
-            for (GamePlugin plugin : externalPlugins) {
-                if (!availableGames.contains(plugin)) {
-                    availableGames.add(plugin);
-                    System.out.println("Nuevo plugin detectado: " + plugin.getGameName());
-                    updated = true;
-                }
-            }
+            LOG.info("Catálogo de plugins actualizado: {}", pluginLoader.getCatalog().size());
 
-            if (updated && view != null) {
+            if (view != null) {
                 SwingUtilities.invokeLater(() -> {
                     view.refreshGamesList();
                 });
             }
 
         } catch (Exception e) {
-            System.err.println("Error recargando plugins: " + e.getMessage());
+            LOG.error("Error recargando plugins: {}", e.getMessage());
         }
     }
 
     // Obtener jueos dispobibles
     public List<GamePlugin> getAvailableGames() {
-        return new ArrayList<>(availableGames);
+        List<GamePlugin> games = new ArrayList<>(availableGames);
+        for (GamePlugin plugin : pluginLoader.getLoadedPlugins()) {
+            if (!games.contains(plugin)) {
+                games.add(plugin);
+            }
+        }
+        return games;
+    }
+
+    // Catálogo armado solo con manifiestos; los plugins externos no se instancian aquí
+    public List<PluginManifest> getGameCatalog() {
+        List<PluginManifest> catalog = new ArrayList<>(internalCatalog);
+        for (PluginManifest manifest : pluginLoader.getCatalog()) {
+            if (findInternalGame(manifest.getName()) == null) {
+                catalog.add(manifest);
+            }
+        }
+        return catalog;
+    }
+
+    public void selectGame(String gameName) {
+        try {
+            GamePlugin game = resolveGame(gameName);
+            if (game == null) {
+                handleException("Juego no disponible: " + gameName, null);
+                return;
+            }
+
+            selectGame(game);
+
+        } catch (Exception e) {
+            handleException("Error cargando el juego " + gameName, e);
+        }
+    }
+
+    private GamePlugin resolveGame(String gameName) throws Exception {
+        GamePlugin game = findInternalGame(gameName);
+        if (game == null) {
+            game = pluginLoader.getPlugin(gameName);
+        }
+
+        PluginManifest manifest = pluginLoader.getManifest(gameName);
+        if (game != null && manifest != null && manifest.getPreferredSize() != null && game.getGamePanel() != null) {
+            game.getGamePanel().setPreferredSize(manifest.getPreferredSize());
+        }
+        return game;
+    }
+
+    private GamePlugin findInternalGame(String gameName) {
+        for (GamePlugin game : availableGames) {
+            if (game.getGameName().equals(gameName)) {
+                return game;
+            }
+        }
+        return null;
     }
 
     // Seleccionar y cargar un juego en la interfaz
     public void selectGame(GamePlugin game) {
         try {
+            if (pluginMonitor.isSuspended(game.getGameName())) {
+                handleException("El juego " + game.getGameName()
+                        + " fue suspendido por bloquear la interfaz. Reactívalo desde Diagnóstico.", null);
+                return;
+            }
+
+            stopSplitScreen();
+
             if (currentGame != null && currentGame.isGameRunning()) {
-                currentGame.stopGame();
+                GamePlugin previous = currentGame;
+                // Al cambiar a otro juego la partida se guarda para retomarla; al reelegir el mismo se reinicia
+                if (previous == game || !suspendToSnapshot(previous)) {
+                    pluginMonitor.runCallback(previous.getGameName(), "stopGame", previous::stopGame);
+                }
+            }
+            // Las transiciones pendientes del juego anterior no deben dispararse sobre el nuevo
+            if (currentGame != null && currentGame != game) {
+                gameScheduler.cancelAll(currentGame.getGameName());
             }
 
             currentGame = game;
             currentGame.addGameListener(this);
-            currentGame.restartGame();
+            edtMonitor.registerGame(game);
+            edtMonitor.setCurrentContext(game.getGameName());
+            if (!resumeFromSnapshot(game)) {
+                pluginMonitor.runCallback(game.getGameName(), "restartGame", game::restartGame);
+            }
+
+            if (pluginMonitor.isSuspended(game.getGameName())) {
+                game.stopGame();
+                gameScheduler.cancelAll(game.getGameName());
+                handleException("El juego " + game.getGameName()
+                        + " excedió el presupuesto de EDT y fue suspendido", null);
+                return;
+            }
 
             if (view != null) {
                 view.displayGame(game.getGamePanel());
@@ -153,23 +325,158 @@ public class MainController implements GameListener {
         }
     }
 
+    // De 2 a 4 juegos a la vez; los que tienen bucle propio pasan al FrameScheduler compartido
+    public void startSplitScreen(List<String> gameNames) {
+        if (gameNames.size() < 2 || gameNames.size() > 4) {
+            handleException("La pantalla dividida admite de 2 a 4 juegos", null);
+            return;
+        }
+        try {
+            List<GamePlugin> games = new ArrayList<>();
+            for (String gameName : gameNames) {
+                GamePlugin game = resolveGame(gameName);
+                if (game == null) {
+                    handleException("Juego no disponible: " + gameName, null);
+                    return;
+                }
+                if (pluginMonitor.isSuspended(gameName)) {
+                    handleException("El juego " + gameName
+                            + " fue suspendido por bloquear la interfaz. Reactívalo desde Diagnóstico.", null);
+                    return;
+                }
+                games.add(game);
+            }
+
+            stopSplitScreen();
+            if (currentGame != null) {
+                GamePlugin previous = currentGame;
+                if (previous.isGameRunning() && (games.contains(previous) || !suspendToSnapshot(previous))) {
+                    pluginMonitor.runCallback(previous.getGameName(), "stopGame", previous::stopGame);
+                }
+                gameScheduler.cancelAll(previous.getGameName());
+                currentGame = null;
+            }
+
+            List<JPanel> panels = new ArrayList<>();
+            for (GamePlugin game : games) {
+                game.addGameListener(this);
+                edtMonitor.registerGame(game);
+                if (game instanceof Tickable) {
+                    frameScheduler.attach((Tickable) game);
+                }
+                if (!resumeFromSnapshot(game)) {
+                    pluginMonitor.runCallback(game.getGameName(), "restartGame", game::restartGame);
+                }
+                splitGames.add(game);
+                panels.add(game.getGamePanel());
+            }
+            edtMonitor.setCurrentContext(String.join("+", gameNames));
+            LOG.info("Pantalla dividida: {}", gameNames);
+
+            if (view != null) {
+                view.displaySplitScreen(gameNames, panels, frameScheduler);
+            }
+        } catch (Exception e) {
+            stopSplitScreen();
+            handleException("Error iniciando la pantalla dividida", e);
+        }
+    }
+
+    public boolean isSplitScreen() {
+        return !splitGames.isEmpty();
+    }
+
+    private void stopSplitScreen() {
+        for (GamePlugin game : splitGames) {
+            if (game instanceof Tickable) {
+                frameScheduler.detach((Tickable) game);
+            }
+            if (game.isGameRunning()) {
+                pluginMonitor.runCallback(game.getGameName(), "stopGame", game::stopGame);
+            }
+            gameScheduler.cancelAll(game.getGameName());
+        }
+        splitGames.clear();
+    }
+
+    private boolean suspendToSnapshot(GamePlugin game) {
+        if (!(game instanceof SnapshotCapable)) {
+            return false;
+        }
+        SnapshotCapable snapshotGame = (SnapshotCapable) game;
+        pluginMonitor.runCallback(game.getGameName(), "pauseGame", game::pauseGame);
+        try {
+            int bytes = snapshotStore.save(game.getGameName(), snapshotGame);
+            LOG.debug("Partida de {} guardada ({} bytes)", game.getGameName(), bytes);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("No se pudo guardar la partida de {}: {}", game.getGameName(), e.getMessage());
+            snapshotStore.discard(game.getGameName());
+            return false;
+        }
+    }
+
+    private boolean resumeFromSnapshot(GamePlugin game) {
+        if (!(game instanceof SnapshotCapable) || !snapshotStore.has(game.getGameName())) {
+            return false;
+        }
+        SnapshotCapable snapshotGame = (SnapshotCapable) game;
+        try {
+            if (!snapshotStore.restore(game.getGameName(), snapshotGame)) {
+                return false;
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Instantánea de {} inválida, se reinicia: {}", game.getGameName(), e.getMessage());
+            return false;
+        }
+        pluginMonitor.runCallback(game.getGameName(), "resumeGame", snapshotGame::resumeGame);
+        return true;
+    }
+
+    public void installPlugin(java.awt.Component parent) {
+        pluginLoader.loadPluginInteractive(parent);
+    }
+
+    public List<PluginMonitor.PluginStats> getPluginStats() {
+        return pluginMonitor.getStats();
+    }
+
+    public void resumePlugin(String gameName) {
+        pluginMonitor.resume(gameName);
+    }
+
+    // Vuelca la grabación continua de JFR; el archivo resultante llega en el futuro
+    public CompletableFuture<Path> dumpFlightRecording(String reason) {
+        return flightRecorder.dump(reason);
+    }
+
     // Obtener mejores puntasjes de cada juego
-    public List<String> getTopScores(String gameName) {
-        return scoreManager.getTopScoresAsStrings(gameName);
+    public List<GameRecord> getTopScores(String gameName) {
+        return scoreManager.getTopScores(gameName);
+    }
+
+    // Los cambios del podio llegan por aquí en lugar de volver a pedir la tabla completa
+    public void addScoreListener(ScoreManager.ScoreListener listener) {
+        scoreManager.addScoreListener(listener);
     }
 
     @Override
     public void onGameFinished(GameEvent event) {
-        System.out.println(" Juego terminado: " + event.getGameName() +
-                " - Puntaje: " + event.getScore());
+        LOG.info("Juego terminado: {} - Puntaje: {}", event.getGameName(), event.getScore());
+        metrics.counter("games_finished_total", event.getGameName()).increment();
 
         scoreManager.updateScore(event.getGameName(), event.getScore());
 
         scoreManager.printAllScores();
 
         SwingUtilities.invokeLater(() -> {
-            if (view != null) {
+            // En pantalla dividida el diálogo modal taparía a los demás juegos; cada uno muestra su propio final
+            if (view != null && !isSplitScreen()) {
                 view.showGameFinishedMessage(event.getGameName(), event.getScore());
+            }
+            // Fuera de pantalla dividida el podio ya es el del juego elegido y se actualiza solo;
+            // en ella se pasa al del juego que acaba de terminar
+            if (view != null && isSplitScreen()) {
                 view.updateScoresDisplay(event.getGameName());
             }
         });
@@ -177,8 +484,8 @@ public class MainController implements GameListener {
 
     @Override
     public void onScoreUpdated(GameEvent event) {
-        System.out.println(" Puntaje actualizado: " + event.getGameName() +
-                " - Nuevo: " + event.getScore());
+        // Llega en cada punto comido; se cuenta en lugar de imprimirse
+        metrics.meter("score_events", event.getGameName()).mark();
 
         SwingUtilities.invokeLater(() -> {
             if (view != null) {
@@ -189,8 +496,10 @@ public class MainController implements GameListener {
 
     @Override
     public void onGameStateChanged(GameEvent event) {
-        System.out.println(" Estado cambiado: " + event.getGameName() +
-                " - Tipo: " + event.getEventType());
+        LOG.debug("Estado cambiado: {} - Tipo: {}", event.getGameName(), event.getEventType());
+        if (event.getEventType() == GameEvent.EventType.GAME_STARTED) {
+            metrics.counter("games_started_total", event.getGameName()).increment();
+        }
     }
 
     @Override
@@ -198,7 +507,10 @@ public class MainController implements GameListener {
         String errorMsg = (String) event.getData("errorMessage");
         Exception exception = (Exception) event.getData("exception");
 
-        System.err.println(" Error en juego " + event.getGameName() + ": " + errorMsg);
+        LOG.error("Error en juego {}: {}", event.getGameName(), errorMsg);
+        metrics.counter("game_errors_total", event.getGameName()).increment();
+        // Se conserva lo que pasó justo antes del error
+        flightRecorder.dumpOnError(event.getGameName());
 
         SwingUtilities.invokeLater(() -> {
             JOptionPane.showMessageDialog(view,
@@ -211,9 +523,13 @@ public class MainController implements GameListener {
     }
 
     private void handleException(String message, Exception exception) {
-        System.err.println(message);
         if (exception != null) {
-            exception.printStackTrace();
+            LOG.error(message, exception);
+        } else {
+            LOG.error(message);
+        }
+        if (headless) {
+            return;
         }
 
         SwingUtilities.invokeLater(() -> {
@@ -227,7 +543,13 @@ public class MainController implements GameListener {
     }
 
     public static void main(String[] args) {
+        if (Arrays.asList(args).contains(HeadlessRunner.HEADLESS_FLAG)) {
+            System.exit(HeadlessRunner.run(args));
+        }
+        if (Arrays.asList(args).contains(NetworkHarness.NET_HARNESS_FLAG)) {
+            System.exit(NetworkHarness.run(args));
+        }
         MainController controller = MainController.getInstance();
-        System.out.println(" Plataforma de Juegos Iniciada");
+        LOG.info("Plataforma de Juegos Iniciada");
     }
 }
@@ -0,0 +1,285 @@
+package controller;
+
+import model.core.GameEvent;
+import model.core.GameListener;
+import model.core.GameSessionFactory;
+import model.core.ScriptableGame;
+import model.net.GameClient;
+import model.net.GameServer;
+import model.net.NetLink;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+//Prueba de la sincronización en red sin salir de la máquina: levanta un GameServer en localhost y N
+//clientes con predicción, todos con latencia, variación y pérdida simuladas en ambos sentidos. Cada
+//cliente juega con entradas al azar al ritmo de --frame-ms; al final informa cuántos quedaron en
+//sincronía con el servidor, los errores de predicción, el retraso de confirmación y el costo del servidor.
+//Uso: MainController --net-harness [--game nombre] [--clients N] [--frames F] [--frame-ms M]
+//     [--latency ms] [--jitter ms] [--loss p] [--seed S]
+public class NetworkHarness {
+    public static final String NET_HARNESS_FLAG = "--net-harness";
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long CONNECT_TIMEOUT_MS = 5000;
+    private static final long DRAIN_TIMEOUT_MS = 3000;
+    private static final long POLL_MS = 2;
+
+    private static final GameListener IGNORE_EVENTS = new GameListener() {
+        @Override
+        public void onGameFinished(GameEvent event) {
+        }
+
+        @Override
+        public void onScoreUpdated(GameEvent event) {
+        }
+
+        @Override
+        public void onGameStateChanged(GameEvent event) {
+        }
+
+        @Override
+        public void onGameError(GameEvent event) {
+        }
+    };
+
+    // Devuelve el código de salida del proceso
+    public static int run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        String gameName = "PacMan";
+        int clients = 100;
+        int frames = 200;
+        int frameMillis = 50;
+        int latency = 60;
+        int jitter = 15;
+        double loss = 0.05;
+        long seed = 7;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case NET_HARNESS_FLAG: break;
+                    case "--game": gameName = args[++i]; break;
+                    case "--clients": clients = Integer.parseInt(args[++i]); break;
+                    case "--frames": frames = Integer.parseInt(args[++i]); break;
+                    case "--frame-ms": frameMillis = Integer.parseInt(args[++i]); break;
+                    case "--latency": latency = Integer.parseInt(args[++i]); break;
+                    case "--jitter": jitter = Integer.parseInt(args[++i]); break;
+                    case "--loss": loss = Double.parseDouble(args[++i]); break;
+                    case "--seed": seed = Long.parseLong(args[++i]); break;
+                    default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Argumentos inválidos: " + e.getMessage());
+            return 2;
+        }
+
+        MainController.getHeadlessInstance().getSimulationProviders();
+        ScriptableGame.Provider provider = GameSessionFactory.getInstance().getProvider(gameName);
+        if (provider == null) {
+            System.err.println("No hay juegos sin interfaz llamados " + gameName);
+            return 1;
+        }
+
+        NetLink.Conditions conditions = new NetLink.Conditions(latency, jitter, loss, seed);
+        GameServer server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+            conditions.withSeed(seed));
+        try {
+            server.start();
+            Report report = new NetworkHarness(provider, conditions, clients, frames, frameMillis, seed)
+                .run(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()), server);
+            System.out.println(Report.HEADER);
+            System.out.println(report.toRow());
+            return report.inSync == clients ? 0 : 1;
+        } catch (Exception e) {
+            System.err.println("Error en la prueba de red: " + e.getMessage());
+            e.printStackTrace();
+            return 1;
+        } finally {
+            server.stop();
+        }
+    }
+
+    private final ScriptableGame.Provider provider;
+    private final NetLink.Conditions conditions;
+    private final int clientCount;
+    private final int frames;
+    private final int frameMillis;
+    private final long seed;
+
+    public NetworkHarness(ScriptableGame.Provider provider, NetLink.Conditions conditions, int clientCount,
+                          int frames, int frameMillis, long seed) {
+        this.provider = provider;
+        this.conditions = conditions;
+        this.clientCount = clientCount;
+        this.frames = frames;
+        this.frameMillis = frameMillis;
+        this.seed = seed;
+    }
+
+    public Report run(InetSocketAddress serverAddress, GameServer server) throws IOException, InterruptedException {
+        Report report = new Report(provider.getGameName(), clientCount, conditions);
+        List<GameClient> clients = new ArrayList<>(clientCount);
+        List<SplittableRandom> inputs = new ArrayList<>(clientCount);
+
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < clientCount; i++) {
+                long clientSeed = seed ^ (i * GOLDEN_GAMMA);
+                GameClient client = new GameClient(serverAddress, provider, clientSeed,
+                    conditions.withSeed(seed + i + 1), IGNORE_EVENTS);
+                client.connect();
+                client.getChannel().register(selector, SelectionKey.OP_READ, client);
+                clients.add(client);
+                inputs.add(new SplittableRandom(clientSeed));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_TIMEOUT_MS);
+            while (countConnected(clients) < clientCount && System.nanoTime() < deadline) {
+                pump(selector, clients, POLL_MS);
+            }
+            report.connected = countConnected(clients);
+
+            long serverCpuStart = server.getCpuNanos();
+            long start = System.nanoTime();
+            long nextFrame = start;
+            for (int f = 0; f < frames; f++) {
+                for (int i = 0; i < clients.size(); i++) {
+                    GameClient client = clients.get(i);
+                    if (!client.isConnected() || client.getPredictedGame().isFinished()) {
+                        continue;
+                    }
+                    client.frame(chooseInput(client.getPredictedGame(), inputs.get(i)));
+                    report.lagFrames += client.getFrame() - client.getConfirmedFrame();
+                    report.lagSamples++;
+                }
+                nextFrame += TimeUnit.MILLISECONDS.toNanos(frameMillis);
+                while (System.nanoTime() < nextFrame) {
+                    pump(selector, clients, POLL_MS);
+                }
+            }
+
+            // Se deja llegar lo que sigue en vuelo para ver si todos terminan en sincronía
+            deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MS);
+            while (System.nanoTime() < deadline && countInSync(clients) < clientCount) {
+                pump(selector, clients, POLL_MS);
+            }
+            report.elapsedNanos = System.nanoTime() - start;
+            report.serverCpuNanos = server.getCpuNanos() - serverCpuStart;
+            report.serverPacketsSent = server.getLink().getSent();
+            report.serverPacketsDropped = server.getLink().getDropped();
+
+            for (GameClient client : clients) {
+                report.frames += client.getFrame();
+                report.states += client.getStatesReceived();
+                report.deltaStates += client.getDeltaStates();
+                report.bytesReceived += client.getBytesReceived();
+                report.mispredictions += client.getMispredictions();
+                report.stalledFrames += client.getStalledFrames();
+                report.clientPacketsDropped += client.getLink().getDropped();
+                if (client.isInSync()) {
+                    report.inSync++;
+                }
+            }
+        } finally {
+            for (GameClient client : clients) {
+                client.close();
+            }
+        }
+        return report;
+    }
+
+    // PacMan cambia de dirección de vez en cuando; los juegos por turnos juegan en cada cuadro
+    private static String chooseInput(ScriptableGame game, SplittableRandom random) {
+        List<String> available = game.getAvailableInputs();
+        if (available.isEmpty() || (available.size() <= 4 && random.nextInt(8) != 0)) {
+            return null;
+        }
+        return available.get(random.nextInt(available.size()));
+    }
+
+    // Lee lo que llegó y manda lo que ya cumplió su demora simulada
+    private static void pump(Selector selector, List<GameClient> clients, long timeoutMillis) throws IOException {
+        selector.select(timeoutMillis);
+        selector.selectedKeys().clear();
+        for (GameClient client : clients) {
+            client.poll();
+        }
+    }
+
+    private static int countConnected(List<GameClient> clients) {
+        int connected = 0;
+        for (GameClient client : clients) {
+            if (client.isConnected()) {
+                connected++;
+            }
+        }
+        return connected;
+    }
+
+    private static int countInSync(List<GameClient> clients) throws IOException {
+        int inSync = 0;
+        for (GameClient client : clients) {
+            if (client.isInSync()) {
+                inSync++;
+            }
+        }
+        return inSync;
+    }
+
+    public static class Report {
+        static final String HEADER = "game,clients,connected,inSync,latencyMs,jitterMs,loss,frames,states,deltaPct,"
+            + "bytesPerState,mispredictions,stalledFrames,avgLagFrames,droppedPackets,serverCpuMs,elapsedMs,sessionsPerCore";
+
+        private final String gameName;
+        private final int clients;
+        private final NetLink.Conditions conditions;
+        private int connected;
+        private int inSync;
+        private long frames;
+        private long states;
+        private long deltaStates;
+        private long bytesReceived;
+        private long mispredictions;
+        private long stalledFrames;
+        private long lagFrames;
+        private long lagSamples;
+        private long serverPacketsSent;
+        private long serverPacketsDropped;
+        private long clientPacketsDropped;
+        private long serverCpuNanos;
+        private long elapsedNanos;
+
+        Report(String gameName, int clients, NetLink.Conditions conditions) {
+            this.gameName = gameName;
+            this.clients = clients;
+            this.conditions = conditions;
+        }
+
+        public int getInSync() { return inSync; }
+        public long getMispredictions() { return mispredictions; }
+
+        // Sesiones que entrarían en un núcleo entero al mismo ritmo de cuadros
+        public double getSessionsPerCore() {
+            return serverCpuNanos == 0 ? 0 : (double) connected * elapsedNanos / serverCpuNanos;
+        }
+
+        String toRow() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.3f,%d,%d,%.1f,%.1f,%d,%d,%.2f,%d,%.1f,%.1f,%.0f",
+                gameName, clients, connected, inSync, conditions.getLatencyMillis(), conditions.getJitterMillis(),
+                conditions.getLossRate(), frames, states, states == 0 ? 0 : 100.0 * deltaStates / states,
+                states == 0 ? 0 : (double) bytesReceived / states, mispredictions, stalledFrames,
+                lagSamples == 0 ? 0 : (double) lagFrames / lagSamples, serverPacketsDropped + clientPacketsDropped,
+                serverCpuNanos / 1e6, elapsedNanos / 1e6, getSessionsPerCore());
+        }
+    }
+}
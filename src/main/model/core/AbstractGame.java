@@ -3,6 +3,7 @@ package model.core;
 import javax.swing.JPanel;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
 //Implementación base que proporciona funcionalidad común
 public abstract class AbstractGame implements GamePlugin {
@@ -33,9 +34,11 @@ public abstract class AbstractGame implements GamePlugin {
         GameEvent event = new GameEvent(getGameName(), 
             GameEvent.EventType.GAME_FINISHED, finalScore);
         
+        FlightRecorder.NotificationEvent trace = FlightRecorder.beginNotification();
         for (GameListener listener : listeners) {
             listener.onGameFinished(event);
         }
+        trace.finish(event.getGameName(), event.getEventType(), finalScore, listeners.size());
     }
     
     protected void notifyScoreUpdated(int newScore) {
@@ -43,17 +46,21 @@ public abstract class AbstractGame implements GamePlugin {
         GameEvent event = new GameEvent(getGameName(), 
             GameEvent.EventType.SCORE_UPDATED, newScore);
         
+        FlightRecorder.NotificationEvent trace = FlightRecorder.beginNotification();
         for (GameListener listener : listeners) {
             listener.onScoreUpdated(event);
         }
+        trace.finish(event.getGameName(), event.getEventType(), newScore, listeners.size());
     }
     
     protected void notifyGameStateChanged(GameEvent.EventType state) {
         GameEvent event = new GameEvent(getGameName(), state, currentScore);
         
+        FlightRecorder.NotificationEvent trace = FlightRecorder.beginNotification();
         for (GameListener listener : listeners) {
             listener.onGameStateChanged(event);
         }
+        trace.finish(event.getGameName(), state, currentScore, listeners.size());
     }
     
     protected void notifyGameError(String errorMessage, Exception exception) {
@@ -62,9 +69,29 @@ public abstract class AbstractGame implements GamePlugin {
         event.addData("errorMessage", errorMessage);
         event.addData("exception", exception);
         
+        FlightRecorder.NotificationEvent trace = FlightRecorder.beginNotification();
         for (GameListener listener : listeners) {
             listener.onGameError(event);
         }
+        trace.finish(event.getGameName(), event.getEventType(), currentScore, listeners.size());
+    }
+    
+    // Trabajo pesado fuera del EDT, en el pool aislado de este juego
+    protected Future<?> runInBackground(Runnable task) {
+        return PluginMonitor.getInstance().submit(getGameName(), task);
+    }
+    
+    // Tarea diferida en el EDT a través del planificador compartido
+    protected GameScheduler.Task schedule(long delayMillis, Runnable task) {
+        return GameScheduler.getInstance().runLater(getGameName(), delayMillis, task);
+    }
+    
+    protected GameScheduler.Task scheduleAtFixedRate(long initialDelayMillis, long periodMillis, Runnable task) {
+        return GameScheduler.getInstance().runPeriodically(getGameName(), initialDelayMillis, periodMillis, task);
+    }
+    
+    protected void cancelScheduledTasks() {
+        GameScheduler.getInstance().cancelAll(getGameName());
     }
     
     @Override
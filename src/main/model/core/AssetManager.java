@@ -0,0 +1,222 @@
+package model.core;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Caché compartida de imágenes para todos los juegos: se decodifican una vez,
+//se convierten al formato de la pantalla y se expulsan por LRU según memoria
+public class AssetManager {
+    private static AssetManager instance;
+
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private final LinkedHashMap<AssetKey, BufferedImage> cache;
+    private final Map<AssetKey, CompletableFuture<BufferedImage>> inFlight;
+    private final ExecutorService preloader;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong decodeNanos = new AtomicLong();
+    private long maxBytes;
+    private long currentBytes;
+
+    private AssetManager() {
+        this.cache = new LinkedHashMap<>(64, 0.75f, true);
+        this.inFlight = new ConcurrentHashMap<>();
+        this.maxBytes = DEFAULT_MAX_BYTES;
+        this.preloader = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "asset-preloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized AssetManager getInstance() {
+        if (instance == null) {
+            instance = new AssetManager();
+        }
+        return instance;
+    }
+
+    // El owner define el classloader desde el que se resuelve el recurso (juego interno o plugin)
+    public Image getImage(Class<?> owner, String path) {
+        AssetKey key = new AssetKey(owner.getClassLoader(), path);
+
+        synchronized (this) {
+            BufferedImage cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        return load(key).join();
+    }
+
+    // Devuelve null si todavía no se decodificó; nunca bloquea. Ese null cuenta como fallo
+    public Image getImageIfLoaded(Class<?> owner, String path) {
+        synchronized (this) {
+            BufferedImage cached = cache.get(new AssetKey(owner.getClassLoader(), path));
+            if (cached != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+            }
+            return cached;
+        }
+    }
+
+    public CompletableFuture<Void> preload(Class<?> owner, String... paths) {
+        List<CompletableFuture<BufferedImage>> futures = new ArrayList<>();
+        for (String path : paths) {
+            AssetKey key = new AssetKey(owner.getClassLoader(), path);
+            synchronized (this) {
+                if (cache.containsKey(key)) {
+                    continue;
+                }
+            }
+            // Una clave fría que se manda a decodificar es un fallo; si ya estaba en curso no se cuenta otra vez
+            CompletableFuture<BufferedImage> future = inFlight.computeIfAbsent(key, k -> {
+                misses.incrementAndGet();
+                return CompletableFuture.supplyAsync(() -> decodeAndStore(k), preloader);
+            });
+            future.whenComplete((image, error) -> inFlight.remove(key, future));
+            futures.add(future);
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private CompletableFuture<BufferedImage> load(AssetKey key) {
+        CompletableFuture<BufferedImage> future = inFlight.get(key);
+        if (future != null) {
+            return future;
+        }
+        return CompletableFuture.completedFuture(decodeAndStore(key));
+    }
+
+    private BufferedImage decodeAndStore(AssetKey key) {
+        long start = System.nanoTime();
+        BufferedImage image = toCompatible(decode(key));
+        decodeNanos.addAndGet(System.nanoTime() - start);
+
+        synchronized (this) {
+            BufferedImage previous = cache.put(key, image);
+            if (previous != null) {
+                currentBytes -= sizeOf(previous);
+            }
+            currentBytes += sizeOf(image);
+            evictIfNeeded();
+        }
+        return image;
+    }
+
+    private BufferedImage decode(AssetKey key) {
+        ClassLoader loader = key.loader != null ? key.loader : ClassLoader.getSystemClassLoader();
+        String resource = key.path.startsWith("/") ? key.path.substring(1) : key.path;
+
+        try (InputStream in = loader.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Recurso no encontrado: " + key.path);
+            }
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) {
+                throw new IllegalArgumentException("Formato de imagen no soportado: " + key.path);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error leyendo " + key.path, e);
+        }
+    }
+
+    // Copia la imagen a un formato que Java2D puede acelerar en la pantalla actual
+    private BufferedImage toCompatible(BufferedImage source) {
+        BufferedImage target;
+        if (GraphicsEnvironment.isHeadless()) {
+            target = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        } else {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+            if (source.getColorModel().equals(config.getColorModel(source.getTransparency()))) {
+                return source;
+            }
+            target = config.createCompatibleImage(source.getWidth(), source.getHeight(), source.getTransparency());
+        }
+
+        Graphics2D g = target.createGraphics();
+        try {
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<AssetKey, BufferedImage>> it = cache.entrySet().iterator();
+        while (currentBytes > maxBytes && cache.size() > 1 && it.hasNext()) {
+            Map.Entry<AssetKey, BufferedImage> eldest = it.next();
+            currentBytes -= sizeOf(eldest.getValue());
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        int bytesPerPixel = Math.max(1, image.getColorModel().getPixelSize() / 8);
+        return (long) image.getWidth() * image.getHeight() * bytesPerPixel;
+    }
+
+    public synchronized void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        evictIfNeeded();
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+        currentBytes = 0;
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public double getDecodeMillis() { return decodeNanos.get() / 1_000_000.0; }
+    public synchronized long getMemoryBytes() { return currentBytes; }
+    public synchronized long getMaxBytes() { return maxBytes; }
+    public synchronized int getEntryCount() { return cache.size(); }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    private static final class AssetKey {
+        final ClassLoader loader;
+        final String path;
+
+        AssetKey(ClassLoader loader, String path) {
+            this.loader = loader;
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof AssetKey)) return false;
+            AssetKey other = (AssetKey) o;
+            return loader == other.loader && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(loader) * 31 + path.hashCode();
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package model.core;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+//Registro asíncrono por subsistema. El nivel se comprueba antes de formatear nada; los mensajes
+//habilitados van a un buffer circular sin bloqueos (varios productores, un consumidor) y un hilo
+//de fondo los formatea y escribe, así el EDT y el bucle de juego nunca esperan a la consola.
+//Niveles: -Dlog.level=INFO para todos y -Dlog.level.<subsistema>=DEBUG para uno; también en caliente
+public class AsyncLogger {
+    private static AsyncLogger instance;
+
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR, OFF }
+
+    private static final int CAPACITY = 8192;
+    private static final int MASK = CAPACITY - 1;
+    private static final int OUTPUT_BUFFER = 64 * 1024;
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private volatile Level defaultLevel;
+
+    // Cada casilla lleva su número de secuencia: igual al índice -> libre, índice + 1 -> publicada
+    private final Entry[] entries = new Entry[CAPACITY];
+    private final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+
+    private final PrintStream out;
+    private final PrintStream err;
+    private final StringBuilder line = new StringBuilder(256);
+    private final Thread drainThread;
+    // true mientras el hilo de fondo duerme esperando mensajes; solo entonces hace falta despertarlo
+    private volatile boolean parked;
+
+    private AsyncLogger() {
+        this.defaultLevel = parseLevel(System.getProperty("log.level"), Level.INFO);
+        // Salidas propias con buffer y sin autoflush: se vacían cuando el buffer circular queda vacío
+        this.out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), OUTPUT_BUFFER), false);
+        this.err = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.err), OUTPUT_BUFFER), false);
+        for (int i = 0; i < CAPACITY; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+        this.drainThread = new Thread(this::drainLoop, "log-drain");
+        drainThread.setDaemon(true);
+        drainThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drainAll, "log-flush"));
+    }
+
+    public static synchronized AsyncLogger getInstance() {
+        if (instance == null) {
+            instance = new AsyncLogger();
+        }
+        return instance;
+    }
+
+    public static Channel get(String subsystem) {
+        return getInstance().channel(subsystem);
+    }
+
+    public Channel channel(String subsystem) {
+        return channels.computeIfAbsent(subsystem, name ->
+            new Channel(name, parseLevel(System.getProperty("log.level." + name), null)));
+    }
+
+    public void setLevel(String subsystem, Level level) {
+        channel(subsystem).setLevel(level);
+    }
+
+    // Cambia el nivel de los subsistemas que no tienen uno propio
+    public void setDefaultLevel(Level level) {
+        this.defaultLevel = level;
+    }
+
+    public Level getDefaultLevel() {
+        return defaultLevel;
+    }
+
+    public Map<String, Channel> getChannels() {
+        return channels;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private static Level parseLevel(String value, Level fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    // Reserva una casilla con CAS; si el buffer está lleno se descarta el mensaje en vez de bloquear
+    private void publish(Channel channel, Level level, String message, Object a0, Object a1, Object a2,
+                         Throwable error) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & MASK);
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                dropped.increment();
+                return;
+            }
+        }
+        Entry entry = entries[index];
+        entry.timestamp = System.currentTimeMillis();
+        entry.channel = channel.name;
+        entry.level = level;
+        entry.message = message;
+        entry.a0 = a0;
+        entry.a1 = a1;
+        entry.a2 = a2;
+        entry.error = error;
+        sequences.set(index, position + 1);
+        if (parked) {
+            LockSupport.unpark(drainThread);
+        }
+    }
+
+    private void drainLoop() {
+        while (true) {
+            if (drainAvailable() == 0) {
+                out.flush();
+                err.flush();
+                // Se anuncia antes de volver a mirar: quien publique después verá 'parked' y lo despertará,
+                // así que se puede dormir sin plazo y un registro inactivo no gasta nada
+                parked = true;
+                if (!hasPending()) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            }
+        }
+    }
+
+    private synchronized void drainAll() {
+        while (drainAvailable() > 0) {
+            // sigue hasta vaciar
+        }
+        out.flush();
+        err.flush();
+    }
+
+    private boolean hasPending() {
+        return sequences.get((int) (head & MASK)) == head + 1;
+    }
+
+    // Solo lo llama un consumidor a la vez (el hilo de fondo o el hook de salida)
+    private synchronized int drainAvailable() {
+        int drained = 0;
+        while (true) {
+            int index = (int) (head & MASK);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            Entry entry = entries[index];
+            write(entry);
+            entry.clear();
+            sequences.set(index, head + CAPACITY);
+            head++;
+            drained++;
+        }
+        long lost = dropped.sum();
+        if (lost != droppedReported) {
+            err.println(" [log] " + (lost - droppedReported) + " mensajes descartados por buffer lleno");
+            droppedReported = lost;
+        }
+        return drained;
+    }
+
+    private void write(Entry entry) {
+        line.setLength(0);
+        TIME_FORMAT.formatTo(Instant.ofEpochMilli(entry.timestamp), line);
+        line.append(' ').append(entry.level);
+        for (int i = entry.level.name().length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(" [").append(entry.channel).append("] ");
+        format(line, entry.message, entry.a0, entry.a1, entry.a2);
+
+        PrintStream target = entry.level.compareTo(Level.WARN) >= 0 ? err : out;
+        target.println(line);
+        if (entry.error != null) {
+            entry.error.printStackTrace(target);
+        }
+    }
+
+    // Sustituye cada {} por el siguiente argumento, al estilo SLF4J
+    private static void format(StringBuilder target, String message, Object a0, Object a1, Object a2) {
+        int argument = 0;
+        int start = 0;
+        int placeholder;
+        while (argument < 3 && (placeholder = message.indexOf("{}", start)) >= 0) {
+            target.append(message, start, placeholder);
+            target.append(argument == 0 ? a0 : argument == 1 ? a1 : a2);
+            argument++;
+            start = placeholder + 2;
+        }
+        target.append(message, start, message.length());
+    }
+
+    //Registrador de un subsistema; las sobrecargas fijas evitan el array de varargs en cada llamada
+    public class Channel {
+        private final String name;
+        private volatile Level level;
+
+        private Channel(String name, Level level) {
+            this.name = name;
+            this.level = level;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // null significa "usa el nivel por defecto"
+        public Level getLevel() {
+            return level;
+        }
+
+        public void setLevel(Level level) {
+            this.level = level;
+        }
+
+        public boolean isEnabled(Level candidate) {
+            Level threshold = level != null ? level : defaultLevel;
+            return candidate.compareTo(threshold) >= 0;
+        }
+
+        public void log(Level level, String message) {
+            if (isEnabled(level)) {
+                publish(this, level, message, null, null, null, null);
+            }
+        }
+
+        public void log(Level level, String message, Object a0) {
+            if (isEnabled(level)) {
+                publish(this, level, message, a0, null, null, null);
+            }
+        }
+
+        public void log(Level level, String message, Object a0, Object a1) {
+            if (isEnabled(level)) {
+                publish(this, level, message, a0, a1, null, null);
+            }
+        }
+
+        public void log(Level level, String message, Object a0, Object a1, Object a2) {
+            if (isEnabled(level)) {
+                publish(this, level, message, a0, a1, a2, null);
+            }
+        }
+
+        public void debug(String message) {
+            log(Level.DEBUG, message);
+        }
+
+        public void debug(String message, Object a0) {
+            log(Level.DEBUG, message, a0);
+        }
+
+        public void debug(String message, Object a0, Object a1) {
+            log(Level.DEBUG, message, a0, a1);
+        }
+
+        public void info(String message) {
+            log(Level.INFO, message);
+        }
+
+        public void info(String message, Object a0) {
+            log(Level.INFO, message, a0);
+        }
+
+        public void info(String message, Object a0, Object a1) {
+            log(Level.INFO, message, a0, a1);
+        }
+
+        public void info(String message, Object a0, Object a1, Object a2) {
+            log(Level.INFO, message, a0, a1, a2);
+        }
+
+        public void warn(String message, Object a0) {
+            log(Level.WARN, message, a0);
+        }
+
+        public void warn(String message, Object a0, Object a1) {
+            log(Level.WARN, message, a0, a1);
+        }
+
+        public void warn(String message, Object a0, Object a1, Object a2) {
+            log(Level.WARN, message, a0, a1, a2);
+        }
+
+        public void error(String message) {
+            log(Level.ERROR, message);
+        }
+
+        public void error(String message, Object a0) {
+            log(Level.ERROR, message, a0);
+        }
+
+        public void error(String message, Object a0, Object a1) {
+            log(Level.ERROR, message, a0, a1);
+        }
+
+        // La traza se imprime en el hilo de fondo junto al mensaje
+        public void error(String message, Throwable error) {
+            if (isEnabled(Level.ERROR)) {
+                publish(this, Level.ERROR, message, null, null, null, error);
+            }
+        }
+
+        public void error(String message, Object a0, Throwable error) {
+            if (isEnabled(Level.ERROR)) {
+                publish(this, Level.ERROR, message, a0, null, null, error);
+            }
+        }
+    }
+
+    private static class Entry {
+        long timestamp;
+        String channel;
+        Level level;
+        String message;
+        Object a0;
+        Object a1;
+        Object a2;
+        Throwable error;
+
+        void clear() {
+            message = null;
+            a0 = null;
+            a1 = null;
+            a2 = null;
+            error = null;
+        }
+    }
+}
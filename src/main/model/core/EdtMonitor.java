@@ -0,0 +1,373 @@
+package model.core;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InvocationEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+//Mide cuánto tarda el EDT en despachar cada evento con una EventQueue propia.
+//Un hilo vigilante toma muestras de la pila del EDT mientras un evento supera el umbral
+//y cada bloqueo se atribuye al juego o subsistema cuyo código aparece en esas muestras
+public class EdtMonitor {
+    private static EdtMonitor instance;
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("edt");
+
+    public static final long[] BUCKET_LIMITS_MS = {1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024};
+    private static final long DEFAULT_STALL_THRESHOLD_MS = 16;
+    private static final long WATCHDOG_PERIOD_MS = 4;
+    private static final int MAX_SAMPLES_PER_STALL = 25;
+    private static final int MAX_STALLS = 50;
+    private static final int MAX_DEPTH = 16;
+    private static final String UNKNOWN = "Swing / plataforma";
+
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_LIMITS_MS.length + 1);
+    private final AtomicLong dispatchCount = new AtomicLong();
+    private final AtomicLong totalDispatchNanos = new AtomicLong();
+    private final AtomicLong maxDispatchNanos = new AtomicLong();
+    private final AtomicLong totalQueueWaitMillis = new AtomicLong();
+    private final AtomicLong queueWaitSamples = new AtomicLong();
+    private final AtomicLong stallCount = new AtomicLong();
+
+    private final Deque<Stall> recentStalls = new ArrayDeque<>();
+    // Prefijo de clase -> nombre del juego o subsistema; se recorre en orden de registro
+    private final Map<String, String> owners = new LinkedHashMap<>();
+
+    // Estado del despacho en curso, escrito por el EDT y leído por el vigilante
+    private final long[] startNanos = new long[MAX_DEPTH];
+    private final boolean[] nested = new boolean[MAX_DEPTH];
+    private volatile int depth;
+    private volatile long dispatchId;
+    private volatile Thread edtThread;
+    private volatile long stallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_STALL_THRESHOLD_MS);
+    private volatile String currentContext;
+
+    private final List<StackTraceElement[]> pendingSamples = new ArrayList<>();
+    private long pendingSamplesId = -1;
+
+    private boolean installed;
+
+    private EdtMonitor() {
+        registerOwner("model.persistence.", "Persistencia (puntuaciones)");
+        registerOwner("model.core.GamePluginLoader", "Carga de plugins");
+        registerOwner("model.core.PluginWatcher", "Carga de plugins");
+        registerOwner("model.core.AssetManager", "Imágenes");
+    }
+
+    public static synchronized EdtMonitor getInstance() {
+        if (instance == null) {
+            instance = new EdtMonitor();
+        }
+        return instance;
+    }
+
+    // Sustituye la cola de eventos del sistema y arranca el vigilante; llamar una sola vez
+    public synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new MonitoringQueue());
+
+        Thread watchdog = new Thread(this::watch, "edt-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    // Atribuye al juego los bloqueos en cuyas pilas aparezcan clases con este prefijo
+    public synchronized void registerOwner(String classPrefix, String ownerName) {
+        owners.putIfAbsent(classPrefix, ownerName);
+    }
+
+    // Los juegos internos comparten paquete, así que se identifican por clase; un plugin, por todo su paquete
+    public void registerGame(GamePlugin game) {
+        Class<?> type = game.getClass();
+        boolean external = type.getClassLoader() != EdtMonitor.class.getClassLoader();
+        String packageName = type.getPackageName();
+        registerOwner(external && !packageName.isEmpty() ? packageName + "." : type.getName(), game.getGameName());
+    }
+
+    // Juego activo: se usa cuando la pila no delata a nadie (p. ej. un Timer de Swing)
+    public void setCurrentContext(String gameName) {
+        this.currentContext = gameName;
+    }
+
+    private void beforeDispatch() {
+        int level = depth;
+        if (level > 0 && level <= MAX_DEPTH) {
+            // Un bucle secundario (diálogo modal) anula la medida del evento exterior
+            nested[level - 1] = true;
+        }
+        if (level < MAX_DEPTH) {
+            startNanos[level] = System.nanoTime();
+            nested[level] = false;
+        }
+        edtThread = Thread.currentThread();
+        dispatchId++;
+        depth = level + 1;
+    }
+
+    private void afterDispatch(AWTEvent event) {
+        int level = depth - 1;
+        depth = level;
+        if (level >= MAX_DEPTH || nested[level]) {
+            return;
+        }
+
+        long elapsed = System.nanoTime() - startNanos[level];
+        record(elapsed);
+
+        if (event instanceof InvocationEvent) {
+            long waited = System.currentTimeMillis() - ((InvocationEvent) event).getWhen();
+            if (waited >= 0) {
+                totalQueueWaitMillis.addAndGet(waited);
+                queueWaitSamples.incrementAndGet();
+            }
+        }
+
+        if (elapsed >= stallThresholdNanos) {
+            List<StackTraceElement[]> samples = takeSamples(dispatchId);
+            String owner = attribute(samples, event);
+            addStall(new Stall(System.currentTimeMillis(), elapsed, describe(event), owner, samples));
+        }
+        // El siguiente despacho empieza con un id nuevo para que el vigilante no mezcle muestras
+        dispatchId++;
+    }
+
+    private void record(long elapsedNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int bucket = BUCKET_LIMITS_MS.length;
+        for (int i = 0; i < BUCKET_LIMITS_MS.length; i++) {
+            if (millis < BUCKET_LIMITS_MS[i]) {
+                bucket = i;
+                break;
+            }
+        }
+        histogram.incrementAndGet(bucket);
+        dispatchCount.incrementAndGet();
+        totalDispatchNanos.addAndGet(elapsedNanos);
+        maxDispatchNanos.accumulateAndGet(elapsedNanos, Math::max);
+    }
+
+    private void watch() {
+        while (true) {
+            try {
+                Thread.sleep(WATCHDOG_PERIOD_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            int level = depth;
+            Thread edt = edtThread;
+            if (level == 0 || level > MAX_DEPTH || edt == null) {
+                continue;
+            }
+            long id = dispatchId;
+            long running = System.nanoTime() - startNanos[level - 1];
+            if (running < stallThresholdNanos) {
+                continue;
+            }
+
+            StackTraceElement[] stack = edt.getStackTrace();
+            synchronized (pendingSamples) {
+                // Si el despacho terminó mientras se tomaba la muestra, el id ya no coincide
+                if (id != dispatchId) {
+                    continue;
+                }
+                if (pendingSamplesId != id) {
+                    pendingSamples.clear();
+                    pendingSamplesId = id;
+                }
+                if (pendingSamples.size() < MAX_SAMPLES_PER_STALL) {
+                    pendingSamples.add(stack);
+                }
+            }
+        }
+    }
+
+    private List<StackTraceElement[]> takeSamples(long id) {
+        synchronized (pendingSamples) {
+            List<StackTraceElement[]> samples = pendingSamplesId == id
+                ? new ArrayList<>(pendingSamples) : new ArrayList<>();
+            pendingSamples.clear();
+            pendingSamplesId = -1;
+            return samples;
+        }
+    }
+
+    // Primer marco de la pila (desde arriba) que pertenezca a un dueño registrado
+    private String attribute(List<StackTraceElement[]> samples, AWTEvent event) {
+        Map<String, Integer> votes = new LinkedHashMap<>();
+        for (StackTraceElement[] stack : samples) {
+            String owner = ownerOfStack(stack);
+            if (owner != null) {
+                votes.merge(owner, 1, Integer::sum);
+            }
+        }
+        String best = null;
+        int bestVotes = 0;
+        for (Map.Entry<String, Integer> entry : votes.entrySet()) {
+            if (entry.getValue() > bestVotes) {
+                best = entry.getKey();
+                bestVotes = entry.getValue();
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+
+        // Sin muestras: la clase del Runnable de invokeLater suele delatar al dueño
+        String owner = ownerOfClass(event.paramString());
+        if (owner != null) {
+            return owner;
+        }
+        String context = currentContext;
+        return context != null ? context + " (juego activo)" : UNKNOWN;
+    }
+
+    private String ownerOfStack(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            String owner = ownerOfClass(frame.getClassName());
+            if (owner != null) {
+                return owner;
+            }
+        }
+        return null;
+    }
+
+    private synchronized String ownerOfClass(String text) {
+        for (Map.Entry<String, String> entry : owners.entrySet()) {
+            if (text.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String describe(AWTEvent event) {
+        String type = event.getClass().getSimpleName();
+        Object source = event.getSource();
+        return source == null ? type : type + " de " + source.getClass().getSimpleName();
+    }
+
+    private void addStall(Stall stall) {
+        stallCount.incrementAndGet();
+        synchronized (recentStalls) {
+            recentStalls.addFirst(stall);
+            while (recentStalls.size() > MAX_STALLS) {
+                recentStalls.removeLast();
+            }
+        }
+        LOG.warn("EDT bloqueado {} ms por {} ({})", stall.getDurationMillis(), stall.getOwner(), stall.getEvent());
+    }
+
+    public long[] getHistogram() {
+        long[] copy = new long[histogram.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = histogram.get(i);
+        }
+        return copy;
+    }
+
+    public List<Stall> getRecentStalls() {
+        synchronized (recentStalls) {
+            return new ArrayList<>(recentStalls);
+        }
+    }
+
+    public long getDispatchCount() {
+        return dispatchCount.get();
+    }
+
+    public double getAvgDispatchMillis() {
+        long count = dispatchCount.get();
+        return count == 0 ? 0 : totalDispatchNanos.get() / 1e6 / count;
+    }
+
+    public double getMaxDispatchMillis() {
+        return maxDispatchNanos.get() / 1e6;
+    }
+
+    public double getAvgQueueWaitMillis() {
+        long samples = queueWaitSamples.get();
+        return samples == 0 ? 0 : (double) totalQueueWaitMillis.get() / samples;
+    }
+
+    public long getStallCount() {
+        return stallCount.get();
+    }
+
+    public long getStallThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(stallThresholdNanos);
+    }
+
+    public void setStallThresholdMillis(long millis) {
+        this.stallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public boolean isInstalled() {
+        return installed;
+    }
+
+    private class MonitoringQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            beforeDispatch();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                afterDispatch(event);
+            }
+        }
+    }
+
+    //Un despacho que superó el umbral, con las muestras de pila tomadas mientras duraba
+    public static class Stall {
+        private final long timestamp;
+        private final long durationNanos;
+        private final String event;
+        private final String owner;
+        private final List<StackTraceElement[]> samples;
+
+        Stall(long timestamp, long durationNanos, String event, String owner, List<StackTraceElement[]> samples) {
+            this.timestamp = timestamp;
+            this.durationNanos = durationNanos;
+            this.event = event;
+            this.owner = owner;
+            this.samples = samples;
+        }
+
+        public long getTimestamp() { return timestamp; }
+        public long getDurationMillis() { return TimeUnit.NANOSECONDS.toMillis(durationNanos); }
+        public String getEvent() { return event; }
+        public String getOwner() { return owner; }
+        public int getSampleCount() { return samples.size(); }
+
+        // Marcos de la muestra más repetida: la pila donde más tiempo pasó el EDT
+        public StackTraceElement[] getRepresentativeStack() {
+            if (samples.isEmpty()) {
+                return new StackTraceElement[0];
+            }
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            StackTraceElement[] best = samples.get(0);
+            int bestCount = 0;
+            for (StackTraceElement[] stack : samples) {
+                String top = stack.length > 0 ? stack[0].toString() : "";
+                int count = counts.merge(top, 1, Integer::sum);
+                if (count > bestCount) {
+                    bestCount = count;
+                    best = stack;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package model.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+//Grabación continua con JFR (Java Flight Recorder) acotada por tiempo y tamaño: cuando alguien dice
+//"el juego se trabó" se vuelca a disco y se abre con JDK Mission Control. Incluye eventos propios de
+//la plataforma (notificaciones, ticks, guardado de puntajes, carga de plugins) junto a los del JDK.
+//Se desactiva con -Dflightrecorder=false
+public class FlightRecorder {
+    private static FlightRecorder instance;
+
+    private static final String DUMP_DIR = "data/recordings";
+    private static final Duration MAX_AGE = Duration.ofMinutes(10);
+    private static final long MAX_SIZE_BYTES = 64L * 1024 * 1024;
+    // Un juego que falla en cada tick no debe encolar un volcado de hasta 64 MB por error
+    private static final long ERROR_DUMP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("jfr");
+
+    private final ExecutorService dumpExecutor;
+    private final Map<String, Long> lastErrorDump = new ConcurrentHashMap<>();
+    private Recording recording;
+
+    private FlightRecorder() {
+        this.dumpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jfr-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized FlightRecorder getInstance() {
+        if (instance == null) {
+            instance = new FlightRecorder();
+        }
+        return instance;
+    }
+
+    public synchronized void start() {
+        if (recording != null || !Boolean.parseBoolean(System.getProperty("flightrecorder", "true"))) {
+            return;
+        }
+        if (!jdk.jfr.FlightRecorder.isAvailable()) {
+            LOG.warn("JFR no está disponible en esta JVM: {}", System.getProperty("java.vm.name"));
+            return;
+        }
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration("default"));
+            continuous.setName("plataforma-continua");
+            continuous.setToDisk(true);
+            continuous.setMaxAge(MAX_AGE);
+            continuous.setMaxSize(MAX_SIZE_BYTES);
+            continuous.enable(NotificationEvent.class);
+            continuous.enable(TickEvent.class);
+            continuous.enable(ScoreSaveEvent.class);
+            continuous.enable(PluginLoadEvent.class);
+            continuous.start();
+            recording = continuous;
+            LOG.info("Grabación JFR continua iniciada (máx. {} min, {} MB)",
+                MAX_AGE.toMinutes(), MAX_SIZE_BYTES / (1024 * 1024));
+        } catch (Exception e) {
+            LOG.error("No se pudo iniciar la grabación JFR: {}", e.getMessage());
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    // El volcado copia los fragmentos ya escritos en disco; se hace fuera del EDT
+    public CompletableFuture<Path> dump(String reason) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return dumpNow(reason);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo volcar la grabación: " + e.getMessage(), e);
+            }
+        }, dumpExecutor);
+    }
+
+    // Volcado automático por un error de juego: como mucho uno por juego y por minuto; los errores
+    // que llegan entretanto ya quedan dentro de la grabación del volcado siguiente
+    public void dumpOnError(String gameName) {
+        if (!isRecording()) {
+            return;
+        }
+        long now = System.nanoTime();
+        boolean[] due = new boolean[1];
+        lastErrorDump.compute(gameName, (game, last) -> {
+            due[0] = last == null || now - last >= ERROR_DUMP_INTERVAL_NANOS;
+            return due[0] ? now : last;
+        });
+        if (!due[0]) {
+            LOG.debug("Volcado por error de {} omitido: hubo otro hace menos de un minuto", gameName);
+            return;
+        }
+        dump("error-" + gameName).exceptionally(error -> {
+            LOG.warn("Falló el volcado por error de {}: {}", gameName, error.getMessage());
+            return null;
+        });
+    }
+
+    private synchronized Path dumpNow(String reason) throws IOException {
+        if (recording == null) {
+            throw new IOException("No hay grabación activa");
+        }
+        Path dir = Paths.get(DUMP_DIR);
+        Files.createDirectories(dir);
+        // Con milisegundos y, si aun así coincide, un sufijo: dos volcados nunca se pisan
+        String name = "grabacion-" + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date())
+            + "-" + sanitize(reason);
+        Path file = dir.resolve(name + ".jfr");
+        for (int i = 2; Files.exists(file); i++) {
+            file = dir.resolve(name + "-" + i + ".jfr");
+        }
+        recording.dump(file);
+        LOG.info("Grabación JFR volcada en {}", file.toAbsolutePath());
+        return file;
+    }
+
+    private static String sanitize(String reason) {
+        return reason == null ? "manual" : reason.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    public synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public static NotificationEvent beginNotification() {
+        NotificationEvent event = new NotificationEvent();
+        event.begin();
+        return event;
+    }
+
+    public static TickEvent beginTick() {
+        TickEvent event = new TickEvent();
+        event.begin();
+        return event;
+    }
+
+    public static ScoreSaveEvent beginScoreSave() {
+        ScoreSaveEvent event = new ScoreSaveEvent();
+        event.begin();
+        return event;
+    }
+
+    public static PluginLoadEvent beginPluginLoad() {
+        PluginLoadEvent event = new PluginLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    //Reparto de un GameEvent a los listeners; la duración es lo que tardaron todos en atenderlo
+    @Name("plataforma.Notificacion")
+    @Label("Notificación de juego")
+    @Category({"Plataforma de Juegos", "Juegos"})
+    @StackTrace(false)
+    public static class NotificationEvent extends Event {
+        @Label("Juego")
+        String game;
+
+        @Label("Tipo")
+        String type;
+
+        @Label("Puntaje")
+        int score;
+
+        @Label("Listeners")
+        int listeners;
+
+        public void finish(String game, GameEvent.EventType type, int score, int listeners) {
+            end();
+            if (shouldCommit()) {
+                this.game = game;
+                this.type = type.name();
+                this.score = score;
+                this.listeners = listeners;
+                commit();
+            }
+        }
+    }
+
+    @Name("plataforma.Tick")
+    @Label("Tick de juego")
+    @Description("Un paso del bucle de juego: movimiento, colisiones y repintado pedido")
+    @Category({"Plataforma de Juegos", "Juegos"})
+    @StackTrace(false)
+    public static class TickEvent extends Event {
+        @Label("Juego")
+        String game;
+
+        public void finish(String game) {
+            end();
+            if (shouldCommit()) {
+                this.game = game;
+                commit();
+            }
+        }
+    }
+
+    @Name("plataforma.GuardadoPuntajes")
+    @Label("Guardado de puntajes")
+    @Category({"Plataforma de Juegos", "Persistencia"})
+    public static class ScoreSaveEvent extends Event {
+        @Label("Archivo")
+        String file;
+
+        @Label("Correcto")
+        boolean success;
+
+        public void finish(String file, boolean success) {
+            end();
+            if (shouldCommit()) {
+                this.file = file;
+                this.success = success;
+                commit();
+            }
+        }
+    }
+
+    @Name("plataforma.CargaPlugin")
+    @Label("Carga de plugin")
+    @Category({"Plataforma de Juegos", "Plugins"})
+    public static class PluginLoadEvent extends Event {
+        @Label("Plugin")
+        String plugin;
+
+        @Label("Fase")
+        @Description("registro (lectura del manifiesto) o instancia (carga de clases)")
+        String phase;
+
+        @Label("JAR")
+        String jar;
+
+        public void finish(String plugin, String phase, String jar) {
+            end();
+            if (shouldCommit()) {
+                this.plugin = plugin;
+                this.phase = phase;
+                this.jar = jar;
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package model.core;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Un único Timer de Swing que avanza a todos los juegos de la pantalla dividida. Cada juego (cuadro de la
+//grilla) tiene un presupuesto por cuadro: la parte que le toca del presupuesto total. Si lo excede varias
+//veces seguidas se lo baja de frecuencia (uno de cada 2, 4, 8 cuadros) y se recupera al volver a cumplirlo.
+//Todo ocurre en el EDT. El presupuesto total se cambia con -Dframes.budget.ms (16 por defecto)
+public class FrameScheduler {
+    private static FrameScheduler instance;
+
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("frames");
+    private static final long DEFAULT_FRAME_BUDGET_MS = 16;
+    private static final int OVERRUNS_TO_THROTTLE = 3;
+    private static final int FRAMES_TO_RECOVER = 30;
+    private static final int MAX_THROTTLE = 3;
+
+    private final List<Tile> tiles;
+    private final Timer timer;
+    private final MetricsRegistry.LatencyHistogram aggregateTime;
+    private long frameBudgetNanos;
+    private long lastFrameNanos;
+    private double averageFrameNanos;
+    private Runnable frameListener;
+
+    private FrameScheduler() {
+        this.tiles = new ArrayList<>();
+        this.timer = new Timer((int) DEFAULT_FRAME_BUDGET_MS, e -> runFrame());
+        this.timer.setCoalesce(true);
+        this.aggregateTime = MetricsRegistry.getInstance().histogram("frame_total_seconds", null);
+        this.frameBudgetNanos = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("frames.budget.ms", DEFAULT_FRAME_BUDGET_MS));
+    }
+
+    public static synchronized FrameScheduler getInstance() {
+        if (instance == null) {
+            instance = new FrameScheduler();
+        }
+        return instance;
+    }
+
+    // El juego deja su Timer y pasa a avanzar con este planificador
+    public void attach(Tickable game) {
+        if (find(game) != null) {
+            return;
+        }
+        tiles.add(new Tile(game));
+        game.setExternalLoop(true);
+        updateTimer();
+        LOG.debug("Bucle de {} en el planificador compartido ({} juegos)", game.getGameName(), tiles.size());
+    }
+
+    public void detach(Tickable game) {
+        Tile tile = find(game);
+        if (tile == null) {
+            return;
+        }
+        tiles.remove(tile);
+        game.setExternalLoop(false);
+        updateTimer();
+    }
+
+    public void detachAll() {
+        for (Tile tile : new ArrayList<>(tiles)) {
+            detach(tile.game);
+        }
+    }
+
+    // Se llama en el EDT después de cada cuadro, por ejemplo para repintar el indicador de tiempos
+    public void setFrameListener(Runnable frameListener) {
+        this.frameListener = frameListener;
+    }
+
+    public List<Tile> getTiles() {
+        return Collections.unmodifiableList(new ArrayList<>(tiles));
+    }
+
+    public long getFrameBudgetNanos() {
+        return frameBudgetNanos;
+    }
+
+    public void setFrameBudgetMillis(long millis) {
+        this.frameBudgetNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    // El presupuesto total repartido en partes iguales entre los juegos
+    public long getTileBudgetNanos() {
+        return frameBudgetNanos / Math.max(1, tiles.size());
+    }
+
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    public double getAverageFrameNanos() {
+        return averageFrameNanos;
+    }
+
+    public MetricsRegistry.LatencyHistogram getAggregateTime() {
+        return aggregateTime;
+    }
+
+    public boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    private Tile find(Tickable game) {
+        for (Tile tile : tiles) {
+            if (tile.game == game) {
+                return tile;
+            }
+        }
+        return null;
+    }
+
+    // El Timer late al ritmo del juego más rápido; los demás esperan su turno
+    private void updateTimer() {
+        if (tiles.isEmpty()) {
+            timer.stop();
+            return;
+        }
+        long interval = Long.MAX_VALUE;
+        for (Tile tile : tiles) {
+            interval = Math.min(interval, tile.intervalNanos);
+        }
+        int delay = (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(interval));
+        timer.setDelay(delay);
+        timer.setInitialDelay(delay);
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    private void runFrame() {
+        long now = System.nanoTime();
+        // Medio latido de tolerancia: el Timer de Swing no es exacto
+        long tolerance = TimeUnit.MILLISECONDS.toNanos(timer.getDelay()) / 2;
+        long tileBudget = getTileBudgetNanos();
+        long total = 0;
+        boolean ran = false;
+
+        for (Tile tile : tiles.toArray(new Tile[0])) {
+            if (now < tile.nextDue - tolerance) {
+                continue;
+            }
+            long period = tile.intervalNanos << tile.throttle;
+            tile.nextDue = Math.max(tile.nextDue + period, now + period - tolerance);
+
+            long start = System.nanoTime();
+            try {
+                PluginMonitor.getInstance().runCallback(tile.game.getGameName(), "frame", tile.game::frame);
+            } catch (RuntimeException e) {
+                LOG.error("Error en el cuadro de {}: {}", tile.game.getGameName(), e.getMessage());
+            }
+            long elapsed = System.nanoTime() - start;
+            tile.record(elapsed, tileBudget);
+            total += elapsed;
+            ran = true;
+        }
+
+        if (ran) {
+            lastFrameNanos = total;
+            averageFrameNanos = averageFrameNanos == 0 ? total : averageFrameNanos + (total - averageFrameNanos) / 16;
+            aggregateTime.record(total);
+        }
+        if (frameListener != null) {
+            frameListener.run();
+        }
+    }
+
+    //Un juego en la grilla con sus tiempos y su nivel de recorte
+    public static class Tile {
+        private final Tickable game;
+        private final long intervalNanos;
+        private final MetricsRegistry.LatencyHistogram frameTime;
+        private long nextDue;
+        private long lastFrameNanos;
+        private double averageFrameNanos;
+        private long frames;
+        private long overBudgetFrames;
+        private int consecutiveOverruns;
+        private int consecutiveOnBudget;
+        private int throttle;
+
+        private Tile(Tickable game) {
+            this.game = game;
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, game.getFrameIntervalMillis()));
+            this.frameTime = MetricsRegistry.getInstance().histogram("frame_seconds", game.getGameName());
+            this.nextDue = System.nanoTime();
+        }
+
+        private void record(long elapsed, long budget) {
+            frames++;
+            lastFrameNanos = elapsed;
+            averageFrameNanos = averageFrameNanos == 0 ? elapsed : averageFrameNanos + (elapsed - averageFrameNanos) / 16;
+            frameTime.record(elapsed);
+
+            if (elapsed > budget) {
+                overBudgetFrames++;
+                consecutiveOnBudget = 0;
+                if (++consecutiveOverruns >= OVERRUNS_TO_THROTTLE && throttle < MAX_THROTTLE) {
+                    throttle++;
+                    consecutiveOverruns = 0;
+                    LOG.warn("{} excede su presupuesto de cuadro ({} ms): avanza 1 de cada {} cuadros",
+                        game.getGameName(), TimeUnit.NANOSECONDS.toMillis(budget), 1 << throttle);
+                }
+            } else {
+                consecutiveOverruns = 0;
+                if (throttle > 0 && ++consecutiveOnBudget >= FRAMES_TO_RECOVER) {
+                    throttle--;
+                    consecutiveOnBudget = 0;
+                    LOG.info("{} vuelve a 1 de cada {} cuadros", game.getGameName(), 1 << throttle);
+                }
+            }
+        }
+
+        public String getGameName() {
+            return game.getGameName();
+        }
+
+        public long getLastFrameNanos() {
+            return lastFrameNanos;
+        }
+
+        public double getAverageFrameNanos() {
+            return averageFrameNanos;
+        }
+
+        public long getFrames() {
+            return frames;
+        }
+
+        public long getOverBudgetFrames() {
+            return overBudgetFrames;
+        }
+
+        // 0 = todos los cuadros; n = uno de cada 2^n
+        public int getThrottle() {
+            return throttle;
+        }
+
+        public MetricsRegistry.LatencyHistogram getFrameTime() {
+            return frameTime;
+        }
+    }
+}
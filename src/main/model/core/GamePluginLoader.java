@@ -4,24 +4,39 @@ import java.awt.Component;
 import java.io.*;
 import java.lang.reflect.Modifier;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
 import java.util.jar.*;
 import javax.swing.*;
 
 
 public class GamePluginLoader {
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("plugins");
     private static GamePluginLoader instance;
     private Map<String, GamePlugin> loadedPlugins;
+    private Map<String, PluginManifest> catalog;
     private final String PLUGINS_DIR = "plugins";
-    private WatchService watchService;
-    private Thread watchThread;
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+    private static final int DIGEST_BUFFER_SIZE = 1024 * 1024;
+    private static final int PROGRESS_SCALE = 1000;
+    private PluginWatcher pluginWatcher;
     private Runnable onPluginAdded;
     private Set<String> loadedJarFiles;
     
     private GamePluginLoader() {
-        this.loadedPlugins = new HashMap<>();
-        this.loadedJarFiles = new HashSet<>();
+        this.loadedPlugins = new ConcurrentHashMap<>();
+        this.catalog = new ConcurrentHashMap<>();
+        this.loadedJarFiles = ConcurrentHashMap.newKeySet();
     }
     
     public static GamePluginLoader getInstance() {
@@ -32,115 +47,84 @@ public class GamePluginLoader {
     }
     
     public void loadExternalGames() {
+        loadExternalGames(true);
+    }
+
+    // Sin 'watch' solo se cargan los JARs presentes y no queda ningún hilo vigilando plugins/
+    public void loadExternalGames(boolean watch) {
         try {
             File pluginsDir = new File(PLUGINS_DIR);
             
             if (!pluginsDir.exists()) {
                 pluginsDir.mkdirs();
-                System.out.println("Directorio plugins creado");
+                LOG.info("Directorio plugins creado");
             }
             
             File[] jarFiles = pluginsDir.listFiles((dir, name) -> name.toLowerCase().endsWith(".jar"));
             
             if (jarFiles == null || jarFiles.length == 0) {
-                System.out.println("No se encontraron plugins en el directorio: " + PLUGINS_DIR);
-                startDirectoryWatcher();
+                LOG.info("No se encontraron plugins en el directorio: {}", PLUGINS_DIR);
+                if (watch) {
+                    startDirectoryWatcher();
+                }
                 return;
             }
             
-            System.out.println("Encontrados " + jarFiles.length + " archivos JAR en plugins/");
+            LOG.info("Encontrados {} archivos JAR en plugins/", jarFiles.length);
             
             for (File jarFile : jarFiles) {
                 try {
                     String jarName = jarFile.getName();
                     if (!loadedJarFiles.contains(jarName)) {
-                        loadPluginFromJar(jarFile);
+                        PluginWatcher.verifyJar(jarFile);
+                        registerJar(jarFile);
                         loadedJarFiles.add(jarName);
                     }
                 } catch (Exception e) {
-                    System.err.println("Error cargando plugin: " + jarFile.getName());
-                    e.printStackTrace();
+                    LOG.error("Error cargando plugin: {}", jarFile.getName(), e);
                 }
             }
             
-            System.out.println("Carga de plugins completada. Total: " + loadedPlugins.size());
+            LOG.info("Carga de plugins completada. Total: {}", catalog.size());
             
-            startDirectoryWatcher();
+            if (watch) {
+                startDirectoryWatcher();
+            }
             
         } catch (Exception e) {
-            System.err.println("Error en carga de plugins: " + e.getMessage());
+            LOG.error("Error en carga de plugins: {}", e.getMessage());
         }
     }
     
     private void startDirectoryWatcher() {
         try {
-            if (watchService != null) {
+            if (pluginWatcher != null) {
                 return;
             }
-            
-            watchService = FileSystems.getDefault().newWatchService();
-            Path pluginsPath = Paths.get(PLUGINS_DIR);
-            
-            if (!Files.exists(pluginsPath)) {
-                Files.createDirectories(pluginsPath);
+
+            pluginWatcher = new PluginWatcher(Paths.get(PLUGINS_DIR), this::onJarReady);
+            pluginWatcher.start();
+
+        } catch (Exception e) {
+            LOG.error("Error iniciando watcher: {}", e.getMessage());
+        }
+    }
+
+    private void onJarReady(File jarFile) {
+        String fileName = jarFile.getName();
+        if (!loadedJarFiles.add(fileName)) {
+            return;
+        }
+
+        try {
+            registerJar(jarFile);
+
+            if (onPluginAdded != null) {
+                SwingUtilities.invokeLater(onPluginAdded);
             }
-            
-            pluginsPath.register(watchService, 
-                StandardWatchEventKinds.ENTRY_CREATE,
-                StandardWatchEventKinds.ENTRY_MODIFY);
-            
-            watchThread = new Thread(() -> {
-                try {
-                    while (true) {
-                        WatchKey key = watchService.take();
-                        
-                        for (WatchEvent<?> event : key.pollEvents()) {
-                            WatchEvent.Kind<?> kind = event.kind();
-                            
-                            if (kind == StandardWatchEventKinds.ENTRY_CREATE || 
-                                kind == StandardWatchEventKinds.ENTRY_MODIFY) {
-                                
-                                Path filePath = (Path) event.context();
-                                String fileName = filePath.toString();
-                                
-                                if (fileName.toLowerCase().endsWith(".jar")) {
-                                    File jarFile = new File(PLUGINS_DIR + File.separator + fileName);
-                                    
-                                    if (jarFile.exists() && !loadedJarFiles.contains(fileName)) {
-                                        try {
-                                            Thread.sleep(500);
-                                            
-                                            loadPluginFromJar(jarFile);
-                                            loadedJarFiles.add(fileName);
-                                            
-                                            if (onPluginAdded != null) {
-                                                SwingUtilities.invokeLater(onPluginAdded);
-                                            }
-                                            
-                                        } catch (Exception e) {
-                                            System.err.println("Error cargando nuevo plugin: " + fileName);
-                                            e.printStackTrace();
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                        
-                        boolean valid = key.reset();
-                        if (!valid) {
-                            break;
-                        }
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            });
-            
-            watchThread.setDaemon(true);
-            watchThread.start();
-            
         } catch (Exception e) {
-            System.err.println("Error iniciando watcher: " + e.getMessage());
+            loadedJarFiles.remove(fileName);
+            LOG.error("Error cargando nuevo plugin: {}", fileName, e);
         }
     }
     
@@ -148,8 +132,120 @@ public class GamePluginLoader {
         this.onPluginAdded = callback;
     }
     
-    private void loadPluginFromJar(File jarFile) throws Exception {
-        System.out.println("📦 Cargando plugin: " + jarFile.getName());
+    // Con manifiesto solo se registra en el catálogo; la instancia se crea al seleccionarlo
+    private synchronized void registerJar(File jarFile) throws Exception {
+        long start = System.nanoTime();
+        FlightRecorder.PluginLoadEvent trace = FlightRecorder.beginPluginLoad();
+        String pluginName = null;
+        try {
+            PluginManifest manifest = PluginManifest.read(jarFile);
+            if (manifest == null) {
+                loadPluginFromJar(jarFile);
+                return;
+            }
+
+            pluginName = manifest.getName();
+            if (!manifest.isCompatible()) {
+                LOG.warn("Plugin incompatible ignorado: {} ({})", manifest.getName(), manifest.getIncompatibilityReason());
+                return;
+            }
+
+            PluginManifest current = catalog.get(manifest.getName());
+            if (current != null && !manifest.getVersion().isNewerThan(current.getVersion())) {
+                LOG.info("Versión más antigua ignorada: {} v{} (activa v{})",
+                    manifest.getName(), manifest.getVersion(), current.getVersion());
+                return;
+            }
+
+            catalog.put(manifest.getName(), manifest);
+            if (loadedPlugins.remove(manifest.getName()) != null) {
+                LOG.info("Plugin reemplazado por versión más nueva: {}", manifest.getName());
+            }
+            LOG.info("Plugin registrado: {} v{}", manifest.getName(), manifest.getVersion());
+        } finally {
+            MetricsRegistry.getInstance().histogram("plugin_register_seconds", null).recordSince(start);
+            trace.finish(pluginName, "registro", jarFile.getName());
+        }
+    }
+
+    private boolean registerInstance(GamePlugin plugin, File jarFile) {
+        String gameName = plugin.getGameName();
+        // Sin manifiesto la versión es texto libre; antes se cargaban igual, así que no se rechazan por eso
+        SemanticVersion version;
+        try {
+            version = SemanticVersion.parse(plugin.getGameVersion());
+        } catch (IllegalArgumentException e) {
+            version = SemanticVersion.parseLenient(plugin.getGameVersion());
+            LOG.warn("Versión no estándar '{}' en {}; se toma como {}", plugin.getGameVersion(), gameName, version);
+        }
+        PluginManifest current = catalog.get(gameName);
+
+        if (current != null && !version.isNewerThan(current.getVersion())) {
+            return false;
+        }
+
+        catalog.put(gameName, PluginManifest.forPlugin(plugin, jarFile));
+        loadedPlugins.put(gameName, plugin);
+        return true;
+    }
+
+    public PluginManifest getManifest(String gameName) {
+        return catalog.get(gameName);
+    }
+
+    public List<PluginManifest> getCatalog() {
+        List<PluginManifest> result = new ArrayList<>(catalog.values());
+        result.sort(Comparator.comparing(PluginManifest::getName));
+        return result;
+    }
+
+    // Instancia el ganador del catálogo solo cuando se necesita
+    public synchronized GamePlugin getPlugin(String gameName) throws Exception {
+        GamePlugin plugin = loadedPlugins.get(gameName);
+        if (plugin != null) {
+            return plugin;
+        }
+
+        PluginManifest manifest = catalog.get(gameName);
+        if (manifest == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        FlightRecorder.PluginLoadEvent trace = FlightRecorder.beginPluginLoad();
+        URLClassLoader classLoader = new URLClassLoader(
+            new URL[]{manifest.getJarFile().toURI().toURL()},
+            this.getClass().getClassLoader()
+        );
+
+        if (manifest.getMainClass() != null) {
+            plugin = Class.forName(manifest.getMainClass(), true, classLoader)
+                .asSubclass(GamePlugin.class)
+                .getDeclaredConstructor()
+                .newInstance();
+        } else {
+            for (GamePlugin candidate : ServiceLoader.load(GamePlugin.class, classLoader)) {
+                if (gameName.equals(candidate.getGameName())) {
+                    plugin = candidate;
+                    break;
+                }
+            }
+        }
+
+        if (plugin == null) {
+            classLoader.close();
+            throw new ClassNotFoundException("No se encontró la clase del plugin " + gameName);
+        }
+
+        loadedPlugins.put(gameName, plugin);
+        MetricsRegistry.getInstance().histogram("plugin_load_seconds", gameName).recordSince(start);
+        trace.finish(gameName, "instancia", manifest.getJarFile().getName());
+        LOG.info("Plugin instanciado: {} v{}", gameName, manifest.getVersion());
+        return plugin;
+    }
+
+    private synchronized void loadPluginFromJar(File jarFile) throws Exception {
+        LOG.info("📦 Cargando plugin: {}", jarFile.getName());
         
         URL jarUrl = jarFile.toURI().toURL();
         URLClassLoader classLoader = new URLClassLoader(
@@ -164,21 +260,20 @@ public class GamePluginLoader {
             for (GamePlugin plugin : serviceLoader) {
                 String gameName = plugin.getGameName();
                 
-                if (!loadedPlugins.containsKey(gameName)) {
-                    loadedPlugins.put(gameName, plugin);
-                    System.out.println(" Plugin cargado: " + gameName + " v" + plugin.getGameVersion());
+                if (registerInstance(plugin, jarFile)) {
+                    LOG.info("Plugin cargado: {} v{}", gameName, plugin.getGameVersion());
                     loadedCount++;
                 } else {
-                    System.out.println(" Plugin duplicado ignorado: " + gameName);
+                    LOG.info("Plugin duplicado ignorado: {}", gameName);
                 }
             }
             
             if (loadedCount == 0) {
-                System.out.println(" ServiceLoader no encontró plugins, intentando carga manual...");
+                LOG.info("ServiceLoader no encontró plugins, intentando carga manual...");
                 loadPluginsManually(jarFile, classLoader);
             }
         } catch (Exception e) {
-            System.err.println("Error con ServiceLoader, usando carga manual: " + e.getMessage());
+            LOG.warn("Error con ServiceLoader, usando carga manual: {}", e.getMessage());
             loadPluginsManually(jarFile, classLoader);
         } finally {
             classLoader.close();
@@ -187,7 +282,7 @@ public class GamePluginLoader {
     
 
     private void loadPluginsManually(File jarFile, URLClassLoader classLoader) throws Exception {
-        System.out.println("🔍 Intentando carga manual para: " + jarFile.getName());
+        LOG.info("🔍 Intentando carga manual para: {}", jarFile.getName());
         
         JarFile jar = new JarFile(jarFile);
         Enumeration<JarEntry> entries = jar.entries();
@@ -211,9 +306,8 @@ public class GamePluginLoader {
                         GamePlugin plugin = (GamePlugin) clazz.getDeclaredConstructor().newInstance();
                         String gameName = plugin.getGameName();
                         
-                        if (!loadedPlugins.containsKey(gameName)) {
-                            loadedPlugins.put(gameName, plugin);
-                            System.out.println(" Plugin cargado manualmente: " + gameName + " v" + plugin.getGameVersion());
+                        if (registerInstance(plugin, jarFile)) {
+                            LOG.info("Plugin cargado manualmente: {} v{}", gameName, plugin.getGameVersion());
                         }
                     }
                 } catch (NoClassDefFoundError | Exception e) {
@@ -230,7 +324,7 @@ public class GamePluginLoader {
     }
     
     public boolean hasPlugins() {
-        return !loadedPlugins.isEmpty();
+        return !catalog.isEmpty();
     }
 
     public void loadPluginInteractive(Component parent) {
@@ -241,39 +335,145 @@ public class GamePluginLoader {
         fileChooser.setCurrentDirectory(new File(PLUGINS_DIR));
         
         int result = fileChooser.showOpenDialog(parent);
-        if (result == JFileChooser.APPROVE_OPTION) {
-            File selectedFile = fileChooser.getSelectedFile();
-            
+        if (result != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        File selectedFile = fileChooser.getSelectedFile();
+        ProgressMonitor progressMonitor = new ProgressMonitor(parent,
+            "Instalando " + selectedFile.getName(), "", 0, PROGRESS_SCALE);
+        progressMonitor.setMillisToDecideToPopup(200);
+
+        // La copia, la verificación y la carga se hacen fuera del EDT
+        SwingWorker<File, Integer> worker = new SwingWorker<File, Integer>() {
+            @Override
+            protected File doInBackground() throws Exception {
+                long total = Math.max(1, selectedFile.length());
+                return installPlugin(selectedFile, copied -> {
+                    int value = (int) (copied * PROGRESS_SCALE / total);
+                    setProgress(Math.min(100, value * 100 / PROGRESS_SCALE));
+                    publish(value);
+                }, progressMonitor::isCanceled);
+            }
+
+            @Override
+            protected void process(List<Integer> chunks) {
+                int value = chunks.get(chunks.size() - 1);
+                progressMonitor.setProgress(value);
+                progressMonitor.setNote(getProgress() + "%");
+            }
+
+            @Override
+            protected void done() {
+                progressMonitor.close();
+                try {
+                    File installed = get();
+                    JOptionPane.showMessageDialog(parent, 
+                        "Plugin cargado exitosamente: " + installed.getName(),
+                        "Plugin Cargado", 
+                        JOptionPane.INFORMATION_MESSAGE);
+                    if (onPluginAdded != null) {
+                        onPluginAdded.run();
+                    }
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(parent, 
+                        "Error cargando plugin: " + cause.getMessage(),
+                        "Error", 
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    // Copia al directorio de plugins sin pasar por el heap y publica el JAR con un move atómico
+    public File installPlugin(File source, LongConsumer onProgress, BooleanSupplier cancelled) throws Exception {
+        Path pluginsPath = Paths.get(PLUGINS_DIR);
+        Files.createDirectories(pluginsPath);
+
+        Path destPath = pluginsPath.resolve(source.getName());
+        Path tempPath = pluginsPath.resolve(source.getName() + "." + System.nanoTime() + ".part");
+
+        CompletableFuture<String> checksum = CompletableFuture.supplyAsync(() -> sha256(source.toPath()));
+
+        try {
+            try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(tempPath, StandardOpenOption.WRITE,
+                     StandardOpenOption.CREATE_NEW)) {
+
+                long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    if (cancelled.getAsBoolean()) {
+                        throw new IOException("Instalación cancelada");
+                    }
+                    long transferred = in.transferTo(position, Math.min(TRANSFER_CHUNK, size - position), out);
+                    // Si el origen se acortó durante la copia transferTo devuelve 0 para siempre
+                    if (transferred == 0) {
+                        throw new IOException("El archivo " + source.getName() + " cambió durante la copia");
+                    }
+                    position += transferred;
+                    onProgress.accept(position);
+                }
+                out.force(true);
+            }
+
+            String actual = checksum.join();
+            String expected = readExpectedChecksum(source);
+            if (expected != null && !expected.equalsIgnoreCase(actual)) {
+                throw new IOException("Checksum inválido para " + source.getName());
+            }
+            LOG.info("SHA-256 {}: {}", source.getName(), actual);
+
+            PluginWatcher.verifyJar(tempPath.toFile());
+
+            // Se marca antes del move para que el watcher no lo cargue otra vez
+            loadedJarFiles.add(destPath.getFileName().toString());
             try {
-                File destFile = new File(PLUGINS_DIR + File.separator + selectedFile.getName());
-                copyFile(selectedFile, destFile);
-                
-                loadPluginFromJar(destFile);
-                
-                JOptionPane.showMessageDialog(parent, 
-                    "Plugin cargado exitosamente: " + selectedFile.getName(),
-                    "Plugin Cargado", 
-                    JOptionPane.INFORMATION_MESSAGE);
-                
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(parent, 
-                    "Error cargando plugin: " + e.getMessage(),
-                    "Error", 
-                    JOptionPane.ERROR_MESSAGE);
+                Files.move(tempPath, destPath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, destPath, StandardCopyOption.REPLACE_EXISTING);
             }
+        } catch (Exception e) {
+            checksum.cancel(true);
+            loadedJarFiles.remove(destPath.getFileName().toString());
+            Files.deleteIfExists(tempPath);
+            throw e;
         }
+
+        File destFile = destPath.toFile();
+        registerJar(destFile);
+        return destFile;
     }
-    
-    private void copyFile(File source, File dest) throws IOException {
-        try (InputStream is = new FileInputStream(source);
-             OutputStream os = new FileOutputStream(dest)) {
-            
-            byte[] buffer = new byte[1024];
-            int length;
-            while ((length = is.read(buffer)) > 0) {
-                os.write(buffer, 0, length);
+
+    private String readExpectedChecksum(File source) throws IOException {
+        File sidecar = new File(source.getPath() + ".sha256");
+        if (!sidecar.exists()) {
+            return null;
+        }
+        String content = new String(Files.readAllBytes(sidecar.toPath()), StandardCharsets.US_ASCII).trim();
+        int space = content.indexOf(' ');
+        return space > 0 ? content.substring(0, space) : content;
+    }
+
+    private static String sha256(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
             }
+            return hex.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new CompletionException(e);
         }
     }
 }
-
@@ -0,0 +1,163 @@
+package model.core;
+
+import javax.swing.SwingUtilities;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//Planificador compartido por todos los juegos (internos y plugins) para tareas diferidas y periódicas.
+//Un único hilo lleva la cuenta del tiempo y las tareas se ejecutan en el EDT; cada tarea pertenece
+//a un juego y se cancelan todas juntas cuando el juego se detiene o se cambia de juego
+public class GameScheduler {
+    private static GameScheduler instance;
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("scheduler");
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<String, Set<Task>> tasksByOwner;
+
+    private GameScheduler() {
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "game-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.tasksByOwner = new ConcurrentHashMap<>();
+    }
+
+    public static synchronized GameScheduler getInstance() {
+        if (instance == null) {
+            instance = new GameScheduler();
+        }
+        return instance;
+    }
+
+    // Ejecuta la tarea en el EDT una vez pasado el retardo
+    public Task runLater(String owner, long delayMillis, Runnable edtTask) {
+        Task task = new Task(owner, edtTask, false);
+        register(task);
+        task.future = executor.schedule(task::dispatch, delayMillis, TimeUnit.MILLISECONDS);
+        task.cancelIfRequested();
+        return task;
+    }
+
+    // Ejecuta la tarea en el EDT cada 'periodMillis'; si el EDT va atrasado no se acumulan ejecuciones
+    public Task runPeriodically(String owner, long initialDelayMillis, long periodMillis, Runnable edtTask) {
+        Task task = new Task(owner, edtTask, true);
+        register(task);
+        task.future = executor.scheduleAtFixedRate(task::dispatch, initialDelayMillis, periodMillis, TimeUnit.MILLISECONDS);
+        task.cancelIfRequested();
+        return task;
+    }
+
+    // Cancela todo lo pendiente del juego; las tareas ya encoladas en el EDT tampoco se ejecutan
+    public int cancelAll(String owner) {
+        Set<Task> tasks = tasksByOwner.remove(owner);
+        if (tasks == null) {
+            return 0;
+        }
+        int cancelled = 0;
+        for (Task task : tasks) {
+            if (task.cancelInternal()) {
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    public int getPendingCount(String owner) {
+        Set<Task> tasks = tasksByOwner.get(owner);
+        return tasks == null ? 0 : tasks.size();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        tasksByOwner.clear();
+    }
+
+    private void register(Task task) {
+        tasksByOwner.computeIfAbsent(task.owner, key -> ConcurrentHashMap.newKeySet()).add(task);
+    }
+
+    private void unregister(Task task) {
+        Set<Task> tasks = tasksByOwner.get(task.owner);
+        if (tasks != null) {
+            tasks.remove(task);
+        }
+    }
+
+    //Tarea planificada; la ejecución en el EDT se mide con el PluginMonitor como cualquier callback del juego
+    public class Task {
+        private final String owner;
+        private final Runnable action;
+        private final boolean periodic;
+        private final AtomicBoolean queuedOnEdt = new AtomicBoolean(false);
+        private volatile boolean cancelled;
+        private volatile ScheduledFuture<?> future;
+
+        private Task(String owner, Runnable action, boolean periodic) {
+            this.owner = owner;
+            this.action = action;
+            this.periodic = periodic;
+        }
+
+        private void dispatch() {
+            if (cancelled || !queuedOnEdt.compareAndSet(false, true)) {
+                return;
+            }
+            SwingUtilities.invokeLater(this::runOnEdt);
+        }
+
+        private void runOnEdt() {
+            queuedOnEdt.set(false);
+            if (cancelled) {
+                return;
+            }
+            if (!periodic) {
+                cancelled = true;
+                unregister(this);
+            }
+            try {
+                PluginMonitor.getInstance().runCallback(owner, "scheduled", action);
+            } catch (RuntimeException e) {
+                LOG.error("Error en tarea planificada de {}", owner, e);
+            }
+        }
+
+        private boolean cancelInternal() {
+            boolean wasPending = !cancelled;
+            cancelled = true;
+            ScheduledFuture<?> current = future;
+            if (current != null) {
+                current.cancel(false);
+            }
+            return wasPending;
+        }
+
+        // Por si se canceló antes de guardar el future
+        private void cancelIfRequested() {
+            if (cancelled) {
+                future.cancel(false);
+            }
+        }
+
+        public void cancel() {
+            cancelInternal();
+            unregister(this);
+        }
+
+        // Una tarea única deja de estar pendiente al ejecutarse
+        public boolean isPending() {
+            return !cancelled;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package model.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Partida independiente creada por GameSessionFactory: estado propio y sus propios listeners. Varias
+//sesiones del mismo juego conviven sin compartir nada entre ellas. Las partidas sin interfaz avanzan solo
+//con tick(), así que no planifican tareas. Una sesión la maneja un solo hilo a la vez; close() la saca del conteo
+public class GameSession implements ScriptableGame {
+    private final long id;
+    private final GameSessionFactory factory;
+    private final ScriptableGame game;
+    private final List<GameListener> listeners = new ArrayList<>(2);
+    private boolean closed;
+
+    GameSession(long id, GameSessionFactory factory, ScriptableGame.Provider provider, long seed) {
+        this.id = id;
+        this.factory = factory;
+        this.game = provider.newSimulation(seed, new Events());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getGameName() {
+        return game.getGameName();
+    }
+
+    @Override
+    public List<String> getAvailableInputs() {
+        return game.getAvailableInputs();
+    }
+
+    @Override
+    public void applyInput(String input) {
+        game.applyInput(input);
+    }
+
+    @Override
+    public void tick() {
+        game.tick();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return game.isFinished();
+    }
+
+    @Override
+    public int getScore() {
+        return game.getScore();
+    }
+
+    // La partida de esta sesión, por ejemplo para guardar su estado
+    public ScriptableGame getGame() {
+        return game;
+    }
+
+    public void addGameListener(GameListener listener) {
+        if (listener != null && !listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    public void removeGameListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        listeners.clear();
+        factory.sessionClosed();
+    }
+
+    @Override
+    public String toString() {
+        return getGameName() + "#" + id;
+    }
+
+    //Reparte los eventos de la partida solo a los listeners de esta sesión
+    private class Events implements GameListener {
+        @Override
+        public void onGameFinished(GameEvent event) {
+            for (GameListener listener : listeners) {
+                listener.onGameFinished(event);
+            }
+        }
+
+        @Override
+        public void onScoreUpdated(GameEvent event) {
+            for (GameListener listener : listeners) {
+                listener.onScoreUpdated(event);
+            }
+        }
+
+        @Override
+        public void onGameStateChanged(GameEvent event) {
+            for (GameListener listener : listeners) {
+                listener.onGameStateChanged(event);
+            }
+        }
+
+        @Override
+        public void onGameError(GameEvent event) {
+            for (GameListener listener : listeners) {
+                listener.onGameError(event);
+            }
+        }
+    }
+}
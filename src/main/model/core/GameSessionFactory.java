@@ -0,0 +1,82 @@
+package model.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Crea sesiones de juego aisladas a partir de los ScriptableGame.Provider registrados. Los juegos con
+//interfaz son un único objeto por juego (su panel vive en la ventana principal); las sesiones permiten
+//correr muchas partidas del mismo juego a la vez, por ejemplo miles sin interfaz en un solo proceso
+public class GameSessionFactory {
+    private static GameSessionFactory instance;
+
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("sessions");
+
+    private final Map<String, ScriptableGame.Provider> providers;
+    private final AtomicLong nextId;
+    private final AtomicInteger openSessions;
+
+    private GameSessionFactory() {
+        this.providers = new LinkedHashMap<>();
+        this.nextId = new AtomicLong();
+        this.openSessions = new AtomicInteger();
+    }
+
+    public static synchronized GameSessionFactory getInstance() {
+        if (instance == null) {
+            instance = new GameSessionFactory();
+        }
+        return instance;
+    }
+
+    // Un proveedor con el mismo nombre reemplaza al anterior
+    public synchronized void registerProvider(ScriptableGame.Provider provider) {
+        ScriptableGame.Provider previous = providers.put(key(provider.getGameName()), provider);
+        if (previous != null && previous != provider) {
+            LOG.info("Proveedor de sesiones reemplazado: {}", provider.getGameName());
+        }
+    }
+
+    public synchronized List<ScriptableGame.Provider> getProviders() {
+        return new ArrayList<>(providers.values());
+    }
+
+    public synchronized ScriptableGame.Provider getProvider(String gameName) {
+        return providers.get(key(gameName));
+    }
+
+    public GameSession open(String gameName, long seed) {
+        ScriptableGame.Provider provider = getProvider(gameName);
+        if (provider == null) {
+            throw new IllegalArgumentException("No hay sesiones para el juego: " + gameName);
+        }
+        return open(provider, seed);
+    }
+
+    // La misma semilla reproduce la misma partida
+    public GameSession open(ScriptableGame.Provider provider, long seed) {
+        GameSession session = new GameSession(nextId.incrementAndGet(), this, provider, seed);
+        openSessions.incrementAndGet();
+        return session;
+    }
+
+    public int getOpenSessions() {
+        return openSessions.get();
+    }
+
+    public long getCreatedSessions() {
+        return nextId.get();
+    }
+
+    void sessionClosed() {
+        openSessions.decrementAndGet();
+    }
+
+    private static String key(String gameName) {
+        return gameName.toLowerCase(Locale.ROOT);
+    }
+}
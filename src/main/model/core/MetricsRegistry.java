@@ -0,0 +1,390 @@
+package model.core;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+//Métricas de la plataforma con coste mínimo en el camino caliente: contadores repartidos (LongAdder),
+//histogramas de latencia log-lineales y medidores que se leen solo al exportar.
+//Exportación opcional: -Dmetrics.file=ruta (cada 10 s) y -Dmetrics.port=N (texto Prometheus en 127.0.0.1)
+public class MetricsRegistry {
+    private static MetricsRegistry instance;
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("metrics");
+
+    private static final long FILE_EXPORT_PERIOD_SECONDS = 10;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Meter> meters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    private HttpServer httpServer;
+    private ScheduledExecutorService fileExporter;
+
+    private MetricsRegistry() {
+    }
+
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+        }
+        return instance;
+    }
+
+    // El nombre sigue la convención de Prometheus; 'game' es la etiqueta opcional del juego
+    public Counter counter(String name, String game) {
+        return counters.computeIfAbsent(key(name, game), k -> new Counter());
+    }
+
+    public Meter meter(String name, String game) {
+        return meters.computeIfAbsent(key(name, game), k -> new Meter());
+    }
+
+    public LatencyHistogram histogram(String name, String game) {
+        return histograms.computeIfAbsent(key(name, game), k -> new LatencyHistogram());
+    }
+
+    public void gauge(String name, String game, LongSupplier supplier) {
+        gauges.put(key(name, game), supplier);
+    }
+
+    private static String key(String name, String game) {
+        if (game == null) {
+            return name;
+        }
+        return name + "{game=\"" + game.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+
+    // Inserta un sufijo en el nombre respetando las etiquetas: a{x} + _count -> a_count{x}
+    private static String withSuffix(String key, String suffix, String extraLabel) {
+        int brace = key.indexOf('{');
+        String name = brace < 0 ? key : key.substring(0, brace);
+        String labels = brace < 0 ? "" : key.substring(brace + 1, key.length() - 1);
+        if (extraLabel != null) {
+            labels = labels.isEmpty() ? extraLabel : labels + "," + extraLabel;
+        }
+        return name + suffix + (labels.isEmpty() ? "" : "{" + labels + "}");
+    }
+
+    private static String baseName(String key) {
+        int brace = key.indexOf('{');
+        return brace < 0 ? key : key.substring(0, brace);
+    }
+
+    // Formato de texto de Prometheus; los histogramas se exponen como summary con cuantiles en segundos
+    // y su máximo como un gauge aparte. Cada familia lleva una sola línea TYPE con todas sus muestras juntas
+    public String toPrometheusText() {
+        StringBuilder out = new StringBuilder(4096);
+
+        for (Map.Entry<String, Map<String, Counter>> family : byFamily(counters).entrySet()) {
+            typeLine(out, family.getKey(), "counter");
+            for (Map.Entry<String, Counter> entry : family.getValue().entrySet()) {
+                out.append(entry.getKey()).append(' ').append(entry.getValue().sum()).append('\n');
+            }
+        }
+
+        for (Map.Entry<String, Map<String, Meter>> family : byFamily(meters).entrySet()) {
+            typeLine(out, family.getKey() + "_total", "counter");
+            for (Map.Entry<String, Meter> entry : family.getValue().entrySet()) {
+                out.append(withSuffix(entry.getKey(), "_total", null)).append(' ')
+                    .append(entry.getValue().getCount()).append('\n');
+            }
+            typeLine(out, family.getKey() + "_per_second", "gauge");
+            for (Map.Entry<String, Meter> entry : family.getValue().entrySet()) {
+                out.append(withSuffix(entry.getKey(), "_per_second", null)).append(' ')
+                    .append(format(entry.getValue().getRatePerSecond())).append('\n');
+            }
+        }
+
+        for (Map.Entry<String, Map<String, LatencyHistogram>> family : byFamily(histograms).entrySet()) {
+            typeLine(out, family.getKey(), "summary");
+            for (Map.Entry<String, LatencyHistogram> entry : family.getValue().entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                String key = entry.getKey();
+                for (double q : QUANTILES) {
+                    out.append(withSuffix(key, "", "quantile=\"" + q + "\"")).append(' ')
+                        .append(format(histogram.getPercentileNanos(q * 100) / 1e9)).append('\n');
+                }
+                out.append(withSuffix(key, "_sum", null)).append(' ').append(format(histogram.getTotalNanos() / 1e9)).append('\n');
+                out.append(withSuffix(key, "_count", null)).append(' ').append(histogram.getCount()).append('\n');
+            }
+            typeLine(out, family.getKey() + "_max", "gauge");
+            for (Map.Entry<String, LatencyHistogram> entry : family.getValue().entrySet()) {
+                out.append(withSuffix(entry.getKey(), "_max", null)).append(' ')
+                    .append(format(entry.getValue().getMaxNanos() / 1e9)).append('\n');
+            }
+        }
+
+        for (Map.Entry<String, Map<String, LongSupplier>> family : byFamily(gauges).entrySet()) {
+            typeLine(out, family.getKey(), "gauge");
+            for (Map.Entry<String, LongSupplier> entry : family.getValue().entrySet()) {
+                long value;
+                try {
+                    value = entry.getValue().getAsLong();
+                } catch (RuntimeException e) {
+                    continue;
+                }
+                out.append(entry.getKey()).append(' ').append(value).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    // Agrupa las series por nombre base; ordenar las claves completas no alcanza porque
+    // "a_b" queda entre "a" y "a{...}" y partiría la familia "a"
+    private static <T> Map<String, Map<String, T>> byFamily(Map<String, T> series) {
+        Map<String, Map<String, T>> families = new TreeMap<>();
+        for (Map.Entry<String, T> entry : series.entrySet()) {
+            families.computeIfAbsent(baseName(entry.getKey()), k -> new TreeMap<>()).put(entry.getKey(), entry.getValue());
+        }
+        return families;
+    }
+
+    private static void typeLine(StringBuilder out, String name, String type) {
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6g", value);
+    }
+
+    // Escritura atómica: se escribe a un temporal y se renombra
+    public void writeTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, toPrometheusText().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Activa los exportadores pedidos por propiedades del sistema; sin propiedades no hace nada
+    public synchronized void startConfiguredExporters() {
+        String file = System.getProperty("metrics.file");
+        if (file != null && fileExporter == null) {
+            Path path = Paths.get(file);
+            fileExporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-file-exporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            fileExporter.scheduleAtFixedRate(() -> {
+                try {
+                    writeTo(path);
+                } catch (IOException e) {
+                    LOG.warn("Error exportando métricas a {}: {}", path, e.getMessage());
+                }
+            }, FILE_EXPORT_PERIOD_SECONDS, FILE_EXPORT_PERIOD_SECONDS, TimeUnit.SECONDS);
+            LOG.info("Métricas exportadas a {}", path.toAbsolutePath());
+        }
+
+        String port = System.getProperty("metrics.port");
+        if (port != null && httpServer == null) {
+            try {
+                startHttpServer(Integer.parseInt(port));
+            } catch (IOException | NumberFormatException e) {
+                LOG.error("No se pudo abrir el endpoint de métricas: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Solo escucha en loopback: las métricas no salen de la máquina
+    public synchronized void startHttpServer(int port) throws IOException {
+        if (httpServer != null) {
+            return;
+        }
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = toPrometheusText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        // El hilo despachador hereda la condición de daemon de quien llama a start(); así no retiene la JVM
+        Thread starter = new Thread(server::start, "metrics-http-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        httpServer = server;
+        LOG.info("Métricas en http://127.0.0.1:{}/metrics", server.getAddress().getPort());
+    }
+
+    public synchronized void shutdown() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (fileExporter != null) {
+            fileExporter.shutdownNow();
+            fileExporter = null;
+        }
+    }
+
+    //Contador monótono; LongAdder reparte las escrituras entre celdas para no competir por una sola
+    public static class Counter {
+        private final LongAdder adder = new LongAdder();
+
+        public void increment() {
+            adder.increment();
+        }
+
+        public void add(long amount) {
+            adder.add(amount);
+        }
+
+        public long sum() {
+            return adder.sum();
+        }
+    }
+
+    //Contador con tasa por segundo calculada al leer, sobre la ventana desde la lectura anterior
+    public static class Meter {
+        private static final long MIN_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final LongAdder count = new LongAdder();
+        private long lastCount;
+        private long lastNanos = System.nanoTime();
+        private double lastRate;
+
+        public void mark() {
+            count.increment();
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public synchronized double getRatePerSecond() {
+            long now = System.nanoTime();
+            long elapsed = now - lastNanos;
+            if (elapsed >= MIN_WINDOW_NANOS) {
+                long current = count.sum();
+                lastRate = (current - lastCount) * 1e9 / elapsed;
+                lastCount = current;
+                lastNanos = now;
+            }
+            return lastRate;
+        }
+    }
+
+    //Histograma log-lineal al estilo HdrHistogram: 8 sub-cubetas por potencia de dos (error < 12,5 %)
+    public static class LatencyHistogram {
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        // Hasta 2^40 ns (unos 18 minutos); lo que pase de ahí cae en la última cubeta
+        private static final int MAX_EXPONENT = 40;
+        private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        public void record(long nanos) {
+            long value = Math.max(0, nanos);
+            buckets.incrementAndGet(indexOf(value));
+            count.increment();
+            totalNanos.add(value);
+            if (value > maxNanos.get()) {
+                maxNanos.accumulateAndGet(value, Math::max);
+            }
+        }
+
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        static int indexOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            if (exponent > MAX_EXPONENT) {
+                return BUCKETS - 1;
+            }
+            int shift = exponent - SUB_BUCKET_BITS;
+            int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+            return (shift + 1) * SUB_BUCKETS + sub;
+        }
+
+        // Límite superior de la cubeta, para no subestimar percentiles
+        static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / SUB_BUCKETS - 1;
+            int sub = index % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public double getMeanNanos() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) totalNanos.sum() / n;
+        }
+
+        public long getPercentileNanos(double percentile) {
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = buckets.get(i);
+                total += snapshot[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), maxNanos.get());
+                }
+            }
+            return maxNanos.get();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package model.core;
+
+import java.awt.Dimension;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+//Metadatos de un juego leídos directamente del JAR, sin instanciar el plugin
+//Formato de META-INF/game-plugin.properties:
+//  name, version, apiVersion, mainClass, description,
+//  resources (lista separada por comas), windowWidth, windowHeight
+public class PluginManifest {
+    public static final String MANIFEST_PATH = "META-INF/game-plugin.properties";
+    public static final SemanticVersion PLATFORM_API_VERSION = SemanticVersion.parse("1.0");
+
+    private final String name;
+    private final SemanticVersion version;
+    private final SemanticVersion apiVersion;
+    private final String mainClass;
+    private final String description;
+    private final List<String> requiredResources;
+    private final Dimension preferredSize;
+    private final File jarFile;
+    private final List<String> missingResources;
+
+    private PluginManifest(String name, SemanticVersion version, SemanticVersion apiVersion,
+                           String mainClass, String description, List<String> requiredResources,
+                           Dimension preferredSize, File jarFile, List<String> missingResources) {
+        this.name = name;
+        this.version = version;
+        this.apiVersion = apiVersion;
+        this.mainClass = mainClass;
+        this.description = description;
+        this.requiredResources = requiredResources;
+        this.preferredSize = preferredSize;
+        this.jarFile = jarFile;
+        this.missingResources = missingResources;
+    }
+
+    // Devuelve null si el JAR no trae manifiesto
+    public static PluginManifest read(File jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar)) {
+            ZipEntry entry = jarFile.getEntry(MANIFEST_PATH);
+            if (entry == null) {
+                return null;
+            }
+
+            Properties props = new Properties();
+            try (Reader reader = new InputStreamReader(jarFile.getInputStream(entry), StandardCharsets.UTF_8)) {
+                props.load(reader);
+            }
+
+            String name = props.getProperty("name", "").trim();
+            if (name.isEmpty()) {
+                throw new IOException("Manifiesto sin nombre en " + jar.getName());
+            }
+
+            List<String> resources = new ArrayList<>();
+            List<String> missing = new ArrayList<>();
+            for (String resource : props.getProperty("resources", "").split(",")) {
+                String path = resource.trim();
+                if (path.isEmpty()) continue;
+                resources.add(path);
+                String entryName = path.startsWith("/") ? path.substring(1) : path;
+                if (jarFile.getEntry(entryName) == null) {
+                    missing.add(path);
+                }
+            }
+
+            return new PluginManifest(
+                name,
+                SemanticVersion.parse(props.getProperty("version")),
+                SemanticVersion.parse(props.getProperty("apiVersion", PLATFORM_API_VERSION.toString())),
+                emptyToNull(props.getProperty("mainClass")),
+                props.getProperty("description", ""),
+                Collections.unmodifiableList(resources),
+                parseSize(props.getProperty("windowWidth"), props.getProperty("windowHeight")),
+                jar,
+                Collections.unmodifiableList(missing));
+        }
+    }
+
+    // Manifiesto sintético para juegos internos o JARs antiguos sin manifiesto
+    public static PluginManifest forPlugin(GamePlugin plugin, File jarFile) {
+        Dimension size = null;
+        if (plugin.getGamePanel() != null && plugin.getGamePanel().isPreferredSizeSet()) {
+            size = plugin.getGamePanel().getPreferredSize();
+        }
+        return new PluginManifest(
+            plugin.getGameName(),
+            SemanticVersion.parseLenient(plugin.getGameVersion()),
+            PLATFORM_API_VERSION,
+            plugin.getClass().getName(),
+            plugin.getGameDescription(),
+            Collections.emptyList(),
+            size,
+            jarFile,
+            Collections.emptyList());
+    }
+
+    // Misma versión mayor de la API y una menor que la plataforma soporte
+    public boolean isCompatible() {
+        return apiVersion.getMajor() == PLATFORM_API_VERSION.getMajor()
+            && apiVersion.getMinor() <= PLATFORM_API_VERSION.getMinor()
+            && missingResources.isEmpty();
+    }
+
+    public String getIncompatibilityReason() {
+        if (!missingResources.isEmpty()) {
+            return "faltan recursos " + missingResources;
+        }
+        if (!isCompatible()) {
+            return "requiere API " + apiVersion + " (plataforma " + PLATFORM_API_VERSION + ")";
+        }
+        return null;
+    }
+
+    public String getName() { return name; }
+    public SemanticVersion getVersion() { return version; }
+    public SemanticVersion getApiVersion() { return apiVersion; }
+    public String getMainClass() { return mainClass; }
+    public String getDescription() { return description; }
+    public List<String> getRequiredResources() { return requiredResources; }
+    public Dimension getPreferredSize() { return preferredSize; }
+    public File getJarFile() { return jarFile; }
+    public boolean isExternal() { return jarFile != null; }
+
+    private static String emptyToNull(String value) {
+        return (value == null || value.trim().isEmpty()) ? null : value.trim();
+    }
+
+    private static Dimension parseSize(String width, String height) {
+        try {
+            if (width != null && height != null) {
+                return new Dimension(Integer.parseInt(width.trim()), Integer.parseInt(height.trim()));
+            }
+        } catch (NumberFormatException e) {
+            // tamaño opcional
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PluginManifest[%s v%s api %s]", name, version, apiVersion);
+    }
+}
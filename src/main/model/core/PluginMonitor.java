@@ -0,0 +1,190 @@
+package model.core;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Aísla a cada plugin: pool propio para trabajo pesado y vigilancia del tiempo que consume en el EDT
+public class PluginMonitor {
+    private static PluginMonitor instance;
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("plugins");
+
+    private static final long DEFAULT_EDT_BUDGET_MS = 100;
+    private static final int MAX_VIOLATIONS = 3;
+    private static final int WORKER_THREADS = 2;
+    private static final int WORKER_QUEUE_SIZE = 64;
+
+    private final Map<String, PluginStats> stats;
+    private final Map<String, ThreadPoolExecutor> executors;
+    private final ThreadMXBean threadBean;
+    private volatile long edtBudgetNanos;
+
+    private PluginMonitor() {
+        this.stats = new ConcurrentHashMap<>();
+        this.executors = new ConcurrentHashMap<>();
+        this.threadBean = ManagementFactory.getThreadMXBean();
+        this.edtBudgetNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EDT_BUDGET_MS);
+        if (threadBean.isThreadCpuTimeSupported() && !threadBean.isThreadCpuTimeEnabled()) {
+            threadBean.setThreadCpuTimeEnabled(true);
+        }
+    }
+
+    public static synchronized PluginMonitor getInstance() {
+        if (instance == null) {
+            instance = new PluginMonitor();
+        }
+        return instance;
+    }
+
+    // Pool acotado para el trabajo que no es de interfaz; rechaza tareas si el plugin lo satura
+    public ExecutorService getExecutor(String gameName) {
+        return executors.computeIfAbsent(gameName, name -> {
+            ThreadFactory factory = new ThreadFactory() {
+                private int count = 0;
+
+                @Override
+                public synchronized Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "plugin-" + name + "-" + (++count));
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            };
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                WORKER_THREADS, WORKER_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(WORKER_QUEUE_SIZE), factory,
+                new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        });
+    }
+
+    public Future<?> submit(String gameName, Runnable task) {
+        PluginStats pluginStats = statsFor(gameName);
+        long queuedAt = System.nanoTime();
+
+        return getExecutor(gameName).submit(() -> {
+            long startCpu = currentThreadCpu();
+            try {
+                task.run();
+            } finally {
+                pluginStats.backgroundTasks.incrementAndGet();
+                pluginStats.backgroundCpuNanos.addAndGet(currentThreadCpu() - startCpu);
+                pluginStats.backgroundLatencyNanos.addAndGet(System.nanoTime() - queuedAt);
+            }
+        });
+    }
+
+    // Ejecuta una llamada al plugin midiendo el tiempo de EDT que consume
+    public void runCallback(String gameName, String callbackName, Runnable callback) {
+        PluginStats pluginStats = statsFor(gameName);
+        long startWall = System.nanoTime();
+        long startCpu = currentThreadCpu();
+        try {
+            callback.run();
+        } finally {
+            long elapsed = System.nanoTime() - startWall;
+            pluginStats.recordCallback(elapsed, currentThreadCpu() - startCpu);
+
+            if (elapsed > edtBudgetNanos) {
+                int violations = pluginStats.violations.incrementAndGet();
+                LOG.warn("Plugin {} excedió el presupuesto de EDT en {}: {} ms",
+                    gameName, callbackName, TimeUnit.NANOSECONDS.toMillis(elapsed));
+                if (violations >= MAX_VIOLATIONS && !pluginStats.suspended) {
+                    pluginStats.suspended = true;
+                    LOG.warn("Plugin suspendido: {}", gameName);
+                }
+            }
+        }
+    }
+
+    public boolean isSuspended(String gameName) {
+        PluginStats pluginStats = stats.get(gameName);
+        return pluginStats != null && pluginStats.suspended;
+    }
+
+    public void resume(String gameName) {
+        PluginStats pluginStats = stats.get(gameName);
+        if (pluginStats != null) {
+            pluginStats.suspended = false;
+            pluginStats.violations.set(0);
+        }
+    }
+
+    public long getEdtBudgetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(edtBudgetNanos);
+    }
+
+    public void setEdtBudgetMillis(long millis) {
+        this.edtBudgetNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public List<PluginStats> getStats() {
+        List<PluginStats> result = new ArrayList<>(stats.values());
+        result.sort(Comparator.comparing(PluginStats::getGameName));
+        return result;
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor executor : executors.values()) {
+            executor.shutdownNow();
+        }
+        executors.clear();
+    }
+
+    private PluginStats statsFor(String gameName) {
+        return stats.computeIfAbsent(gameName, PluginStats::new);
+    }
+
+    private long currentThreadCpu() {
+        return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : 0;
+    }
+
+    public static class PluginStats {
+        private final String gameName;
+        private final AtomicLong callbacks = new AtomicLong();
+        private final AtomicLong edtNanos = new AtomicLong();
+        private final AtomicLong edtCpuNanos = new AtomicLong();
+        private final AtomicLong maxEdtNanos = new AtomicLong();
+        private final AtomicLong backgroundTasks = new AtomicLong();
+        private final AtomicLong backgroundCpuNanos = new AtomicLong();
+        private final AtomicLong backgroundLatencyNanos = new AtomicLong();
+        private final AtomicInteger violations = new AtomicInteger();
+        private volatile boolean suspended;
+
+        PluginStats(String gameName) {
+            this.gameName = gameName;
+        }
+
+        void recordCallback(long wallNanos, long cpuNanos) {
+            callbacks.incrementAndGet();
+            edtNanos.addAndGet(wallNanos);
+            edtCpuNanos.addAndGet(cpuNanos);
+            maxEdtNanos.accumulateAndGet(wallNanos, Math::max);
+        }
+
+        public String getGameName() { return gameName; }
+        public long getCallbacks() { return callbacks.get(); }
+        public double getTotalEdtMillis() { return edtNanos.get() / 1_000_000.0; }
+        public double getMaxEdtMillis() { return maxEdtNanos.get() / 1_000_000.0; }
+        public long getBackgroundTasks() { return backgroundTasks.get(); }
+        public int getViolations() { return violations.get(); }
+        public boolean isSuspended() { return suspended; }
+
+        public double getAvgEdtMillis() {
+            long count = callbacks.get();
+            return count == 0 ? 0 : edtNanos.get() / 1_000_000.0 / count;
+        }
+
+        public double getCpuMillis() {
+            return (edtCpuNanos.get() + backgroundCpuNanos.get()) / 1_000_000.0;
+        }
+
+        public double getAvgBackgroundLatencyMillis() {
+            long count = backgroundTasks.get();
+            return count == 0 ? 0 : backgroundLatencyNanos.get() / 1_000_000.0 / count;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package model.core;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.jar.*;
+
+//Vigila el directorio de plugins y entrega cada JAR solo cuando terminó de copiarse
+public class PluginWatcher {
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("plugins");
+    private static final long CHECK_INTERVAL_MS = 250;
+    private static final int STABLE_CHECKS_REQUIRED = 2;
+    private static final long MAX_WAIT_MS = 120_000;
+
+    private final Path directory;
+    private final Consumer<File> onJarReady;
+    private final Map<Path, PendingJar> pending;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService verifier;
+    private WatchService watchService;
+    private Thread watchThread;
+
+    public PluginWatcher(Path directory, Consumer<File> onJarReady) {
+        this.directory = directory;
+        this.onJarReady = onJarReady;
+        this.pending = new ConcurrentHashMap<>();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonFactory("plugin-watch-timer"));
+        int workers = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        this.verifier = Executors.newFixedThreadPool(workers, daemonFactory("plugin-verify"));
+    }
+
+    public synchronized void start() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+
+        if (!Files.exists(directory)) {
+            Files.createDirectories(directory);
+        }
+
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watchThread = new Thread(this::watchLoop, "plugin-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    public synchronized void stop() {
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            LOG.warn("Error cerrando watcher: {}", e.getMessage());
+        }
+        scheduler.shutdownNow();
+        verifier.shutdownNow();
+        pending.clear();
+    }
+
+    // El hilo del watcher solo registra el archivo; nunca duerme ni carga
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        continue;
+                    }
+
+                    Path fileName = (Path) event.context();
+                    if (fileName.toString().toLowerCase().endsWith(".jar")) {
+                        track(directory.resolve(fileName));
+                    }
+                }
+
+                if (!key.reset()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void track(Path jarPath) {
+        pending.computeIfAbsent(jarPath, path -> {
+            PendingJar jar = new PendingJar(path);
+            jar.future = scheduler.scheduleWithFixedDelay(
+                () -> checkStability(jar), CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            return jar;
+        });
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void checkStability(PendingJar jar) {
+        if (jar.verifying) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - jar.firstSeen > MAX_WAIT_MS) {
+            LOG.warn("El JAR no se estabilizó a tiempo: {}", jar.path.getFileName());
+            finish(jar);
+            return;
+        }
+
+        long size;
+        long modified;
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(jar.path, BasicFileAttributes.class);
+            size = attrs.size();
+            modified = attrs.lastModifiedTime().toMillis();
+        } catch (NoSuchFileException e) {
+            finish(jar);
+            return;
+        } catch (IOException e) {
+            jar.stableChecks = 0;
+            return;
+        }
+
+        if (size > 0 && size == jar.lastSize && modified == jar.lastModified) {
+            jar.stableChecks++;
+        } else {
+            jar.stableChecks = 0;
+            jar.lastSize = size;
+            jar.lastModified = modified;
+        }
+
+        if (jar.stableChecks >= STABLE_CHECKS_REQUIRED) {
+            jar.verifying = true;
+            verifier.execute(() -> verifyAndDeliver(jar));
+        }
+    }
+
+    private void verifyAndDeliver(PendingJar jar) {
+        File file = jar.path.toFile();
+        try {
+            verifyJar(file);
+        } catch (IOException | SecurityException e) {
+            // Puede seguir escribiéndose aunque el tamaño no cambió; se vuelve a esperar
+            jar.stableChecks = 0;
+            jar.verifying = false;
+            return;
+        }
+
+        finish(jar);
+        try {
+            onJarReady.accept(file);
+        } catch (Exception e) {
+            // Los errores de carga ya los registra quien recibe el JAR; aquí solo llega lo que se le escapó
+            LOG.error("Error entregando el JAR {}", file.getName(), e);
+        }
+    }
+
+    private void finish(PendingJar jar) {
+        pending.remove(jar.path, jar);
+        if (jar.future != null) {
+            jar.future.cancel(false);
+        }
+    }
+
+    // Valida el directorio central y el CRC de cada entrada antes de cargar clases
+    public static void verifyJar(File file) throws IOException {
+        try (JarFile jarFile = new JarFile(file, true)) {
+            if (jarFile.size() == 0) {
+                throw new IOException("JAR vacío: " + file.getName());
+            }
+        }
+
+        byte[] buffer = new byte[8192];
+        try (JarInputStream in = new JarInputStream(new BufferedInputStream(new FileInputStream(file)), true)) {
+            JarEntry entry;
+            while ((entry = in.getNextJarEntry()) != null) {
+                while (in.read(buffer) != -1) {
+                    // leer la entrada completa fuerza la verificación de CRC y firma
+                }
+                in.closeEntry();
+            }
+        }
+    }
+
+    private static ThreadFactory daemonFactory(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class PendingJar {
+        final Path path;
+        final long firstSeen;
+        volatile long lastSize = -1;
+        volatile long lastModified = -1;
+        volatile int stableChecks;
+        volatile boolean verifying;
+        ScheduledFuture<?> future;
+
+        PendingJar(Path path) {
+            this.path = path;
+            this.firstSeen = System.currentTimeMillis();
+        }
+    }
+}
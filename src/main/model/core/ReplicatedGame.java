@@ -0,0 +1,16 @@
+package model.core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+//Partida sin interfaz cuyo estado completo se escribe y se lee en binario compacto. La usa la
+//sincronización por red (model.net): el servidor manda el estado y el cliente corrige su predicción.
+//El generador de azar no forma parte del estado: dos partidas con la misma semilla y los mismos
+//comandos dan el mismo resultado
+public interface ReplicatedGame extends ScriptableGame {
+
+    void writeState(DataOutput out) throws IOException;
+
+    void readState(DataInput in) throws IOException;
+}
@@ -0,0 +1,29 @@
+package model.core;
+
+import java.util.List;
+
+//Partida manejada por código y sin Swing, para pruebas de carga y CI en modo sin interfaz.
+//tick() avanza un paso de la lógica; applyInput() recibe una de las entradas disponibles en ese momento.
+//Los eventos (puntaje, fin de partida) llegan al GameListener con el que se creó la partida
+public interface ScriptableGame {
+
+    String getGameName();
+
+    List<String> getAvailableInputs();
+
+    void applyInput(String input);
+
+    void tick();
+
+    boolean isFinished();
+
+    int getScore();
+
+    //Crea partidas independientes de un juego; un plugin que la implemente también corre sin interfaz
+    interface Provider {
+
+        String getGameName();
+
+        ScriptableGame newSimulation(long seed, GameListener listener);
+    }
+}
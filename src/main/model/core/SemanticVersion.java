@@ -0,0 +1,116 @@
+package model.core;
+
+import java.util.Objects;
+
+//Versión semántica (major.minor.patch[-pre]) usada para resolver conflictos entre plugins
+public final class SemanticVersion implements Comparable<SemanticVersion> {
+    public static final SemanticVersion ZERO = new SemanticVersion(0, 0, 0, null);
+
+    private final int major;
+    private final int minor;
+    private final int patch;
+    private final String preRelease;
+
+    public SemanticVersion(int major, int minor, int patch, String preRelease) {
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.preRelease = (preRelease == null || preRelease.isEmpty()) ? null : preRelease;
+    }
+
+    // Tolera versiones incompletas como "1" o "1.2" y prefijos "v"
+    public static SemanticVersion parse(String text) {
+        return parse(text, false);
+    }
+
+    // Para plugins antiguos sin manifiesto, cuya versión es texto libre: de cada parte se toman los dígitos
+    // iniciales ("1.0b" -> 1.0.0, "2.1 beta" -> 2.1.0) y una parte sin dígitos cuenta como 0. Nunca falla
+    public static SemanticVersion parseLenient(String text) {
+        return parse(text, true);
+    }
+
+    private static SemanticVersion parse(String text, boolean lenient) {
+        if (text == null || text.trim().isEmpty()) {
+            return ZERO;
+        }
+
+        String value = text.trim();
+        if (value.startsWith("v") || value.startsWith("V")) {
+            value = value.substring(1);
+        }
+
+        int plus = value.indexOf('+');
+        if (plus >= 0) {
+            value = value.substring(0, plus);
+        }
+
+        String preRelease = null;
+        int dash = value.indexOf('-');
+        if (dash >= 0) {
+            preRelease = value.substring(dash + 1);
+            value = value.substring(0, dash);
+        }
+
+        String[] parts = value.split("\\.");
+        int[] numbers = new int[3];
+        for (int i = 0; i < Math.min(parts.length, 3); i++) {
+            String part = lenient ? leadingDigits(parts[i].trim()) : parts[i].trim();
+            try {
+                numbers[i] = part.isEmpty() && lenient ? 0 : Integer.parseInt(part);
+            } catch (NumberFormatException e) {
+                if (lenient) {
+                    return ZERO;
+                }
+                throw new IllegalArgumentException("Versión inválida: " + text);
+            }
+        }
+
+        return new SemanticVersion(numbers[0], numbers[1], numbers[2], preRelease);
+    }
+
+    private static String leadingDigits(String part) {
+        int end = 0;
+        while (end < part.length() && Character.isDigit(part.charAt(end))) {
+            end++;
+        }
+        return part.substring(0, end);
+    }
+
+    public int getMajor() { return major; }
+    public int getMinor() { return minor; }
+    public int getPatch() { return patch; }
+
+    @Override
+    public int compareTo(SemanticVersion other) {
+        int result = Integer.compare(major, other.major);
+        if (result == 0) result = Integer.compare(minor, other.minor);
+        if (result == 0) result = Integer.compare(patch, other.patch);
+        if (result != 0) return result;
+
+        // Una versión final es mayor que cualquier pre-release del mismo número
+        if (preRelease == null) return other.preRelease == null ? 0 : 1;
+        if (other.preRelease == null) return -1;
+        return preRelease.compareTo(other.preRelease);
+    }
+
+    public boolean isNewerThan(SemanticVersion other) {
+        return compareTo(other) > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SemanticVersion)) return false;
+        return compareTo((SemanticVersion) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(major, minor, patch, preRelease);
+    }
+
+    @Override
+    public String toString() {
+        return major + "." + minor + "." + patch + (preRelease != null ? "-" + preRelease : "");
+    }
+}
@@ -0,0 +1,22 @@
+package model.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+//Extensión opcional de GamePlugin: el juego guarda su partida en un formato binario compacto y
+//puede retomarla sin reiniciar. MainController la usa al cambiar de juego
+public interface SnapshotCapable {
+
+    // Versión del formato propio del juego; viaja con la instantánea y se pasa al leerla
+    int getSnapshotVersion();
+
+    // Se llama con la partida pausada
+    void writeSnapshot(DataOutputStream out) throws IOException;
+
+    // Deja el estado como estaba al guardarlo, todavía en pausa
+    void readSnapshot(DataInputStream in, int version) throws IOException;
+
+    // Continúa la partida restaurada en el punto exacto en que quedó
+    void resumeGame();
+}
@@ -0,0 +1,242 @@
+package model.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//Instantáneas de partidas en memoria, una por juego. Si pasan del presupuesto de memoria las más
+//antiguas se escriben en data/snapshots/<pid> y se leen de ahí al restaurar. Solo valen dentro del
+//proceso que las escribió: al arrancar se borran las de procesos que ya terminaron.
+//Presupuesto: -Dsnapshots.memory=bytes (8 MB por defecto); -Dsnapshots.spill=false las descarta en vez de escribirlas
+public class SnapshotStore {
+    private static SnapshotStore instance;
+
+    private static final int MAGIC = 0x534E5031; // "SNP1"
+    private static final long DEFAULT_MEMORY_BYTES = 8L * 1024 * 1024;
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("snapshots");
+
+    private final Path spillDir;
+    private final long memoryBudget;
+    private final boolean spillEnabled;
+    // En orden de guardado: la primera es la más antigua y la primera en ir a disco
+    private final LinkedHashMap<String, Snapshot> inMemory = new LinkedHashMap<>();
+    private long memoryBytes;
+
+    private SnapshotStore() {
+        Path root = Paths.get(System.getProperty("snapshots.dir", "data/snapshots"));
+        this.spillDir = root.resolve(String.valueOf(ProcessHandle.current().pid()));
+        this.memoryBudget = Long.getLong("snapshots.memory", DEFAULT_MEMORY_BYTES);
+        this.spillEnabled = Boolean.parseBoolean(System.getProperty("snapshots.spill", "true"));
+        removeStaleSpills(root);
+    }
+
+    // Una partida de una corrida anterior no se retoma: al elegir el juego debe empezar una nueva.
+    // Se respetan las carpetas de otros procesos vivos; la propia, si existe, es de un pid reutilizado
+    private void removeStaleSpills(Path root) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        int removed = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root)) {
+            for (Path entry : entries) {
+                if (Files.isDirectory(entry)) {
+                    if (entry.equals(spillDir) || !isLiveProcess(entry.getFileName().toString())) {
+                        removed += deleteDirectory(entry);
+                    }
+                } else if (entry.getFileName().toString().contains(".snap")) {
+                    Files.deleteIfExists(entry);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("No se pudieron limpiar las instantáneas viejas: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            LOG.info("Instantáneas de corridas anteriores descartadas: {}", removed);
+        }
+    }
+
+    private static boolean isLiveProcess(String name) {
+        try {
+            return ProcessHandle.of(Long.parseLong(name)).map(ProcessHandle::isAlive).orElse(false);
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static int deleteDirectory(Path dir) throws IOException {
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+                removed++;
+            }
+        }
+        Files.deleteIfExists(dir);
+        return removed;
+    }
+
+    public static synchronized SnapshotStore getInstance() {
+        if (instance == null) {
+            instance = new SnapshotStore();
+        }
+        return instance;
+    }
+
+    // Guarda la partida del juego; devuelve el tamaño en bytes
+    public int save(String gameName, SnapshotCapable game) throws IOException {
+        long start = System.nanoTime();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            game.writeSnapshot(out);
+        }
+        Snapshot snapshot = new Snapshot(game.getSnapshotVersion(), buffer.toByteArray());
+
+        synchronized (this) {
+            discard(gameName);
+            inMemory.put(gameName, snapshot);
+            memoryBytes += snapshot.data.length;
+            enforceBudget();
+        }
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.histogram("snapshot_save_seconds", gameName).recordSince(start);
+        metrics.gauge("snapshot_bytes", gameName, () -> getStoredBytes(gameName));
+        LOG.debug("Instantánea de {}: {} bytes", gameName, snapshot.data.length);
+        return snapshot.data.length;
+    }
+
+    // Restaura y consume la instantánea; false si no había ninguna
+    public boolean restore(String gameName, SnapshotCapable game) throws IOException {
+        long start = System.nanoTime();
+        Snapshot snapshot = take(gameName);
+        if (snapshot == null) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot.data))) {
+            game.readSnapshot(in, snapshot.version);
+        }
+        MetricsRegistry.getInstance().histogram("snapshot_restore_seconds", gameName).recordSince(start);
+        return true;
+    }
+
+    public synchronized boolean has(String gameName) {
+        return inMemory.containsKey(gameName) || Files.exists(spillFile(gameName));
+    }
+
+    public synchronized void discard(String gameName) {
+        Snapshot previous = inMemory.remove(gameName);
+        if (previous != null) {
+            memoryBytes -= previous.data.length;
+        }
+        try {
+            Files.deleteIfExists(spillFile(gameName));
+        } catch (IOException e) {
+            LOG.warn("No se pudo borrar la instantánea de {}: {}", gameName, e.getMessage());
+        }
+    }
+
+    // Tamaño de la instantánea guardada (en memoria o en disco); 0 si no hay
+    public synchronized long getStoredBytes(String gameName) {
+        Snapshot snapshot = inMemory.get(gameName);
+        if (snapshot != null) {
+            return snapshot.data.length;
+        }
+        try {
+            Path file = spillFile(gameName);
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    private synchronized Snapshot take(String gameName) throws IOException {
+        Snapshot snapshot = inMemory.remove(gameName);
+        if (snapshot != null) {
+            memoryBytes -= snapshot.data.length;
+            return snapshot;
+        }
+        Path file = spillFile(gameName);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(file))) {
+            snapshot = readFrom(new DataInputStream(stream));
+        }
+        Files.deleteIfExists(file);
+        return snapshot;
+    }
+
+    private void enforceBudget() {
+        Iterator<Map.Entry<String, Snapshot>> oldest = inMemory.entrySet().iterator();
+        while (memoryBytes > memoryBudget && oldest.hasNext()) {
+            Map.Entry<String, Snapshot> entry = oldest.next();
+            oldest.remove();
+            memoryBytes -= entry.getValue().data.length;
+            if (spillEnabled) {
+                spill(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    // Escritura atómica para no dejar una instantánea a medias si el proceso muere
+    private void spill(String gameName, Snapshot snapshot) {
+        try {
+            Files.createDirectories(spillDir);
+            Path file = spillFile(gameName);
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temp));
+                 DataOutputStream out = new DataOutputStream(stream)) {
+                out.writeInt(MAGIC);
+                out.writeInt(snapshot.version);
+                out.writeInt(snapshot.data.length);
+                out.write(snapshot.data);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("No se pudo escribir la instantánea de {}: {}", gameName, e.getMessage());
+        }
+    }
+
+    private static Snapshot readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Instantánea con formato desconocido");
+        }
+        int version = in.readInt();
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        return new Snapshot(version, data);
+    }
+
+    private Path spillFile(String gameName) {
+        return spillDir.resolve(gameName.replaceAll("[^A-Za-z0-9_-]", "_") + ".snap");
+    }
+
+    private static class Snapshot {
+        final int version;
+        final byte[] data;
+
+        Snapshot(int version, byte[] data) {
+            this.version = version;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package model.core;
+
+//Juego con bucle propio que puede cedérselo al FrameScheduler: en pantalla dividida todos los juegos
+//avanzan desde un único Timer de Swing en lugar de uno cada uno compitiendo por el EDT
+public interface Tickable {
+
+    String getGameName();
+
+    // Cada cuánto quiere avanzar el juego
+    long getFrameIntervalMillis();
+
+    // true: el juego apaga su Timer y solo avanza con frame(); false: vuelve a su bucle propio
+    void setExternalLoop(boolean external);
+
+    // Un cuadro en el EDT: avanzar la lógica y pedir el repintado. No hace nada si el juego no está corriendo
+    void frame();
+}
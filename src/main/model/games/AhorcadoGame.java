@@ -5,30 +5,34 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.HashSet;
-import java.util.Set;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Random;
 
-public class AhorcadoGame extends AbstractGame {
+public class AhorcadoGame extends AbstractGame implements SnapshotCapable {
     private static AhorcadoGame instance;
 
     private JPanel mainPanel;
     private StartPanel startPanel;
     private GamePanel gamePanel;
 
-    private String[] palabras = {
-        "pluma", "programacion", "java", "computadora", "algoritmo", 
-        "desarrollo", "software", "hardware", "aplicacion",
-        "tecnologia", "informatica", "sistema", "proyecto"
-    };
-    
+    private final WordDictionary diccionario;
+    private final HangmanSolver solver;
+    private final Random random = new Random();
+    // null = cualquier dificultad
+    private WordDictionary.Difficulty dificultad;
+
     private String palabraSecreta;
-    private StringBuilder palabraMostrada;
+    // Letras como bits (bit 0 = 'a'): las de la palabra y las ya probadas
+    private int mascaraPalabra;
     private int intentos;
     private int intentosIniciales = 6;
-    private Set<Character> letrasUsadas;
+    private int letrasUsadas;
     private int score;
 
+    private static final long GAME_OVER_DELAY_MS = 2500;
+
     private static final Color COLOR_PRIMARIO = new Color(41, 128, 185);
     private static final Color COLOR_SECUNDARIO = new Color(52, 73, 94);
     private static final Color COLOR_EXITO = new Color(46, 204, 113);
@@ -38,7 +42,8 @@ public class AhorcadoGame extends AbstractGame {
     private static final Color COLOR_BOTON_HOVER = new Color(41, 128, 185);
 
     private AhorcadoGame() {
-        this.letrasUsadas = new HashSet<>();
+        this.diccionario = WordDictionary.getDefault();
+        this.solver = new HangmanSolver(diccionario);
         initializeGame();
     }
 
@@ -52,13 +57,9 @@ public class AhorcadoGame extends AbstractGame {
     private void initializeGame() {
         this.mainPanel = new JPanel(new CardLayout());
         
-        palabraSecreta = "pluma";
-        palabraMostrada = new StringBuilder();
-        for (int i = 0; i < palabraSecreta.length(); i++) {
-            palabraMostrada.append("_ ");
-        }
+        elegirPalabra();
         intentos = intentosIniciales;
-        letrasUsadas.clear();
+        letrasUsadas = 0;
         score = 0;
         
         this.startPanel = new StartPanel();
@@ -95,6 +96,7 @@ public class AhorcadoGame extends AbstractGame {
 
     @Override
     public void startGame() {
+        cancelScheduledTasks();
         if (!isGameRunning()) {
             resetGame();
             showGameScreen();
@@ -106,12 +108,67 @@ public class AhorcadoGame extends AbstractGame {
     @Override
     public void pauseGame() {
         if (isGameRunning()) {
+            isRunning = false;
             notifyGameStateChanged(GameEvent.EventType.GAME_PAUSED);
         }
     }
 
+    @Override
+    public int getSnapshotVersion() {
+        return 1;
+    }
+
+    // La máscara de la palabra y los candidatos del solver se reconstruyen al leer
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        out.writeByte(dificultad == null ? -1 : dificultad.ordinal());
+        out.writeUTF(palabraSecreta);
+        out.writeByte(intentos);
+        out.writeInt(letrasUsadas);
+        out.writeInt(score);
+    }
+
+    @Override
+    public void readSnapshot(DataInputStream in, int version) throws IOException {
+        if (version != getSnapshotVersion()) {
+            throw new IOException("Versión de instantánea no soportada: " + version);
+        }
+        cancelScheduledTasks();
+        int nivel = in.readByte();
+        dificultad = nivel < 0 ? null : WordDictionary.Difficulty.values()[nivel];
+        palabraSecreta = in.readUTF();
+        intentos = in.readByte();
+        letrasUsadas = in.readInt();
+        score = in.readInt();
+        isRunning = false;
+
+        mascaraPalabra = 0;
+        for (int i = 0; i < palabraSecreta.length(); i++) {
+            mascaraPalabra |= WordDictionary.maskOf(palabraSecreta.charAt(i));
+        }
+        solver.reset(palabraSecreta.length());
+        for (int restantes = letrasUsadas; restantes != 0; restantes &= restantes - 1) {
+            char letra = (char) ('a' + Integer.numberOfTrailingZeros(restantes));
+            solver.applyGuess(letra, posicionesDe(letra));
+        }
+
+        if (gamePanel != null) {
+            gamePanel.mostrarEstado();
+        }
+    }
+
+    @Override
+    public void resumeGame() {
+        if (!isGameRunning()) {
+            showGameScreen();
+            isRunning = true;
+            notifyGameStateChanged(GameEvent.EventType.GAME_RESUMED);
+        }
+    }
+
     @Override
     public void restartGame() {
+        cancelScheduledTasks();
         resetGame();
         if (!isGameRunning()) {
             startGame();
@@ -120,6 +177,7 @@ public class AhorcadoGame extends AbstractGame {
 
     @Override
     public void stopGame() {
+        cancelScheduledTasks();
         isRunning = false;
         showStartScreen();
         notifyGameStateChanged(GameEvent.EventType.GAME_FINISHED);
@@ -143,14 +201,32 @@ public class AhorcadoGame extends AbstractGame {
         cl.show(mainPanel, "GAME");
     }
 
-    private void resetGame() {
-        palabraSecreta = "pluma";
-        palabraMostrada = new StringBuilder();
-        for (int i = 0; i < palabraSecreta.length(); i++) {
-            palabraMostrada.append("_ ");
+    // Palabra al azar del diccionario para la dificultad elegida; su máscara viene precalculada
+    private void elegirPalabra() {
+        WordDictionary.Selection seleccion = diccionario.select(
+            dificultad, WordDictionary.MIN_LENGTH, WordDictionary.MAX_LENGTH);
+        if (seleccion.isEmpty()) {
+            seleccion = diccionario.all();
         }
+        int id = seleccion.sample(random);
+        palabraSecreta = diccionario.word(id);
+        mascaraPalabra = diccionario.letterMask(id);
+        solver.reset(palabraSecreta.length());
+    }
+
+    // Letra sugerida por el motor de pistas a partir de las letras ya jugadas
+    public char getPista() {
+        return solver.suggestLetter();
+    }
+
+    public void setDificultad(WordDictionary.Difficulty dificultad) {
+        this.dificultad = dificultad;
+    }
+
+    private void resetGame() {
+        elegirPalabra();
         intentos = intentosIniciales;
-        letrasUsadas.clear();
+        letrasUsadas = 0;
         score = 0;
         
         if (gamePanel != null) {
@@ -159,23 +235,21 @@ public class AhorcadoGame extends AbstractGame {
         }
     }
 
+    // Acierto, fallo y victoria son operaciones de bits; el texto solo se genera para la vista
     private void procesarLetra(char letra) {
-        if (letrasUsadas.contains(letra)) {
+        int bit = WordDictionary.maskOf(letra);
+        if (bit == 0 || (letrasUsadas & bit) != 0) {
             return;
         }
 
-        letrasUsadas.add(letra);
-        boolean letraCorrecta = false;
-
-        for (int i = 0; i < palabraSecreta.length(); i++) {
-            if (palabraSecreta.charAt(i) == letra) {
-                palabraMostrada.setCharAt(i * 2, letra);
-                letraCorrecta = true;
-            }
-        }
+        letrasUsadas |= bit;
+        boolean letraCorrecta = (mascaraPalabra & bit) != 0;
+        solver.applyGuess(letra, letraCorrecta ? posicionesDe(letra) : 0);
 
         if (gamePanel != null) {
-            gamePanel.actualizarPalabra(palabraMostrada.toString());
+            if (letraCorrecta) {
+                gamePanel.actualizarPalabra(renderPalabra());
+            }
             gamePanel.actualizarLetrasUsadas(letrasUsadas);
         }
 
@@ -188,11 +262,27 @@ public class AhorcadoGame extends AbstractGame {
             if (intentos == 0) {
                 finDelJuego(false);
             }
-        } else {
-            if (!palabraMostrada.toString().contains("_")) {
-                finDelJuego(true);
-            }
+        } else if ((letrasUsadas & mascaraPalabra) == mascaraPalabra) {
+            finDelJuego(true);
+        }
+    }
+
+    private int posicionesDe(char letra) {
+        int posiciones = 0;
+        for (int i = 0; i < palabraSecreta.length(); i++) {
+            if (palabraSecreta.charAt(i) == letra) posiciones |= 1 << i;
         }
+        return posiciones;
+    }
+
+    // "_ " por cada letra aún no descubierta
+    private String renderPalabra() {
+        StringBuilder texto = new StringBuilder(palabraSecreta.length() * 2);
+        for (int i = 0; i < palabraSecreta.length(); i++) {
+            char letra = palabraSecreta.charAt(i);
+            texto.append((letrasUsadas & WordDictionary.maskOf(letra)) != 0 ? letra : '_').append(' ');
+        }
+        return texto.toString();
     }
 
     private void finDelJuego(boolean ganado) {
@@ -201,7 +291,7 @@ public class AhorcadoGame extends AbstractGame {
         if (ganado) {
             score = (intentos * 50) + (palabraSecreta.length() * 20);
         } else {
-            score = letrasUsadas.size() * 10;
+            score = Integer.bitCount(letrasUsadas) * 10;
         }
 
         if (gamePanel != null) {
@@ -210,21 +300,10 @@ public class AhorcadoGame extends AbstractGame {
 
         notifyGameFinished(score);
         
-        new Thread(() -> {
-            try {
-                Thread.sleep(2500);
-                SwingUtilities.invokeLater(() -> {
-                    resetGame();
-                    showStartScreen();
-                });
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                SwingUtilities.invokeLater(() -> {
-                    resetGame();
-                    showStartScreen();
-                });
-            }
-        }).start();
+        schedule(GAME_OVER_DELAY_MS, () -> {
+            resetGame();
+            showStartScreen();
+        });
     }
 
     private class StartPanel extends JPanel {
@@ -256,7 +335,21 @@ public class AhorcadoGame extends AbstractGame {
             instructions.setAlignmentX(CENTER_ALIGNMENT);
             centerPanel.add(instructions);
 
-            centerPanel.add(Box.createVerticalStrut(40));
+            centerPanel.add(Box.createVerticalStrut(20));
+
+            String[] niveles = {"Cualquiera", "Fácil", "Media", "Difícil"};
+            JComboBox<String> nivelCombo = new JComboBox<>(niveles);
+            JPanel nivelPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 0));
+            nivelPanel.setOpaque(false);
+            JLabel nivelLabel = new JLabel("Dificultad:");
+            nivelLabel.setForeground(Color.WHITE);
+            nivelPanel.add(nivelLabel);
+            nivelPanel.add(nivelCombo);
+            nivelPanel.setAlignmentX(CENTER_ALIGNMENT);
+            nivelPanel.setMaximumSize(new Dimension(400, 40));
+            centerPanel.add(nivelPanel);
+
+            centerPanel.add(Box.createVerticalStrut(20));
 
             JButton startButton = new JButton("▶ COMENZAR JUEGO");
             startButton.setFont(new Font("Arial", Font.BOLD, 18));
@@ -266,6 +359,8 @@ public class AhorcadoGame extends AbstractGame {
             startButton.setForeground(Color.WHITE);
             startButton.setFocusPainted(false);
             startButton.addActionListener(e -> {
+                int nivel = nivelCombo.getSelectedIndex();
+                setDificultad(nivel == 0 ? null : WordDictionary.Difficulty.values()[nivel - 1]);
                 AhorcadoGame.this.startGame();
             });
             centerPanel.add(startButton);
@@ -278,6 +373,7 @@ public class AhorcadoGame extends AbstractGame {
         private JLabel lblPalabra;
         private JLabel lblIntentos;
         private JLabel lblLetrasUsadas;
+        private JLabel lblPista;
         private JPanel panelAhorcado;
         private JPanel panelTeclado;
         private JButton[] botonesLetras;
@@ -324,14 +420,29 @@ public class AhorcadoGame extends AbstractGame {
             lblLetrasUsadas.setFont(new Font("Segoe UI", Font.PLAIN, 13));
             lblLetrasUsadas.setForeground(COLOR_SECUNDARIO);
 
+            JButton botonPista = new JButton("💡 Pista");
+            botonPista.setFont(new Font("Segoe UI", Font.BOLD, 12));
+            botonPista.setFocusPainted(false);
+            botonPista.addActionListener(e -> {
+                if (isRunning) {
+                    mostrarPista();
+                }
+            });
+
+            lblPista = new JLabel(" ");
+            lblPista.setFont(new Font("Segoe UI", Font.ITALIC, 13));
+            lblPista.setForeground(COLOR_PRIMARIO);
+
             leftStats.add(lblIntentos);
+            leftStats.add(botonPista);
+            leftStats.add(lblPista);
             rightStats.add(lblLetrasUsadas);
             
             panelStats.add(leftStats, BorderLayout.WEST);
             panelStats.add(rightStats, BorderLayout.EAST);
 
-            String palabraInicial = (palabraMostrada != null && palabraMostrada.length() > 0) 
-                ? palabraMostrada.toString().trim() 
+            String palabraInicial = palabraSecreta != null
+                ? renderPalabra().trim()
                 : "_ _ _ _ _";
             lblPalabra = new JLabel(palabraInicial, SwingConstants.CENTER);
             lblPalabra.setFont(new Font("Courier New", Font.BOLD, 32));
@@ -456,9 +567,18 @@ public class AhorcadoGame extends AbstractGame {
             return boton;
         }
 
+        private void mostrarPista() {
+            char letra = getPista();
+            lblPista.setText(String.format("Prueba la %c (%.0f%% de %d palabras)",
+                Character.toUpperCase(letra), solver.probability(letra) * 100, solver.getCandidateCount()));
+        }
+
         public void reset() {
+            if (lblPista != null) {
+                lblPista.setText(" ");
+            }
             if (lblPalabra != null) {
-                actualizarPalabra(palabraMostrada.toString());
+                actualizarPalabra(renderPalabra());
                 actualizarIntentos(intentos);
                 actualizarDibujo(0);
                 actualizarLetrasUsadas(letrasUsadas);
@@ -475,6 +595,21 @@ public class AhorcadoGame extends AbstractGame {
             }
         }
 
+        // Pinta una partida restaurada: palabra, intentos, dibujo y letras ya usadas deshabilitadas
+        public void mostrarEstado() {
+            reset();
+            actualizarDibujo(intentosIniciales - intentos);
+            if (botonesLetras != null) {
+                for (int i = 0; i < botonesLetras.length; i++) {
+                    if ((letrasUsadas & (1 << i)) != 0) {
+                        botonesLetras[i].setEnabled(false);
+                        botonesLetras[i].setBackground(COLOR_SECUNDARIO);
+                        botonesLetras[i].setForeground(Color.WHITE);
+                    }
+                }
+            }
+        }
+
         public void actualizarPalabra(String palabra) {
             if (lblPalabra != null) {
                 lblPalabra.setText(palabra.trim());
@@ -490,13 +625,11 @@ public class AhorcadoGame extends AbstractGame {
             }
         }
 
-        public void actualizarLetrasUsadas(Set<Character> letras) {
+        public void actualizarLetrasUsadas(int letras) {
             if (lblLetrasUsadas != null) {
                 StringBuilder letrasStr = new StringBuilder("Letras usadas: ");
-                if (letras != null && !letras.isEmpty()) {
-                    for (char letra : letras) {
-                        letrasStr.append(letra).append(" ");
-                    }
+                for (int restantes = letras; restantes != 0; restantes &= restantes - 1) {
+                    letrasStr.append((char) ('a' + Integer.numberOfTrailingZeros(restantes))).append(" ");
                 }
                 String texto = letrasStr.toString().trim();
                 lblLetrasUsadas.setText(texto);
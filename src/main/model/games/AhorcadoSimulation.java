@@ -0,0 +1,121 @@
+package model.games;
+
+import model.core.GameEvent;
+import model.core.GameListener;
+import model.core.ScriptableGame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+//Ahorcado sin interfaz: las entradas son las letras aún no probadas. Usa las mismas máscaras
+//de letras que AhorcadoGame y no avanza con tick()
+public class AhorcadoSimulation implements ScriptableGame {
+    public static final String GAME_NAME = "Ahorcado";
+    public static final int INTENTOS_INICIALES = 6;
+
+    private final String palabraSecreta;
+    private final int mascaraPalabra;
+    private final GameListener listener;
+    private int intentos = INTENTOS_INICIALES;
+    private int letrasUsadas;
+    private int score;
+    private boolean terminado;
+
+    public AhorcadoSimulation(WordDictionary diccionario, WordDictionary.Difficulty dificultad,
+                              Random random, GameListener listener) {
+        WordDictionary.Selection seleccion = diccionario.select(
+            dificultad, WordDictionary.MIN_LENGTH, WordDictionary.MAX_LENGTH);
+        if (seleccion.isEmpty()) {
+            seleccion = diccionario.all();
+        }
+        int id = seleccion.sample(random);
+        this.palabraSecreta = diccionario.word(id);
+        this.mascaraPalabra = diccionario.letterMask(id);
+        this.listener = listener;
+    }
+
+    // null = cualquier dificultad
+    public static ScriptableGame.Provider provider(WordDictionary.Difficulty dificultad) {
+        return new ScriptableGame.Provider() {
+            @Override
+            public String getGameName() {
+                return GAME_NAME;
+            }
+
+            @Override
+            public ScriptableGame newSimulation(long seed, GameListener listener) {
+                return new AhorcadoSimulation(WordDictionary.getDefault(), dificultad, new Random(seed), listener);
+            }
+        };
+    }
+
+    @Override
+    public String getGameName() {
+        return GAME_NAME;
+    }
+
+    @Override
+    public List<String> getAvailableInputs() {
+        if (terminado) {
+            return Collections.emptyList();
+        }
+        List<String> inputs = new ArrayList<>(26 - Integer.bitCount(letrasUsadas));
+        for (char letra = 'a'; letra <= 'z'; letra++) {
+            if ((letrasUsadas & WordDictionary.maskOf(letra)) == 0) {
+                inputs.add(String.valueOf(letra));
+            }
+        }
+        return inputs;
+    }
+
+    @Override
+    public void applyInput(String input) {
+        if (terminado || input == null || input.length() != 1) {
+            return;
+        }
+        int bit = WordDictionary.maskOf(Character.toLowerCase(input.charAt(0)));
+        if (bit == 0 || (letrasUsadas & bit) != 0) {
+            return;
+        }
+
+        letrasUsadas |= bit;
+        if ((mascaraPalabra & bit) == 0) {
+            intentos--;
+            if (intentos == 0) {
+                finDelJuego(false);
+            }
+        } else if ((letrasUsadas & mascaraPalabra) == mascaraPalabra) {
+            finDelJuego(true);
+        }
+    }
+
+    private void finDelJuego(boolean ganado) {
+        terminado = true;
+        if (ganado) {
+            score = (intentos * 50) + (palabraSecreta.length() * 20);
+        } else {
+            score = Integer.bitCount(letrasUsadas) * 10;
+        }
+        listener.onGameFinished(new GameEvent(GAME_NAME, GameEvent.EventType.GAME_FINISHED, score));
+    }
+
+    @Override
+    public void tick() {
+    }
+
+    @Override
+    public boolean isFinished() {
+        return terminado;
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    public String getPalabraSecreta() {
+        return palabraSecreta;
+    }
+}
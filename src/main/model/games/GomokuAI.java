@@ -0,0 +1,269 @@
+package model.games;
+
+import java.util.Arrays;
+
+//Oponente para tableros grandes (N×N, K en línea): profundización iterativa con límite de tiempo,
+//negamax alfa-beta y orden de jugadas por amenazas (ganar, bloquear, líneas abiertas)
+public class GomokuAI {
+    private static final int WIN = 100_000_000;
+    private static final int MAX_DEPTH = 10;
+    private static final int MAX_CANDIDATES = 12;
+    private static final int NEIGHBOR_RADIUS = 2;
+    private static final int MAX_WEIGHT_EXPONENT = 7;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final long timeBudgetMillis;
+
+    private int size;
+    private int winLength;
+    private byte[] grid;
+    private int[] near;
+    private long deadline;
+    private boolean timeUp;
+    private long nodes;
+    private int completedDepth;
+
+    public GomokuAI(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    // Devuelve la celda a jugar por el jugador en turno, o -1 si la partida terminó
+    public int chooseMove(TicTacToeBoard board) {
+        if (board.isFinished()) {
+            return -1;
+        }
+
+        loadBoard(board);
+        byte me = board.getCurrentPlayer() == TicTacToeBoard.Player.X ? (byte) 1 : (byte) 2;
+
+        if (board.getTurns() == 0) {
+            return board.index(size / 2, size / 2);
+        }
+
+        nodes = 0;
+        completedDepth = 0;
+        timeUp = false;
+        deadline = System.currentTimeMillis() + timeBudgetMillis;
+
+        int[] candidates = orderedMoves(me);
+        int bestMove = candidates[0];
+
+        // Ganar ya o bloquear una victoria inmediata no necesita búsqueda
+        if (threatScore(candidates[0], me) >= WIN || threatScore(candidates[0], opponent(me)) >= WIN) {
+            return bestMove;
+        }
+
+        for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+            int alpha = -WIN * 2;
+            int iterationBest = -1;
+
+            for (int cell : candidates) {
+                grid[cell] = me;
+                addNear(cell, 1);
+                int score = winsAt(cell, me) ? WIN + depth : -negamax(opponent(me), depth - 1, -WIN * 2, -alpha);
+                addNear(cell, -1);
+                grid[cell] = 0;
+
+                if (timeUp) break;
+                if (score > alpha) {
+                    alpha = score;
+                    iterationBest = cell;
+                }
+            }
+
+            if (timeUp) break;
+
+            completedDepth = depth;
+            if (iterationBest >= 0) {
+                bestMove = iterationBest;
+                moveToFront(candidates, bestMove);
+            }
+            if (alpha >= WIN) break;
+        }
+
+        return bestMove;
+    }
+
+    private int negamax(byte player, int depth, int alpha, int beta) {
+        nodes++;
+        if ((nodes & 1023) == 0 && System.currentTimeMillis() > deadline) {
+            timeUp = true;
+        }
+        if (timeUp) {
+            return 0;
+        }
+        if (depth == 0) {
+            return evaluate(player);
+        }
+
+        int[] moves = orderedMoves(player);
+        if (moves.length == 0) {
+            return 0;
+        }
+
+        int best = -WIN * 2;
+        for (int cell : moves) {
+            grid[cell] = player;
+            addNear(cell, 1);
+            int score = winsAt(cell, player) ? WIN + depth : -negamax(opponent(player), depth - 1, -beta, -alpha);
+            addNear(cell, -1);
+            grid[cell] = 0;
+
+            if (timeUp) return 0;
+            if (score > best) best = score;
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) break;
+        }
+        return best;
+    }
+
+    // Celdas vacías cerca de alguna ficha, ordenadas por amenaza propia y del rival
+    private int[] orderedMoves(byte player) {
+        int[] cells = new int[grid.length];
+        long[] keys = new long[grid.length];
+        int count = 0;
+
+        for (int cell = 0; cell < grid.length; cell++) {
+            if (grid[cell] != 0 || near[cell] == 0) continue;
+            long attack = threatScore(cell, player);
+            long defense = threatScore(cell, opponent(player));
+            long score = attack >= WIN ? Long.MAX_VALUE / 2 : attack + defense * 9 / 10;
+            keys[count] = score;
+            cells[count] = cell;
+            count++;
+        }
+
+        // Selección parcial: solo interesan los mejores MAX_CANDIDATES
+        int limit = Math.min(count, MAX_CANDIDATES);
+        for (int i = 0; i < limit; i++) {
+            int bestIndex = i;
+            for (int j = i + 1; j < count; j++) {
+                if (keys[j] > keys[bestIndex]) bestIndex = j;
+            }
+            long tmpKey = keys[i];
+            keys[i] = keys[bestIndex];
+            keys[bestIndex] = tmpKey;
+            int tmpCell = cells[i];
+            cells[i] = cells[bestIndex];
+            cells[bestIndex] = tmpCell;
+        }
+        return Arrays.copyOf(cells, limit);
+    }
+
+    // Valor de colocar 'player' en 'cell' según las líneas que forma en las cuatro direcciones
+    private long threatScore(int cell, byte player) {
+        int row = cell / size;
+        int col = cell % size;
+        long score = 0;
+
+        for (int[] dir : DIRECTIONS) {
+            int run = 1;
+            int open = 0;
+
+            int r = row + dir[0];
+            int c = col + dir[1];
+            while (inside(r, c) && grid[r * size + c] == player) { run++; r += dir[0]; c += dir[1]; }
+            if (inside(r, c) && grid[r * size + c] == 0) open++;
+
+            r = row - dir[0];
+            c = col - dir[1];
+            while (inside(r, c) && grid[r * size + c] == player) { run++; r -= dir[0]; c -= dir[1]; }
+            if (inside(r, c) && grid[r * size + c] == 0) open++;
+
+            if (run >= winLength) {
+                return WIN;
+            }
+            if (open > 0) {
+                score += pow10(run) * open;
+            }
+        }
+        return score;
+    }
+
+    // Suma de ventanas de K celdas ocupadas por un solo jugador, desde el punto de vista de 'player'
+    private int evaluate(byte player) {
+        long total = 0;
+        for (int[] dir : DIRECTIONS) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int endRow = row + dir[0] * (winLength - 1);
+                    int endCol = col + dir[1] * (winLength - 1);
+                    if (!inside(endRow, endCol)) continue;
+
+                    int own = 0;
+                    int rival = 0;
+                    for (int i = 0; i < winLength; i++) {
+                        byte value = grid[(row + i * dir[0]) * size + col + i * dir[1]];
+                        if (value == player) own++;
+                        else if (value != 0) rival++;
+                    }
+                    if (own > 0 && rival == 0) total += pow10(own);
+                    else if (rival > 0 && own == 0) total -= pow10(rival);
+                }
+            }
+        }
+        return (int) Math.max(-WIN + 1, Math.min(WIN - 1, total));
+    }
+
+    private boolean winsAt(int cell, byte player) {
+        return threatScore(cell, player) >= WIN;
+    }
+
+    private void loadBoard(TicTacToeBoard board) {
+        size = board.getSize();
+        winLength = board.getWinLength();
+        grid = new byte[board.getCellCount()];
+        near = new int[grid.length];
+
+        for (int cell = 0; cell < grid.length; cell++) {
+            TicTacToeBoard.Player owner = board.getCell(cell);
+            if (owner != null) {
+                grid[cell] = owner == TicTacToeBoard.Player.X ? (byte) 1 : (byte) 2;
+                addNear(cell, 1);
+            }
+        }
+    }
+
+    private void addNear(int cell, int delta) {
+        int row = cell / size;
+        int col = cell % size;
+        for (int r = Math.max(0, row - NEIGHBOR_RADIUS); r <= Math.min(size - 1, row + NEIGHBOR_RADIUS); r++) {
+            for (int c = Math.max(0, col - NEIGHBOR_RADIUS); c <= Math.min(size - 1, col + NEIGHBOR_RADIUS); c++) {
+                near[r * size + c] += delta;
+            }
+        }
+    }
+
+    private boolean inside(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    private static byte opponent(byte player) {
+        return player == 1 ? (byte) 2 : (byte) 1;
+    }
+
+    // Se acota para que ninguna línea incompleta valga tanto como una victoria
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < Math.min(exponent, MAX_WEIGHT_EXPONENT); i++) value *= 10;
+        return value;
+    }
+
+    private static void moveToFront(int[] cells, int cell) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == cell) {
+                System.arraycopy(cells, 0, cells, 1, i);
+                cells[0] = cell;
+                return;
+            }
+        }
+    }
+
+    public long getNodesEvaluated() {
+        return nodes;
+    }
+
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+}
@@ -0,0 +1,154 @@
+package model.games;
+
+import java.util.Arrays;
+
+//Motor de pistas del Ahorcado: mantiene las palabras del diccionario compatibles con lo jugado
+//como un bitset sobre ids y lo va recortando por intersección después de cada letra
+public class HangmanSolver {
+    // Letras de más a menos frecuentes en español: desempata pistas y sirve de respaldo sin candidatas
+    private static final String FALLBACK_ORDER = "eaosrnidlctumpbgvyqhfzjxkw";
+
+    private final WordDictionary dictionary;
+    private final long[] candidates;
+    // Rangos de índices de long[] donde puede haber candidatas (las longitudes son contiguas por dificultad)
+    private final int[] spanStart = new int[WordDictionary.Difficulty.values().length];
+    private final int[] spanEnd = new int[WordDictionary.Difficulty.values().length];
+    private int spans;
+    private int candidateCount;
+    private int usedLetters;
+
+    public HangmanSolver(WordDictionary dictionary) {
+        this.dictionary = dictionary;
+        this.candidates = new long[dictionary.bitsetLength()];
+    }
+
+    // Nueva partida: candidatas = todas las palabras con esa longitud
+    public void reset(int wordLength) {
+        for (int s = 0; s < spans; s++) {
+            Arrays.fill(candidates, spanStart[s], spanEnd[s], 0L);
+        }
+        spans = 0;
+        usedLetters = 0;
+
+        if (wordLength >= WordDictionary.MIN_LENGTH && wordLength <= WordDictionary.MAX_LENGTH) {
+            for (WordDictionary.Difficulty difficulty : WordDictionary.Difficulty.values()) {
+                int start = dictionary.rangeStart(difficulty, wordLength);
+                int end = dictionary.rangeEnd(difficulty, wordLength);
+                if (start >= end) continue;
+
+                for (int id = start; id < end; id++) {
+                    candidates[id >>> 6] |= 1L << id;
+                }
+                // Dos rangos pueden compartir un long en la frontera: se cuenta solo en el primero
+                int first = start >>> 6;
+                int last = ((end - 1) >>> 6) + 1;
+                if (spans > 0 && first < spanEnd[spans - 1]) {
+                    first = spanEnd[spans - 1];
+                }
+                if (first < last) {
+                    spanStart[spans] = first;
+                    spanEnd[spans] = last;
+                    spans++;
+                }
+            }
+        }
+        candidateCount = countCandidates();
+    }
+
+    // Fallo: fuera las palabras con la letra. Acierto: solo las que la tienen exactamente en esas posiciones
+    public void applyGuess(char letter, int revealedPositions) {
+        int bit = WordDictionary.maskOf(letter);
+        if (bit == 0 || (usedLetters & bit) != 0) {
+            return;
+        }
+        usedLetters |= bit;
+
+        long[] containing = dictionary.wordsContaining(letter);
+        boolean hit = revealedPositions != 0;
+
+        for (int s = 0; s < spans; s++) {
+            for (int i = spanStart[s]; i < spanEnd[s]; i++) {
+                candidates[i] &= hit ? containing[i] : ~containing[i];
+            }
+        }
+
+        if (hit) {
+            // El refinado por posición solo recorre las candidatas que quedan tras la intersección
+            for (int s = 0; s < spans; s++) {
+                for (int i = spanStart[s]; i < spanEnd[s]; i++) {
+                    for (long bits = candidates[i]; bits != 0; bits &= bits - 1) {
+                        int id = (i << 6) + Long.numberOfTrailingZeros(bits);
+                        if (dictionary.positionMask(id, letter) != revealedPositions) {
+                            candidates[i] &= ~(1L << id);
+                        }
+                    }
+                }
+            }
+        }
+        candidateCount = countCandidates();
+    }
+
+    // Letra no usada que aparece en más candidatas; con empate gana la más frecuente en español
+    public char suggestLetter() {
+        char best = 0;
+        int bestCount = 0;
+
+        if (candidateCount > 0) {
+            for (int k = 0; k < FALLBACK_ORDER.length(); k++) {
+                char letter = FALLBACK_ORDER.charAt(k);
+                if ((usedLetters & WordDictionary.maskOf(letter)) != 0) continue;
+
+                long[] containing = dictionary.wordsContaining(letter);
+                int count = 0;
+                for (int s = 0; s < spans; s++) {
+                    for (int i = spanStart[s]; i < spanEnd[s]; i++) {
+                        count += Long.bitCount(candidates[i] & containing[i]);
+                    }
+                }
+                if (count > bestCount) {
+                    bestCount = count;
+                    best = letter;
+                }
+            }
+        }
+
+        if (best == 0) {
+            for (int k = 0; k < FALLBACK_ORDER.length(); k++) {
+                char letter = FALLBACK_ORDER.charAt(k);
+                if ((usedLetters & WordDictionary.maskOf(letter)) == 0) {
+                    return letter;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Probabilidad de acierto de la letra según las candidatas actuales
+    public double probability(char letter) {
+        if (candidateCount == 0) {
+            return 0;
+        }
+        long[] containing = dictionary.wordsContaining(letter);
+        int count = 0;
+        for (int s = 0; s < spans; s++) {
+            for (int i = spanStart[s]; i < spanEnd[s]; i++) {
+                count += Long.bitCount(candidates[i] & containing[i]);
+            }
+        }
+        return (double) count / candidateCount;
+    }
+
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    private int countCandidates() {
+        int count = 0;
+        for (int s = 0; s < spans; s++) {
+            for (int i = spanStart[s]; i < spanEnd[s]; i++) {
+                count += Long.bitCount(candidates[i]);
+            }
+        }
+        return count;
+    }
+}
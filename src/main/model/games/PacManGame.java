@@ -5,16 +5,24 @@ import model.core.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.HashSet;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.Random;
 
-public class PacManGame extends AbstractGame {
+public class PacManGame extends AbstractGame implements SnapshotCapable, Tickable {
     private static PacManGame instance;
 
     private JPanel mainPanel;
     private StartPanel startPanel;
     private GamePanel gamePanel;
+    // true mientras el FrameScheduler maneja el bucle (pantalla dividida)
+    private boolean externalLoop;
+    private final MetricsRegistry.LatencyHistogram tickDuration =
+        MetricsRegistry.getInstance().histogram("game_tick_seconds", "PacMan");
 
+    private static final long GAME_OVER_DELAY_MS = 2500;
+    private static final int FRAME_INTERVAL_MS = 50;
     private static final Color COLOR_FONDO = new Color(20, 20, 40);
     private static final Color COLOR_EXITO = new Color(46, 204, 113);
     private static final Color COLOR_PRIMARIO = new Color(255, 215, 0);
@@ -43,7 +51,7 @@ public class PacManGame extends AbstractGame {
 
     @Override
     public String getGameName() {
-        return "PacMan";
+        return PacManModel.GAME_NAME;
     }
 
     @Override
@@ -63,6 +71,7 @@ public class PacManGame extends AbstractGame {
 
     @Override
     public void startGame() {
+        cancelScheduledTasks();
         if (!isGameRunning()) {
             gamePanel.resetGame();
             showGameScreen();
@@ -72,6 +81,43 @@ public class PacManGame extends AbstractGame {
         }
     }
 
+    // Arranca la partida sin el Timer de Swing: quien llama avanza la lógica con tick()
+    public void startWithoutLoop() {
+        cancelScheduledTasks();
+        gamePanel.stopGameLoop();
+        gamePanel.resetGame();
+        isRunning = true;
+    }
+
+    // Un paso de la lógica (movimiento, colisiones, comida) sin pintar
+    public void tick() {
+        long start = System.nanoTime();
+        FlightRecorder.TickEvent trace = FlightRecorder.beginTick();
+        gamePanel.move();
+        trace.finish("PacMan");
+        tickDuration.recordSince(start);
+    }
+
+    @Override
+    public long getFrameIntervalMillis() {
+        return FRAME_INTERVAL_MS;
+    }
+
+    @Override
+    public void setExternalLoop(boolean external) {
+        externalLoop = external;
+        if (external) {
+            gamePanel.stopGameLoop();
+        } else if (isGameRunning()) {
+            gamePanel.startGameLoop();
+        }
+    }
+
+    @Override
+    public void frame() {
+        gamePanel.actionPerformed(null);
+    }
+
     @Override
     public void pauseGame() {
         if (isGameRunning()) {
@@ -83,6 +129,7 @@ public class PacManGame extends AbstractGame {
 
     @Override
     public void restartGame() {
+        cancelScheduledTasks();
         gamePanel.resetGame();
         if (!isGameRunning()) {
             startGame();
@@ -93,12 +140,46 @@ public class PacManGame extends AbstractGame {
 
     @Override
     public void stopGame() {
+        cancelScheduledTasks();
         gamePanel.stopGameLoop();
         isRunning = false;
         showStartScreen();
         notifyGameStateChanged(GameEvent.EventType.GAME_FINISHED);
     }
 
+    @Override
+    public int getSnapshotVersion() {
+        return 1;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        gamePanel.model.writeState(out);
+    }
+
+    @Override
+    public void readSnapshot(DataInputStream in, int version) throws IOException {
+        if (version != getSnapshotVersion()) {
+            throw new IOException("Versión de instantánea no soportada: " + version);
+        }
+        cancelScheduledTasks();
+        gamePanel.stopGameLoop();
+        isRunning = false;
+        gamePanel.model.readState(in);
+        currentScore = gamePanel.model.getScore();
+        gamePanel.repaint();
+    }
+
+    @Override
+    public void resumeGame() {
+        if (!isGameRunning() && !gamePanel.model.isGameOver()) {
+            showGameScreen();
+            isRunning = true;
+            gamePanel.startGameLoop();
+            notifyGameStateChanged(GameEvent.EventType.GAME_RESUMED);
+        }
+    }
+
     @Override
     public GamePlugin getInstance() {
         if (instance == null) {
@@ -168,74 +249,40 @@ public class PacManGame extends AbstractGame {
         }
     }
 
-    private class GamePanel extends JPanel implements ActionListener, KeyListener {
-
-        class Block {
-            int x;
-            int y;
-            int width;
-            int height;
-            Image image;
-
-            int startX;
-            int startY;
-            char direction = 'U';
-            int velocityX = 0;
-            int velocityY = 0;
-
-            Block(Image image, int x, int y, int width, int height) {
-                this.image = image;
-                this.x = x;
-                this.y = y;
-                this.width = width;
-                this.height = height;
-                this.startX = x;
-                this.startY = y;
-            }
+    // Traduce los eventos del modelo a las notificaciones del juego y al fin de partida en pantalla
+    private class ModelEvents implements GameListener {
+        @Override
+        public void onScoreUpdated(GameEvent event) {
+            notifyScoreUpdated(event.getScore());
+        }
 
-            void updateDirection(char direction) {
-                char prevDirection = this.direction;
-                this.direction = direction;
-                updateVelocity();
-                this.x += this.velocityX;
-                this.y += this.velocityY;
-                for (Block wall : walls) {
-                    if (collision(this, wall)) {
-                        this.x -= this.velocityX;
-                        this.y -= this.velocityY;
-                        this.direction = prevDirection;
-                        updateVelocity();
-                    }
-                }
+        @Override
+        public void onGameFinished(GameEvent event) {
+            currentScore = event.getScore();
+            if (gamePanel.model.isGameOver()) {
+                gamePanel.stopGameLoop();
+                isRunning = false;
+                notifyGameFinished(event.getScore());
+
+                // La pantalla de fin queda visible sin bloquear el EDT
+                schedule(GAME_OVER_DELAY_MS, PacManGame.this::stopGame);
+            } else {
+                notifyGameFinished(event.getScore());
             }
+        }
 
-            void updateVelocity() {
-                if (this.direction == 'U') {
-                    this.velocityX = 0;
-                    this.velocityY = -tileSize / 4;
-                } else if (this.direction == 'D') {
-                    this.velocityX = 0;
-                    this.velocityY = tileSize / 4;
-                } else if (this.direction == 'L') {
-                    this.velocityX = -tileSize / 4;
-                    this.velocityY = 0;
-                } else if (this.direction == 'R') {
-                    this.velocityX = tileSize / 4;
-                    this.velocityY = 0;
-                }
-            }
+        @Override
+        public void onGameStateChanged(GameEvent event) {
+        }
 
-            void reset() {
-                this.x = this.startX;
-                this.y = this.startY;
-            }
+        @Override
+        public void onGameError(GameEvent event) {
         }
+    }
 
-        private int rowCount = 21;
-        private int columnCount = 19;
-        private int tileSize = 24;
-        private int boardWidth = columnCount * tileSize;
-        private int boardHeight = rowCount * tileSize;
+    private class GamePanel extends JPanel implements ActionListener, KeyListener {
+
+        private static final int TILE_SIZE = PacManModel.TILE_SIZE;
 
         private Image wallImage;
         private Image blueGhostImage;
@@ -248,55 +295,26 @@ public class PacManGame extends AbstractGame {
         private Image pacmanLeftImage;
         private Image pacmanRightImage;
 
-        private String[] tileMap = {
-                "XXXXXXXXXXXXXXXXXXX",
-                "X        X        X",
-                "X XX XXX X XXX XX X",
-                "X                 X",
-                "X XX X XXXXX X XX X",
-                "X    X       X    X",
-                "XXXX XXXX XXXX XXXX",
-                "OOOX X       X XOOO",
-                "XXXX X XXrXX X XXXX",
-                "O       bpo       O",
-                "XXXX X XXXXX X XXXX",
-                "OOOX X       X XOOO",
-                "XXXX X XXXXX X XXXX",
-                "X        X        X",
-                "X XX XXX X XXX XX X",
-                "X  X     P     X  X",
-                "XX X X XXXXX X X XX",
-                "X    X   X   X    X",
-                "X XXXXXX X XXXXXX X",
-                "X                 X",
-                "XXXXXXXXXXXXXXXXXXX"
+        private final String[] imagePaths = {
+                "/wall.png", "/blueGhost.png", "/orangeGhost.png", "/pinkGhost.png", "/redGhost.png",
+                "/pacmanUp.png", "/pacmanDown.png", "/pacmanLeft.png", "/pacmanRight.png"
         };
 
-        HashSet<Block> walls;
-        HashSet<Block> foods;
-        HashSet<Block> ghosts;
-        Block pacman;
-
+        final PacManModel model;
         Timer gameLoop;
-        char[] directions = { 'U', 'D', 'L', 'R' };
-        Random random = new Random();
-        int score = 0;
-        int lives = 3;
-        boolean gameOver = false;
 
         public GamePanel() {
-            setPreferredSize(new Dimension(boardWidth, boardHeight));
+            setPreferredSize(new Dimension(PacManModel.BOARD_WIDTH, PacManModel.BOARD_HEIGHT));
             setBackground(Color.BLACK);
             addKeyListener(this);
             setFocusable(true);
 
+            // La decodificación no bloquea el primer frame; se dibuja con colores hasta que llegan
+            AssetManager.getInstance().preload(PacManGame.class, imagePaths)
+                    .thenRun(() -> SwingUtilities.invokeLater(this::applyImages));
             loadImages();
-            loadMap();
-            for (Block ghost : ghosts) {
-                char newDirection = directions[random.nextInt(4)];
-                ghost.updateDirection(newDirection);
-            }
-            gameLoop = new Timer(50, this);
+            model = new PacManModel(new Random(), new ModelEvents());
+            gameLoop = new Timer(FRAME_INTERVAL_MS, this);
         }
 
         @Override
@@ -306,58 +324,61 @@ public class PacManGame extends AbstractGame {
         }
 
         private void loadImages() {
-            try {
-                wallImage = new ImageIcon(getClass().getResource("/wall.png")).getImage();
-                blueGhostImage = new ImageIcon(getClass().getResource("/blueGhost.png")).getImage();
-                orangeGhostImage = new ImageIcon(getClass().getResource("/orangeGhost.png")).getImage();
-                pinkGhostImage = new ImageIcon(getClass().getResource("/pinkGhost.png")).getImage();
-                redGhostImage = new ImageIcon(getClass().getResource("/redGhost.png")).getImage();
-
-                pacmanUpImage = new ImageIcon(getClass().getResource("/pacmanUp.png")).getImage();
-                pacmanDownImage = new ImageIcon(getClass().getResource("/pacmanDown.png")).getImage();
-                pacmanLeftImage = new ImageIcon(getClass().getResource("/pacmanLeft.png")).getImage();
-                pacmanRightImage = new ImageIcon(getClass().getResource("/pacmanRight.png")).getImage();
-            } catch (Exception e) {
-                System.err.println("Error cargando imágenes: " + e.getMessage());
-                e.printStackTrace();
+            AssetManager assets = AssetManager.getInstance();
+            wallImage = assets.getImageIfLoaded(PacManGame.class, "/wall.png");
+            blueGhostImage = assets.getImageIfLoaded(PacManGame.class, "/blueGhost.png");
+            orangeGhostImage = assets.getImageIfLoaded(PacManGame.class, "/orangeGhost.png");
+            pinkGhostImage = assets.getImageIfLoaded(PacManGame.class, "/pinkGhost.png");
+            redGhostImage = assets.getImageIfLoaded(PacManGame.class, "/redGhost.png");
+
+            pacmanUpImage = assets.getImageIfLoaded(PacManGame.class, "/pacmanUp.png");
+            pacmanDownImage = assets.getImageIfLoaded(PacManGame.class, "/pacmanDown.png");
+            pacmanLeftImage = assets.getImageIfLoaded(PacManGame.class, "/pacmanLeft.png");
+            pacmanRightImage = assets.getImageIfLoaded(PacManGame.class, "/pacmanRight.png");
+        }
+
+        private void applyImages() {
+            loadImages();
+            repaint();
+        }
+
+        private Image imageForTile(char tileMapChar) {
+            switch (tileMapChar) {
+                case 'X': return wallImage;
+                case 'b': return blueGhostImage;
+                case 'o': return orangeGhostImage;
+                case 'p': return pinkGhostImage;
+                case 'r': return redGhostImage;
+                default: return null;
             }
         }
 
-        public void loadMap() {
-            walls = new HashSet<Block>();
-            foods = new HashSet<Block>();
-            ghosts = new HashSet<Block>();
-
-            for (int r = 0; r < rowCount; r++) {
-                for (int c = 0; c < columnCount; c++) {
-                    String row = tileMap[r];
-                    char tileMapChar = row.charAt(c);
-
-                    int x = c * tileSize;
-                    int y = r * tileSize;
-
-                    if (tileMapChar == 'X') {
-                        Block wall = new Block(wallImage, x, y, tileSize, tileSize);
-                        walls.add(wall);
-                    } else if (tileMapChar == 'b') {
-                        Block ghost = new Block(blueGhostImage, x, y, tileSize, tileSize);
-                        ghosts.add(ghost);
-                    } else if (tileMapChar == 'o') {
-                        Block ghost = new Block(orangeGhostImage, x, y, tileSize, tileSize);
-                        ghosts.add(ghost);
-                    } else if (tileMapChar == 'p') {
-                        Block ghost = new Block(pinkGhostImage, x, y, tileSize, tileSize);
-                        ghosts.add(ghost);
-                    } else if (tileMapChar == 'r') {
-                        Block ghost = new Block(redGhostImage, x, y, tileSize, tileSize);
-                        ghosts.add(ghost);
-                    } else if (tileMapChar == 'P') {
-                        pacman = new Block(pacmanRightImage, x, y, tileSize, tileSize);
-                    } else if (tileMapChar == ' ') {
-                        Block food = new Block(null, x + 10, y + 10, 4, 4);
-                        foods.add(food);
-                    }
-                }
+        private Image imageForDirection(char direction) {
+            switch (direction) {
+                case 'U': return pacmanUpImage;
+                case 'D': return pacmanDownImage;
+                case 'L': return pacmanLeftImage;
+                default: return pacmanRightImage;
+            }
+        }
+
+        private Color placeholderColor(char tileMapChar) {
+            switch (tileMapChar) {
+                case 'X': return Color.BLUE;
+                case 'b': return Color.CYAN;
+                case 'o': return Color.ORANGE;
+                case 'p': return Color.PINK;
+                case 'r': return Color.RED;
+                default: return Color.YELLOW;
+            }
+        }
+
+        private void drawBlock(Graphics g, PacManModel.Block block, Image image) {
+            if (image != null) {
+                g.drawImage(image, block.x, block.y, block.width, block.height, null);
+            } else {
+                g.setColor(placeholderColor(block.tileType));
+                g.fillRect(block.x, block.y, block.width, block.height);
             }
         }
 
@@ -368,139 +389,52 @@ public class PacManGame extends AbstractGame {
         }
 
         public void draw(Graphics g) {
-            g.drawImage(pacman.image, pacman.x, pacman.y, pacman.width, pacman.height, null);
+            drawBlock(g, model.pacman, imageForDirection(model.pacman.direction));
 
-            for (Block ghost : ghosts) {
-                g.drawImage(ghost.image, ghost.x, ghost.y, ghost.width, ghost.height, null);
+            for (PacManModel.Block ghost : model.ghosts) {
+                drawBlock(g, ghost, imageForTile(ghost.tileType));
             }
 
-            for (Block wall : walls) {
-                g.drawImage(wall.image, wall.x, wall.y, wall.width, wall.height, null);
+            for (PacManModel.Block wall : PacManModel.WALLS) {
+                drawBlock(g, wall, wallImage);
             }
 
             g.setColor(Color.WHITE);
-            for (Block food : foods) {
-                g.fillRect(food.x, food.y, food.width, food.height);
+            for (int r = 0; r < PacManModel.ROW_COUNT; r++) {
+                for (int c = 0; c < PacManModel.COLUMN_COUNT; c++) {
+                    if (model.hasFood(r * PacManModel.COLUMN_COUNT + c)) {
+                        g.fillRect(c * TILE_SIZE + PacManModel.FOOD_OFFSET, r * TILE_SIZE + PacManModel.FOOD_OFFSET,
+                                PacManModel.FOOD_SIZE, PacManModel.FOOD_SIZE);
+                    }
+                }
             }
 
             g.setFont(new Font("Arial", Font.PLAIN, 18));
-            if (gameOver) {
+            if (model.isGameOver()) {
                 g.setColor(Color.RED);
-                g.drawString("Game Over: " + String.valueOf(score), tileSize / 2, tileSize / 2);
+                g.drawString("Game Over: " + String.valueOf(model.getScore()), TILE_SIZE / 2, TILE_SIZE / 2);
             } else {
                 g.setColor(Color.WHITE);
-                g.drawString("x" + String.valueOf(lives) + " Score: " + String.valueOf(score), tileSize / 2,
-                        tileSize / 2);
+                g.drawString("x" + String.valueOf(model.getLives()) + " Score: " + String.valueOf(model.getScore()),
+                        TILE_SIZE / 2, TILE_SIZE / 2);
             }
         }
 
         public void move() {
-            if (!isRunning || gameOver) {
+            if (!isRunning || model.isGameOver()) {
                 return;
             }
-
-            pacman.x += pacman.velocityX;
-            pacman.y += pacman.velocityY;
-
-            for (Block wall : walls) {
-                if (collision(pacman, wall)) {
-                    pacman.x -= pacman.velocityX;
-                    pacman.y -= pacman.velocityY;
-                    break;
-                }
-            }
-
-            for (Block ghost : ghosts) {
-                if (collision(ghost, pacman)) {
-                    lives -= 1;
-                    if (lives == 0) {
-                        gameOver = true;
-                        gameLoop.stop();
-                        isRunning = false;
-                        currentScore = score;
-                        notifyGameFinished(score);
-
-                        SwingUtilities.invokeLater(() -> {
-                            try {
-                                Thread.sleep(2500);
-                                PacManGame.this.stopGame();
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                            }
-                        });
-                        return;
-                    }
-                    resetPositions();
-                }
-
-                if (ghost.y == tileSize * 9 && ghost.direction != 'U' && ghost.direction != 'D') {
-                    ghost.updateDirection('U');
-                }
-                ghost.x += ghost.velocityX;
-                ghost.y += ghost.velocityY;
-                for (Block wall : walls) {
-                    if (collision(ghost, wall) || ghost.x <= 0 || ghost.x + ghost.width >= boardWidth) {
-                        ghost.x -= ghost.velocityX;
-                        ghost.y -= ghost.velocityY;
-                        char newDirection = directions[random.nextInt(4)];
-                        ghost.updateDirection(newDirection);
-                    }
-                }
-            }
-
-            Block foodEaten = null;
-            for (Block food : foods) {
-                if (collision(pacman, food)) {
-                    foodEaten = food;
-                    score += 10;
-                    currentScore = score;
-                    notifyScoreUpdated(score);
-                }
-            }
-            foods.remove(foodEaten);
-
-            if (foods.isEmpty()) {
-                loadMap();
-                resetPositions();
-                notifyGameFinished(score);
-                currentScore = score;
-            }
-        }
-
-        public boolean collision(Block a, Block b) {
-            return a.x < b.x + b.width &&
-                    a.x + a.width > b.x &&
-                    a.y < b.y + b.height &&
-                    a.y + a.height > b.y;
-        }
-
-        public void resetPositions() {
-            pacman.reset();
-            pacman.velocityX = 0;
-            pacman.velocityY = 0;
-            for (Block ghost : ghosts) {
-                ghost.reset();
-                char newDirection = directions[random.nextInt(4)];
-                ghost.updateDirection(newDirection);
-            }
+            model.tick();
         }
 
         public void resetGame() {
-            score = 0;
-            lives = 3;
-            gameOver = false;
             currentScore = 0;
-            loadMap();
-            resetPositions();
-            for (Block ghost : ghosts) {
-                char newDirection = directions[random.nextInt(4)];
-                ghost.updateDirection(newDirection);
-            }
+            model.reset();
             repaint();
         }
 
         public void startGameLoop() {
-            if (!gameLoop.isRunning()) {
+            if (!externalLoop && !gameLoop.isRunning()) {
                 gameLoop.start();
             }
         }
@@ -517,8 +451,8 @@ public class PacManGame extends AbstractGame {
 
         @Override
         public void actionPerformed(ActionEvent e) {
-            if (isRunning && !gameOver) {
-                move();
+            if (isRunning && !model.isGameOver()) {
+                tick();
                 repaint();
             }
         }
@@ -533,28 +467,18 @@ public class PacManGame extends AbstractGame {
 
         @Override
         public void keyReleased(KeyEvent e) {
-            if (!isRunning || gameOver) {
+            if (!isRunning || model.isGameOver()) {
                 return;
             }
 
             if (e.getKeyCode() == KeyEvent.VK_UP) {
-                pacman.updateDirection('U');
+                model.steer('U');
             } else if (e.getKeyCode() == KeyEvent.VK_DOWN) {
-                pacman.updateDirection('D');
+                model.steer('D');
             } else if (e.getKeyCode() == KeyEvent.VK_LEFT) {
-                pacman.updateDirection('L');
+                model.steer('L');
             } else if (e.getKeyCode() == KeyEvent.VK_RIGHT) {
-                pacman.updateDirection('R');
-            }
-
-            if (pacman.direction == 'U') {
-                pacman.image = pacmanUpImage;
-            } else if (pacman.direction == 'D') {
-                pacman.image = pacmanDownImage;
-            } else if (pacman.direction == 'L') {
-                pacman.image = pacmanLeftImage;
-            } else if (pacman.direction == 'R') {
-                pacman.image = pacmanRightImage;
+                model.steer('R');
             }
         }
     }
@@ -0,0 +1,414 @@
+//código obtenido y adaptado de https://github.com/ImKennyYip/pacman-java
+package model.games;
+
+import model.core.GameEvent;
+import model.core.GameListener;
+import model.core.ReplicatedGame;
+import model.core.ScriptableGame;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+//Lógica de Pac-Man sin Swing: mapa, movimiento, colisiones y puntaje. La usan el panel del juego
+//y el modo sin interfaz; los eventos salen por el GameListener recibido
+public class PacManModel implements ReplicatedGame {
+    public static final String GAME_NAME = "PacMan";
+    public static final int ROW_COUNT = 21;
+    public static final int COLUMN_COUNT = 19;
+    public static final int TILE_SIZE = 24;
+    public static final int BOARD_WIDTH = COLUMN_COUNT * TILE_SIZE;
+    public static final int BOARD_HEIGHT = ROW_COUNT * TILE_SIZE;
+    public static final int INITIAL_LIVES = 3;
+
+    private static final char[] DIRECTIONS = {'U', 'D', 'L', 'R'};
+    private static final List<String> INPUTS = Collections.unmodifiableList(Arrays.asList("U", "D", "L", "R"));
+
+    private static final String[] TILE_MAP = {
+            "XXXXXXXXXXXXXXXXXXX",
+            "X        X        X",
+            "X XX XXX X XXX XX X",
+            "X                 X",
+            "X XX X XXXXX X XX X",
+            "X    X       X    X",
+            "XXXX XXXX XXXX XXXX",
+            "OOOX X       X XOOO",
+            "XXXX X XXrXX X XXXX",
+            "O       bpo       O",
+            "XXXX X XXXXX X XXXX",
+            "OOOX X       X XOOO",
+            "XXXX X XXXXX X XXXX",
+            "X        X        X",
+            "X XX XXX X XXX XX X",
+            "X  X     P     X  X",
+            "XX X X XXXXX X X XX",
+            "X    X   X   X    X",
+            "X XXXXXX X XXXXXX X",
+            "X                 X",
+            "XXXXXXXXXXXXXXXXXXX"
+    };
+
+    public static final int FOOD_OFFSET = 10;
+    public static final int FOOD_SIZE = 4;
+    private static final int TILE_COUNT = ROW_COUNT * COLUMN_COUNT;
+    private static final int FOOD_WORDS = (TILE_COUNT + 63) >>> 6;
+
+    // Las paredes no cambian nunca: se crean una vez y las comparten todas las partidas.
+    // La comida inicial también es fija; cada partida copia sus bits
+    static final Block[] WALLS;
+    private static final long[] INITIAL_FOOD = new long[FOOD_WORDS];
+
+    static {
+        List<Block> walls = new ArrayList<>();
+        for (int r = 0; r < ROW_COUNT; r++) {
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                char tileMapChar = TILE_MAP[r].charAt(c);
+                if (tileMapChar == 'X') {
+                    walls.add(new Block(tileMapChar, c * TILE_SIZE, r * TILE_SIZE, TILE_SIZE, TILE_SIZE));
+                } else if (tileMapChar == ' ') {
+                    int tile = r * COLUMN_COUNT + c;
+                    INITIAL_FOOD[tile >>> 6] |= 1L << tile;
+                }
+            }
+        }
+        WALLS = walls.toArray(new Block[0]);
+    }
+
+    static class Block {
+        int x;
+        int y;
+        int width;
+        int height;
+
+        char tileType;
+        int startX;
+        int startY;
+        char direction = 'U';
+        int velocityX = 0;
+        int velocityY = 0;
+
+        Block(char tileType, int x, int y, int width, int height) {
+            this.tileType = tileType;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.startX = x;
+            this.startY = y;
+        }
+
+        void updateDirection(char direction) {
+            char prevDirection = this.direction;
+            this.direction = direction;
+            updateVelocity();
+            this.x += this.velocityX;
+            this.y += this.velocityY;
+            for (Block wall : WALLS) {
+                if (collision(this, wall)) {
+                    this.x -= this.velocityX;
+                    this.y -= this.velocityY;
+                    this.direction = prevDirection;
+                    updateVelocity();
+                }
+            }
+        }
+
+        void updateVelocity() {
+            if (this.direction == 'U') {
+                this.velocityX = 0;
+                this.velocityY = -TILE_SIZE / 4;
+            } else if (this.direction == 'D') {
+                this.velocityX = 0;
+                this.velocityY = TILE_SIZE / 4;
+            } else if (this.direction == 'L') {
+                this.velocityX = -TILE_SIZE / 4;
+                this.velocityY = 0;
+            } else if (this.direction == 'R') {
+                this.velocityX = TILE_SIZE / 4;
+                this.velocityY = 0;
+            }
+        }
+
+        void reset() {
+            this.x = this.startX;
+            this.y = this.startY;
+        }
+    }
+
+    // Lista y no HashSet: el orden de recorrido no depende de hashes de identidad, así una semilla reproduce la partida
+    final List<Block> ghosts = new ArrayList<>(4);
+    Block pacman;
+    // Comida restante como bits por casilla (fila * COLUMN_COUNT + columna); unos 50 bytes por partida
+    private final long[] food = new long[FOOD_WORDS];
+    private int foodCount;
+
+    private final Random random;
+    private final GameListener listener;
+    private int score = 0;
+    private int lives = INITIAL_LIVES;
+    private boolean gameOver = false;
+
+    public PacManModel(Random random, GameListener listener) {
+        this.random = random;
+        this.listener = listener;
+        loadMap();
+        for (Block ghost : ghosts) {
+            ghost.updateDirection(randomDirection());
+        }
+    }
+
+    // Partidas independientes para el modo sin interfaz
+    public static ScriptableGame.Provider provider() {
+        return new ScriptableGame.Provider() {
+            @Override
+            public String getGameName() {
+                return GAME_NAME;
+            }
+
+            @Override
+            public ScriptableGame newSimulation(long seed, GameListener listener) {
+                return new PacManModel(new Random(seed), listener);
+            }
+        };
+    }
+
+    private char randomDirection() {
+        return DIRECTIONS[random.nextInt(4)];
+    }
+
+    // Repone la comida y vuelve a crear a Pac-Man y los fantasmas en sus casillas de salida
+    private void loadMap() {
+        ghosts.clear();
+        System.arraycopy(INITIAL_FOOD, 0, food, 0, FOOD_WORDS);
+        foodCount = 0;
+        for (long word : food) {
+            foodCount += Long.bitCount(word);
+        }
+
+        for (int r = 0; r < ROW_COUNT; r++) {
+            String row = TILE_MAP[r];
+            for (int c = 0; c < COLUMN_COUNT; c++) {
+                char tileMapChar = row.charAt(c);
+
+                int x = c * TILE_SIZE;
+                int y = r * TILE_SIZE;
+
+                if (tileMapChar == 'b' || tileMapChar == 'o' || tileMapChar == 'p' || tileMapChar == 'r') {
+                    ghosts.add(new Block(tileMapChar, x, y, TILE_SIZE, TILE_SIZE));
+                } else if (tileMapChar == 'P') {
+                    pacman = new Block(tileMapChar, x, y, TILE_SIZE, TILE_SIZE);
+                }
+            }
+        }
+    }
+
+    boolean hasFood(int tile) {
+        return (food[tile >>> 6] & (1L << tile)) != 0;
+    }
+
+    @Override
+    public String getGameName() {
+        return GAME_NAME;
+    }
+
+    @Override
+    public List<String> getAvailableInputs() {
+        return gameOver ? Collections.<String>emptyList() : INPUTS;
+    }
+
+    @Override
+    public void applyInput(String input) {
+        if (!gameOver && input != null && input.length() == 1) {
+            steer(input.charAt(0));
+        }
+    }
+
+    // Cambia la dirección de Pac-Man si no choca con una pared
+    public void steer(char direction) {
+        pacman.updateDirection(direction);
+    }
+
+    @Override
+    public void tick() {
+        if (gameOver) {
+            return;
+        }
+
+        pacman.x += pacman.velocityX;
+        pacman.y += pacman.velocityY;
+
+        for (Block wall : WALLS) {
+            if (collision(pacman, wall)) {
+                pacman.x -= pacman.velocityX;
+                pacman.y -= pacman.velocityY;
+                break;
+            }
+        }
+
+        for (Block ghost : ghosts) {
+            if (collision(ghost, pacman)) {
+                lives -= 1;
+                if (lives == 0) {
+                    gameOver = true;
+                    listener.onGameFinished(new GameEvent(GAME_NAME, GameEvent.EventType.GAME_FINISHED, score));
+                    return;
+                }
+                resetPositions();
+            }
+
+            if (ghost.y == TILE_SIZE * 9 && ghost.direction != 'U' && ghost.direction != 'D') {
+                ghost.updateDirection('U');
+            }
+            ghost.x += ghost.velocityX;
+            ghost.y += ghost.velocityY;
+            for (Block wall : WALLS) {
+                if (collision(ghost, wall) || ghost.x <= 0 || ghost.x + ghost.width >= BOARD_WIDTH) {
+                    ghost.x -= ghost.velocityX;
+                    ghost.y -= ghost.velocityY;
+                    ghost.updateDirection(randomDirection());
+                }
+            }
+        }
+
+        // Solo se revisan las casillas que toca Pac-Man, en el mismo orden por filas que el mapa
+        int foodEaten = -1;
+        int firstRow = Math.max(0, Math.floorDiv(pacman.y, TILE_SIZE));
+        int lastRow = Math.min(ROW_COUNT - 1, Math.floorDiv(pacman.y + pacman.height, TILE_SIZE));
+        int firstColumn = Math.max(0, Math.floorDiv(pacman.x, TILE_SIZE));
+        int lastColumn = Math.min(COLUMN_COUNT - 1, Math.floorDiv(pacman.x + pacman.width, TILE_SIZE));
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                int tile = r * COLUMN_COUNT + c;
+                if (hasFood(tile) && touchesFood(pacman, c * TILE_SIZE + FOOD_OFFSET, r * TILE_SIZE + FOOD_OFFSET)) {
+                    foodEaten = tile;
+                    score += 10;
+                    listener.onScoreUpdated(new GameEvent(GAME_NAME, GameEvent.EventType.SCORE_UPDATED, score));
+                }
+            }
+        }
+        if (foodEaten >= 0) {
+            food[foodEaten >>> 6] &= ~(1L << foodEaten);
+            foodCount--;
+        }
+
+        // Tablero limpio: se informa el puntaje y se sigue jugando con la comida repuesta
+        if (foodCount == 0) {
+            loadMap();
+            resetPositions();
+            listener.onGameFinished(new GameEvent(GAME_NAME, GameEvent.EventType.GAME_FINISHED, score));
+        }
+    }
+
+    static boolean collision(Block a, Block b) {
+        return a.x < b.x + b.width &&
+                a.x + a.width > b.x &&
+                a.y < b.y + b.height &&
+                a.y + a.height > b.y;
+    }
+
+    private static boolean touchesFood(Block a, int foodX, int foodY) {
+        return a.x < foodX + FOOD_SIZE &&
+                a.x + a.width > foodX &&
+                a.y < foodY + FOOD_SIZE &&
+                a.y + a.height > foodY;
+    }
+
+    private void resetPositions() {
+        pacman.reset();
+        pacman.velocityX = 0;
+        pacman.velocityY = 0;
+        for (Block ghost : ghosts) {
+            ghost.reset();
+            ghost.updateDirection(randomDirection());
+        }
+    }
+
+    public void reset() {
+        score = 0;
+        lives = INITIAL_LIVES;
+        gameOver = false;
+        loadMap();
+        resetPositions();
+        for (Block ghost : ghosts) {
+            ghost.updateDirection(randomDirection());
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return gameOver;
+    }
+
+    // Estado compacto: puntaje, vidas, Pac-Man, fantasmas y los bits de la comida que queda.
+    // Las paredes salen del mapa fijo y no se guardan
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(score);
+        out.writeByte(lives);
+        out.writeBoolean(gameOver);
+        writeBlock(out, pacman);
+        out.writeByte(ghosts.size());
+        for (Block ghost : ghosts) {
+            writeBlock(out, ghost);
+        }
+        for (long word : food) {
+            out.writeLong(word);
+        }
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        loadMap();
+        score = in.readInt();
+        lives = in.readByte();
+        gameOver = in.readBoolean();
+        readBlock(in, pacman);
+        int ghostCount = in.readUnsignedByte();
+        if (ghostCount != ghosts.size()) {
+            throw new IOException("La instantánea no corresponde a este mapa");
+        }
+        for (Block ghost : ghosts) {
+            readBlock(in, ghost);
+        }
+        foodCount = 0;
+        for (int i = 0; i < FOOD_WORDS; i++) {
+            // Solo casillas que tenían comida al empezar
+            food[i] = in.readLong() & INITIAL_FOOD[i];
+            foodCount += Long.bitCount(food[i]);
+        }
+    }
+
+    private static void writeBlock(DataOutput out, Block block) throws IOException {
+        out.writeShort(block.x);
+        out.writeShort(block.y);
+        out.writeByte(block.direction);
+        out.writeByte(block.velocityX);
+        out.writeByte(block.velocityY);
+    }
+
+    private static void readBlock(DataInput in, Block block) throws IOException {
+        block.x = in.readShort();
+        block.y = in.readShort();
+        block.direction = (char) in.readUnsignedByte();
+        block.velocityX = in.readByte();
+        block.velocityY = in.readByte();
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+}
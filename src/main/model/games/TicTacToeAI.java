@@ -0,0 +1,179 @@
+package model.games;
+
+//Oponente de juego perfecto para el Tres en Raya: negamax con poda alfa-beta
+//y tabla de transposición indexada por la posición canónica (8 simetrías plegadas)
+public class TicTacToeAI {
+    private static final int CELLS = TicTacToeBoard.CLASSIC_CELLS;
+    private static final int TABLE_SIZE = 19683; // 3^9 posiciones codificadas en base 3
+    private static final int WIN_SCORE = 10;
+
+    private static final int EXACT = 1;
+    private static final int LOWER = 2;
+    private static final int UPPER = 3;
+
+    // Centro, esquinas y bordes: las mejores jugadas primero para podar antes
+    private static final int[] MOVE_ORDER = {4, 0, 2, 6, 8, 1, 3, 5, 7};
+
+    // SYMMETRIES[s][cell] = celda a la que va 'cell' bajo la simetría s
+    private static final int[][] SYMMETRIES = buildSymmetries();
+    private static final int[] POW3 = buildPowers();
+
+    // Entrada empaquetada: bits 0-7 valor + 128, bits 8-9 tipo de cota; 0 = vacía
+    private final int[] table;
+    private long nodes;
+    private long probes;
+    private long hits;
+
+    public TicTacToeAI() {
+        this.table = new int[TABLE_SIZE];
+    }
+
+    // Devuelve la celda que juega el jugador en turno, o -1 si la partida terminó
+    public int chooseMove(TicTacToeBoard board) {
+        if (board.isFinished()) {
+            return -1;
+        }
+
+        int own = board.getCurrentPlayer() == TicTacToeBoard.Player.X ? board.getXBits() : board.getOBits();
+        int rival = board.getCurrentPlayer() == TicTacToeBoard.Player.X ? board.getOBits() : board.getXBits();
+        int empty = board.getEmptyCells();
+
+        int bestMove = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int alpha = -WIN_SCORE - 1;
+        int beta = WIN_SCORE + 1;
+
+        for (int cell : MOVE_ORDER) {
+            if ((empty & (1 << cell)) == 0) continue;
+
+            int next = own | (1 << cell);
+            int score = isWin(next)
+                ? WIN_SCORE - board.getTurns()
+                : -negamax(rival, next, board.getTurns() + 1, -beta, -alpha);
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = cell;
+            }
+            alpha = Math.max(alpha, score);
+        }
+
+        return bestMove;
+    }
+
+    // Valor de la posición para 'own', que está en turno; 'ply' es el número de fichas puestas
+    private int negamax(int own, int rival, int ply, int alpha, int beta) {
+        nodes++;
+
+        if (((own | rival) & TicTacToeBoard.CLASSIC_FULL_MASK) == TicTacToeBoard.CLASSIC_FULL_MASK) {
+            return 0;
+        }
+
+        int originalAlpha = alpha;
+        int key = canonicalKey(own, rival, ply);
+        probes++;
+        int entry = table[key];
+        if (entry != 0) {
+            int value = (entry & 0xFF) - 128;
+            int flag = entry >>> 8;
+            if (flag == EXACT
+                || (flag == LOWER && value >= beta)
+                || (flag == UPPER && value <= alpha)) {
+                hits++;
+                return value;
+            }
+        }
+
+        int empty = ~(own | rival) & TicTacToeBoard.CLASSIC_FULL_MASK;
+        int best = -WIN_SCORE - 1;
+
+        for (int cell : MOVE_ORDER) {
+            if ((empty & (1 << cell)) == 0) continue;
+
+            int next = own | (1 << cell);
+            int score = isWin(next)
+                ? WIN_SCORE - ply
+                : -negamax(rival, next, ply + 1, -beta, -alpha);
+
+            if (score > best) best = score;
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) break;
+        }
+
+        int flag = best <= originalAlpha ? UPPER : (best >= beta ? LOWER : EXACT);
+        table[key] = (flag << 8) | (best + 128);
+        return best;
+    }
+
+    private static boolean isWin(int bits) {
+        for (int mask : TicTacToeBoard.WIN_MASKS) {
+            if ((bits & mask) == mask) return true;
+        }
+        return false;
+    }
+
+    // X siempre mueve primero, así que el color en turno se deduce de la paridad de 'ply'
+    private static int canonicalKey(int own, int rival, int ply) {
+        int xBits = (ply & 1) == 0 ? own : rival;
+        int oBits = (ply & 1) == 0 ? rival : own;
+
+        int best = Integer.MAX_VALUE;
+        for (int[] symmetry : SYMMETRIES) {
+            int code = 0;
+            for (int cell = 0; cell < CELLS; cell++) {
+                int bit = 1 << cell;
+                if ((xBits & bit) != 0) {
+                    code += POW3[symmetry[cell]];
+                } else if ((oBits & bit) != 0) {
+                    code += 2 * POW3[symmetry[cell]];
+                }
+            }
+            if (code < best) best = code;
+        }
+        return best;
+    }
+
+    private static int[][] buildSymmetries() {
+        int[][] result = new int[8][CELLS];
+        for (int cell = 0; cell < CELLS; cell++) {
+            int r = cell / 3;
+            int c = cell % 3;
+            result[0][cell] = r * 3 + c;
+            result[1][cell] = c * 3 + (2 - r);
+            result[2][cell] = (2 - r) * 3 + (2 - c);
+            result[3][cell] = (2 - c) * 3 + r;
+            result[4][cell] = r * 3 + (2 - c);
+            result[5][cell] = (2 - r) * 3 + c;
+            result[6][cell] = c * 3 + r;
+            result[7][cell] = (2 - c) * 3 + (2 - r);
+        }
+        return result;
+    }
+
+    private static int[] buildPowers() {
+        int[] powers = new int[CELLS];
+        powers[0] = 1;
+        for (int i = 1; i < CELLS; i++) {
+            powers[i] = powers[i - 1] * 3;
+        }
+        return powers;
+    }
+
+    public long getNodesEvaluated() {
+        return nodes;
+    }
+
+    public long getTableProbes() {
+        return probes;
+    }
+
+    public double getTableHitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    public void resetStats() {
+        nodes = 0;
+        probes = 0;
+        hits = 0;
+    }
+}
@@ -0,0 +1,269 @@
+package model.games;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+//Modelo del Tres en Raya sin Swing, generalizado a tableros N×N con K en línea
+//Cada jugador es un bitboard (long[]); la celda (fila, columna) es el bit fila * N + columna
+public class TicTacToeBoard {
+    public static final int CLASSIC_SIZE = 3;
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 19;
+    public static final int CLASSIC_CELLS = CLASSIC_SIZE * CLASSIC_SIZE;
+    public static final int CLASSIC_FULL_MASK = (1 << CLASSIC_CELLS) - 1;
+
+    static final int[] WIN_MASKS = {
+        0b000_000_111, 0b000_111_000, 0b111_000_000,
+        0b001_001_001, 0b010_010_010, 0b100_100_100,
+        0b100_010_001, 0b001_010_100
+    };
+
+    // Direcciones de línea: horizontal, vertical, diagonal y antidiagonal
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    public enum Player {
+        X, O;
+
+        public Player other() {
+            return this == X ? O : X;
+        }
+    }
+
+    public enum Result {
+        IN_PROGRESS, X_WINS, O_WINS, DRAW
+    }
+
+    private final int size;
+    private final int winLength;
+    private final int cells;
+    private final long[] xBits;
+    private final long[] oBits;
+    private int stones;
+    private int lastMove;
+    private Player currentPlayer;
+    private int[] winningCells;
+
+    public TicTacToeBoard() {
+        this(CLASSIC_SIZE, CLASSIC_SIZE);
+    }
+
+    public TicTacToeBoard(int size, int winLength) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Tamaño de tablero inválido: " + size);
+        }
+        if (winLength < 3 || winLength > size) {
+            throw new IllegalArgumentException("Longitud de línea inválida: " + winLength);
+        }
+        this.size = size;
+        this.winLength = winLength;
+        this.cells = size * size;
+        this.xBits = new long[(cells + 63) >>> 6];
+        this.oBits = new long[xBits.length];
+        reset();
+    }
+
+    public TicTacToeBoard(TicTacToeBoard other) {
+        this.size = other.size;
+        this.winLength = other.winLength;
+        this.cells = other.cells;
+        this.xBits = other.xBits.clone();
+        this.oBits = other.oBits.clone();
+        this.stones = other.stones;
+        this.lastMove = other.lastMove;
+        this.currentPlayer = other.currentPlayer;
+        this.winningCells = other.winningCells;
+    }
+
+    public void reset() {
+        Arrays.fill(xBits, 0L);
+        Arrays.fill(oBits, 0L);
+        stones = 0;
+        lastMove = -1;
+        currentPlayer = Player.X;
+        winningCells = null;
+    }
+
+    // Formato de instantánea: N, K, turno, última jugada y los dos bitboards (16 bytes de fichas en el 3×3)
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(size);
+        out.writeByte(winLength);
+        out.writeByte(currentPlayer.ordinal());
+        out.writeShort(lastMove);
+        for (long word : xBits) {
+            out.writeLong(word);
+        }
+        for (long word : oBits) {
+            out.writeLong(word);
+        }
+    }
+
+    public static TicTacToeBoard readFrom(DataInput in) throws IOException {
+        TicTacToeBoard board;
+        try {
+            board = new TicTacToeBoard(in.readUnsignedByte(), in.readUnsignedByte());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        board.currentPlayer = Player.values()[in.readUnsignedByte() & 1];
+        board.lastMove = in.readShort();
+        for (int i = 0; i < board.xBits.length; i++) {
+            board.xBits[i] = in.readLong();
+        }
+        for (int i = 0; i < board.oBits.length; i++) {
+            board.oBits[i] = in.readLong();
+            board.stones += Long.bitCount(board.xBits[i]) + Long.bitCount(board.oBits[i]);
+        }
+
+        // Si el jugador en turno hizo la última jugada es porque ganó con ella
+        long[] own = board.currentPlayer == Player.X ? board.xBits : board.oBits;
+        if (board.lastMove >= 0 && test(own, board.lastMove)) {
+            board.winningCells = board.isClassic()
+                ? board.classicWin((int) own[0])
+                : board.lineThrough(own, board.lastMove);
+        }
+        return board;
+    }
+
+    public int index(int row, int col) {
+        return row * size + col;
+    }
+
+    public int getSize() { return size; }
+    public int getWinLength() { return winLength; }
+    public int getCellCount() { return cells; }
+    public int getLastMove() { return lastMove; }
+
+    public boolean isClassic() {
+        return size == CLASSIC_SIZE && winLength == CLASSIC_SIZE;
+    }
+
+    public boolean isEmpty(int cell) {
+        return !test(xBits, cell) && !test(oBits, cell);
+    }
+
+    public Player getCell(int cell) {
+        if (test(xBits, cell)) return Player.X;
+        if (test(oBits, cell)) return Player.O;
+        return null;
+    }
+
+    public boolean isInside(int row, int col) {
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    // Coloca la ficha del jugador en turno; devuelve false si la jugada no es válida
+    public boolean play(int cell) {
+        if (cell < 0 || cell >= cells || !isEmpty(cell) || isFinished()) {
+            return false;
+        }
+
+        long[] own = currentPlayer == Player.X ? xBits : oBits;
+        own[cell >>> 6] |= 1L << cell;
+        stones++;
+        lastMove = cell;
+
+        winningCells = isClassic() ? classicWin((int) own[0]) : lineThrough(own, cell);
+        if (winningCells == null) {
+            currentPlayer = currentPlayer.other();
+        }
+        return true;
+    }
+
+    // En el 3×3 clásico bastan ocho comparaciones contra las máscaras precalculadas
+    private int[] classicWin(int bits) {
+        for (int mask : WIN_MASKS) {
+            if ((bits & mask) == mask) {
+                int[] line = new int[CLASSIC_SIZE];
+                int n = 0;
+                for (int cell = 0; cell < CLASSIC_CELLS; cell++) {
+                    if ((mask & (1 << cell)) != 0) line[n++] = cell;
+                }
+                return line;
+            }
+        }
+        return null;
+    }
+
+    // Solo se revisan las cuatro líneas que pasan por la última jugada: O(K)
+    private int[] lineThrough(long[] own, int cell) {
+        int row = cell / size;
+        int col = cell % size;
+
+        for (int[] dir : DIRECTIONS) {
+            int back = countRun(own, row, col, -dir[0], -dir[1]);
+            int forward = countRun(own, row, col, dir[0], dir[1]);
+            if (back + forward + 1 >= winLength) {
+                int[] line = new int[winLength];
+                int startRow = row - back * dir[0];
+                int startCol = col - back * dir[1];
+                for (int i = 0; i < winLength; i++) {
+                    line[i] = index(startRow + i * dir[0], startCol + i * dir[1]);
+                }
+                return line;
+            }
+        }
+        return null;
+    }
+
+    private int countRun(long[] own, int row, int col, int dRow, int dCol) {
+        int count = 0;
+        int r = row + dRow;
+        int c = col + dCol;
+        while (count < winLength - 1 && isInside(r, c) && test(own, r * size + c)) {
+            count++;
+            r += dRow;
+            c += dCol;
+        }
+        return count;
+    }
+
+    public Result getResult() {
+        if (winningCells != null) {
+            return currentPlayer == Player.X ? Result.X_WINS : Result.O_WINS;
+        }
+        if (isFull()) {
+            return Result.DRAW;
+        }
+        return Result.IN_PROGRESS;
+    }
+
+    public boolean isFinished() {
+        return winningCells != null || isFull();
+    }
+
+    public boolean isFull() {
+        return stones == cells;
+    }
+
+    // Con partida ganada, el jugador en turno es el ganador
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public int[] getWinningCells() {
+        return winningCells != null ? winningCells.clone() : new int[0];
+    }
+
+    public int getTurns() {
+        return stones;
+    }
+
+    // Vistas de 9 bits usadas por el motor perfecto del 3×3 clásico
+    public int getXBits() {
+        return (int) xBits[0] & CLASSIC_FULL_MASK;
+    }
+
+    public int getOBits() {
+        return (int) oBits[0] & CLASSIC_FULL_MASK;
+    }
+
+    public int getEmptyCells() {
+        return ~(getXBits() | getOBits()) & CLASSIC_FULL_MASK;
+    }
+
+    private static boolean test(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+}
@@ -4,8 +4,11 @@ import model.core.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 
-public class TicTacToeGame extends AbstractGame {
+public class TicTacToeGame extends AbstractGame implements SnapshotCapable {
     private static TicTacToeGame instance;
 
     private JPanel mainPanel;
@@ -16,18 +19,27 @@ public class TicTacToeGame extends AbstractGame {
     private int winsX;
     private int winsO;
     private int ties;
-    private JButton[][] board;
-    private String playerX = "X";
-    private String playerO = "O";
-    private String currentPlayer = playerX;
+    private TicTacToeBoard model;
     private boolean gameOver = false;
-    private int turns = 0;
-
-    private static final int BOARD_SIZE = 3;
-    private static final int BUTTON_SIZE = 150;
+    private boolean singlePlayer = false;
+    private boolean aiThinking = false;
+    private int round = 0;
+    private final TicTacToeAI ai = new TicTacToeAI();
+    private final GomokuAI gomokuAi = new GomokuAI(AI_TIME_BUDGET_MS);
+
+    private static final int BOARD_PIXELS = 450;
+    private static final int MIN_CELL_SIZE = 24;
+    private static final long AI_TIME_BUDGET_MS = 700;
+    private static final int BOARD_MARGIN = 10;
+
+    private static final Font STATUS_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font EXIT_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Color CELL_BACKGROUND = Color.DARK_GRAY;
+    private static final Color HIGHLIGHT_BACKGROUND = Color.GRAY;
+    private static final Color GRID_COLOR = new Color(90, 90, 90);
 
     private TicTacToeGame() {
-        this.board = new JButton[BOARD_SIZE][BOARD_SIZE];
+        this.model = new TicTacToeBoard();
         initializeGame();
     }
 
@@ -80,13 +92,74 @@ public class TicTacToeGame extends AbstractGame {
         }
     }
 
+    // En pausa no se aceptan jugadas y la respuesta pendiente de la IA se descarta
     @Override
     public void pauseGame() {
         if (isGameRunning()) {
+            isRunning = false;
+            round++;
+            aiThinking = false;
             notifyGameStateChanged(GameEvent.EventType.GAME_PAUSED);
         }
     }
 
+    @Override
+    public int getSnapshotVersion() {
+        return 1;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutputStream out) throws IOException {
+        model.writeTo(out);
+        out.writeBoolean(singlePlayer);
+        out.writeBoolean(gameOver);
+        out.writeInt(score);
+        out.writeInt(winsX);
+        out.writeInt(winsO);
+        out.writeInt(ties);
+    }
+
+    @Override
+    public void readSnapshot(DataInputStream in, int version) throws IOException {
+        if (version != getSnapshotVersion()) {
+            throw new IOException("Versión de instantánea no soportada: " + version);
+        }
+        model = TicTacToeBoard.readFrom(in);
+        singlePlayer = in.readBoolean();
+        gameOver = in.readBoolean();
+        score = in.readInt();
+        winsX = in.readInt();
+        winsO = in.readInt();
+        ties = in.readInt();
+        isRunning = false;
+        aiThinking = false;
+        round++;
+
+        if (gamePanel != null) {
+            gamePanel.resetBoard();
+            if (model.getResult() == TicTacToeBoard.Result.DRAW) {
+                gamePanel.boardView.highlightTie();
+            } else if (model.isFinished()) {
+                gamePanel.boardView.highlightCells(model.getWinningCells());
+            }
+            gamePanel.updateStatus(gameOver ? "Partida terminada. Puntos: " + score : "Turno de " + model.getCurrentPlayer());
+        }
+    }
+
+    // Si tocaba a la computadora, vuelve a pedir su jugada (la anterior se descartó al pausar)
+    @Override
+    public void resumeGame() {
+        if (isGameRunning()) {
+            return;
+        }
+        showGameScreen();
+        isRunning = true;
+        notifyGameStateChanged(GameEvent.EventType.GAME_RESUMED);
+        if (singlePlayer && !gameOver && model.getCurrentPlayer() == TicTacToeBoard.Player.O) {
+            requestAiMove();
+        }
+    }
+
     @Override
     public void restartGame() {
         resetGame();
@@ -121,90 +194,112 @@ public class TicTacToeGame extends AbstractGame {
         return instance;
     }
 
-    private void resetGame() {
-        if (board == null) {
-            board = new JButton[BOARD_SIZE][BOARD_SIZE];
+    // Tableros de 3×3 hasta 19×19 con K en línea (estilo Gomoku)
+    public void configureBoard(int size, int winLength) {
+        if (size != model.getSize() || winLength != model.getWinLength()) {
+            model = new TicTacToeBoard(size, winLength);
         }
-        
-        currentPlayer = playerX;
+    }
+
+    public int getBoardSize() {
+        return model.getSize();
+    }
+
+    public int getWinLength() {
+        return model.getWinLength();
+    }
+
+    private int cellSize() {
+        return Math.max(MIN_CELL_SIZE, BOARD_PIXELS / model.getSize());
+    }
+
+    private void resetGame() {
+        model.reset();
         gameOver = false;
-        turns = 0;
+        aiThinking = false;
+        round++;
         score = 0;
         
         if (gamePanel != null) {
-            gamePanel.initializeBoard();
-            gamePanel.updateStatus("Turno de " + currentPlayer);
+            gamePanel.resetBoard();
+            gamePanel.updateStatus("Turno de " + model.getCurrentPlayer());
         }
     }
 
-    private void checkWinner() {
-        for (int r = 0; r < BOARD_SIZE; r++) {
-            if (board[r][0].getText().isEmpty()) continue;
-            
-            if (board[r][0].getText().equals(board[r][1].getText()) &&
-                board[r][1].getText().equals(board[r][2].getText())) {
-                
-                highlightWinner(board[r][0], board[r][1], board[r][2]);
-                gameFinished(currentPlayer);
-                return;
-            }
-        }
+    // El estado vive en el modelo; el tablero dibujado solo lo refleja
+    private void playCell(int cell) {
+        if (gameOver || !isRunning || aiThinking) return;
 
-        for (int c = 0; c < BOARD_SIZE; c++) {
-            if (board[0][c].getText().isEmpty()) continue;
-            
-            if (board[0][c].getText().equals(board[1][c].getText()) &&
-                board[1][c].getText().equals(board[2][c].getText())) {
-                
-                highlightWinner(board[0][c], board[1][c], board[2][c]);
-                gameFinished(currentPlayer);
-                return;
-            }
-        }
-
-        if (!board[0][0].getText().isEmpty() &&
-            board[0][0].getText().equals(board[1][1].getText()) &&
-            board[1][1].getText().equals(board[2][2].getText())) {
-            
-            highlightWinner(board[0][0], board[1][1], board[2][2]);
-            gameFinished(currentPlayer);
-            return;
+        if (applyMove(cell) && singlePlayer && !gameOver
+                && model.getCurrentPlayer() == TicTacToeBoard.Player.O) {
+            requestAiMove();
         }
+    }
 
-        if (!board[0][2].getText().isEmpty() &&
-            board[0][2].getText().equals(board[1][1].getText()) &&
-            board[1][1].getText().equals(board[2][0].getText())) {
-            
-            highlightWinner(board[0][2], board[1][1], board[2][0]);
-            gameFinished(currentPlayer);
-            return;
+    private boolean applyMove(int cell) {
+        if (!model.play(cell)) {
+            return false;
         }
-
-        if (turns == 9) {
-            highlightTie();
-            gameFinished("TIE");
-            return;
+        if (gamePanel != null) {
+            gamePanel.boardView.repaintCell(cell);
         }
+        checkWinner();
+        return true;
+    }
 
-        currentPlayer = currentPlayer.equals(playerX) ? playerO : playerX;
+    // La búsqueda corre en el pool del juego y la jugada se aplica de vuelta en el EDT
+    private void requestAiMove() {
+        aiThinking = true;
+        final int requestRound = round;
+        final TicTacToeBoard snapshot = new TicTacToeBoard(model);
         if (gamePanel != null) {
-            gamePanel.updateStatus("Turno de " + currentPlayer);
+            gamePanel.updateStatus("La computadora está pensando...");
         }
+
+        runInBackground(() -> {
+            int cell;
+            if (snapshot.isClassic()) {
+                synchronized (ai) {
+                    cell = ai.chooseMove(snapshot);
+                }
+            } else {
+                synchronized (gomokuAi) {
+                    cell = gomokuAi.chooseMove(snapshot);
+                }
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (requestRound != round || !isRunning) {
+                    return;
+                }
+                aiThinking = false;
+                if (cell >= 0) {
+                    applyMove(cell);
+                }
+            });
+        });
     }
 
-    private void highlightWinner(JButton... tiles) {
-        for (JButton tile : tiles) {
-            tile.setForeground(Color.GREEN);
-            tile.setBackground(Color.GRAY);
+    private void checkWinner() {
+        switch (model.getResult()) {
+            case X_WINS:
+            case O_WINS:
+                if (gamePanel != null) {
+                    gamePanel.boardView.highlightCells(model.getWinningCells());
+                }
+                gameFinished(model.getCurrentPlayer().name());
+                return;
+            case DRAW:
+                if (gamePanel != null) {
+                    gamePanel.boardView.highlightTie();
+                }
+                gameFinished("TIE");
+                return;
+            default:
+                break;
         }
-    }
 
-    private void highlightTie() {
-        for (int r = 0; r < BOARD_SIZE; r++) {
-            for (int c = 0; c < BOARD_SIZE; c++) {
-                board[r][c].setForeground(Color.ORANGE);
-                board[r][c].setBackground(Color.GRAY);
-            }
+        if (gamePanel != null) {
+            gamePanel.updateStatus("Turno de " + model.getCurrentPlayer());
         }
     }
 
@@ -212,17 +307,17 @@ public class TicTacToeGame extends AbstractGame {
         gameOver = true;
         isRunning = false;
         
-        if (result.equals(playerX)) {
+        if (result.equals(TicTacToeBoard.Player.X.name())) {
             winsX++;
             score = 100 + (winsX * 10);
             if (gamePanel != null) {
-                gamePanel.updateStatus(playerX + " ha ganado! Puntos: " + score);
+                gamePanel.updateStatus(result + " ha ganado! Puntos: " + score);
             }
-        } else if (result.equals(playerO)) {
+        } else if (result.equals(TicTacToeBoard.Player.O.name())) {
             winsO++;
             score = 100 + (winsO * 10);
             if (gamePanel != null) {
-                gamePanel.updateStatus(playerO + " ha ganado! Puntos: " + score);
+                gamePanel.updateStatus(result + " ha ganado! Puntos: " + score);
             }
         } else if (result.equals("TIE")) {
             ties++;
@@ -239,7 +334,7 @@ public class TicTacToeGame extends AbstractGame {
         public StartPanel() {
             setLayout(new BorderLayout());
             setBackground(new Color(20, 20, 40));
-            setPreferredSize(new Dimension(BOARD_SIZE * BUTTON_SIZE + 20, BOARD_SIZE * BUTTON_SIZE + 100));
+            setPreferredSize(new Dimension(BOARD_PIXELS + 20, BOARD_PIXELS + 100));
 
             JPanel centerPanel = new JPanel();
             centerPanel.setLayout(new BoxLayout(centerPanel, BoxLayout.Y_AXIS));
@@ -255,7 +350,7 @@ public class TicTacToeGame extends AbstractGame {
             centerPanel.add(Box.createVerticalStrut(30));
 
             JLabel instructions = new JLabel("<html><center>" +
-                    "Juega tres en raya<br>" +
+                    "Juega tres en raya o elige un tablero mayor<br>" +
                     "X juega primero<br>" +
                     "Gana quien forme una línea" +
                     "</center></html>");
@@ -264,9 +359,42 @@ public class TicTacToeGame extends AbstractGame {
             instructions.setAlignmentX(CENTER_ALIGNMENT);
             centerPanel.add(instructions);
 
-            centerPanel.add(Box.createVerticalStrut(40));
+            centerPanel.add(Box.createVerticalStrut(20));
 
-            JButton startButton = new JButton("▶ COMENZAR JUEGO");
+            Integer[] sizes = new Integer[TicTacToeBoard.MAX_SIZE - TicTacToeBoard.MIN_SIZE + 1];
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = TicTacToeBoard.MIN_SIZE + i;
+            }
+            JComboBox<Integer> sizeCombo = new JComboBox<>(sizes);
+            sizeCombo.setSelectedItem(model.getSize());
+            JSpinner lengthSpinner = new JSpinner(new SpinnerNumberModel(
+                    model.getWinLength(), 3, model.getSize(), 1));
+            sizeCombo.addActionListener(e -> {
+                int size = (Integer) sizeCombo.getSelectedItem();
+                SpinnerNumberModel lengthModel = (SpinnerNumberModel) lengthSpinner.getModel();
+                lengthModel.setMaximum(size);
+                if ((Integer) lengthModel.getValue() > size) {
+                    lengthModel.setValue(size);
+                }
+            });
+
+            JPanel configPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 0));
+            configPanel.setOpaque(false);
+            JLabel sizeLabel = new JLabel("Tablero:");
+            sizeLabel.setForeground(Color.WHITE);
+            JLabel lengthLabel = new JLabel("En línea:");
+            lengthLabel.setForeground(Color.WHITE);
+            configPanel.add(sizeLabel);
+            configPanel.add(sizeCombo);
+            configPanel.add(lengthLabel);
+            configPanel.add(lengthSpinner);
+            configPanel.setAlignmentX(CENTER_ALIGNMENT);
+            configPanel.setMaximumSize(new Dimension(BOARD_PIXELS, 40));
+            centerPanel.add(configPanel);
+
+            centerPanel.add(Box.createVerticalStrut(20));
+
+            JButton startButton = new JButton("▶ DOS JUGADORES");
             startButton.setFont(new Font("Arial", Font.BOLD, 18));
             startButton.setPreferredSize(new Dimension(200, 50));
             startButton.setAlignmentX(CENTER_ALIGNMENT);
@@ -274,102 +402,207 @@ public class TicTacToeGame extends AbstractGame {
             startButton.setForeground(Color.WHITE);
             startButton.setFocusPainted(false);
             startButton.addActionListener(e -> {
+                singlePlayer = false;
+                configureBoard((Integer) sizeCombo.getSelectedItem(), (Integer) lengthSpinner.getValue());
                 TicTacToeGame.this.startGame();
             });
             centerPanel.add(startButton);
 
+            centerPanel.add(Box.createVerticalStrut(15));
+
+            JButton aiButton = new JButton("🤖 CONTRA LA COMPUTADORA");
+            aiButton.setFont(new Font("Arial", Font.BOLD, 18));
+            aiButton.setPreferredSize(new Dimension(200, 50));
+            aiButton.setAlignmentX(CENTER_ALIGNMENT);
+            aiButton.setBackground(new Color(0, 90, 160));
+            aiButton.setForeground(Color.WHITE);
+            aiButton.setFocusPainted(false);
+            aiButton.addActionListener(e -> {
+                singlePlayer = true;
+                configureBoard((Integer) sizeCombo.getSelectedItem(), (Integer) lengthSpinner.getValue());
+                TicTacToeGame.this.startGame();
+            });
+            centerPanel.add(aiButton);
+
             add(centerPanel, BorderLayout.CENTER);
         }
     }
 
     private class GamePanel extends JPanel {
-        JPanel boardPanel;
-        JLabel statusLabel;
-        JPanel statusPanel;
+        final BoardView boardView;
+        final JLabel statusLabel;
 
+        // Se construye una sola vez; cada ronda solo reinicia el tablero dibujado
         public GamePanel() {
             setLayout(new BorderLayout());
             setBackground(Color.DARK_GRAY);
-            setPreferredSize(new Dimension(BOARD_SIZE * BUTTON_SIZE + 20, BOARD_SIZE * BUTTON_SIZE + 100));
-            
-            initializeBoard();
-        }
+            setPreferredSize(new Dimension(BOARD_PIXELS + 20, BOARD_PIXELS + 100));
 
-        public void initializeBoard() {
-            removeAll();
-            
-            if (TicTacToeGame.this.board == null) {
-                TicTacToeGame.this.board = new JButton[BOARD_SIZE][BOARD_SIZE];
-            }
-            
-            statusPanel = new JPanel(new BorderLayout());
+            JPanel statusPanel = new JPanel(new BorderLayout());
             statusPanel.setBackground(Color.DARK_GRAY);
-            
-            statusLabel = new JLabel("Turno de " + currentPlayer);
+
+            statusLabel = new JLabel("Turno de " + model.getCurrentPlayer());
             statusLabel.setBackground(Color.DARK_GRAY);
             statusLabel.setForeground(Color.WHITE);
-            statusLabel.setFont(new Font("Arial", Font.BOLD, 24));
+            statusLabel.setFont(STATUS_FONT);
             statusLabel.setHorizontalAlignment(JLabel.CENTER);
             statusLabel.setOpaque(true);
             statusLabel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
-            
+
             statusPanel.add(statusLabel, BorderLayout.CENTER);
-            
+
             JButton exitButton = new JButton("✖ Salir");
-            exitButton.setFont(new Font("Arial", Font.BOLD, 14));
+            exitButton.setFont(EXIT_FONT);
             exitButton.setBackground(new Color(150, 0, 0));
             exitButton.setForeground(Color.WHITE);
             exitButton.addActionListener(e -> {
                 TicTacToeGame.this.stopGame();
             });
             statusPanel.add(exitButton, BorderLayout.EAST);
-            
+
             add(statusPanel, BorderLayout.NORTH);
 
-            boardPanel = new JPanel(new GridLayout(BOARD_SIZE, BOARD_SIZE));
-            boardPanel.setBackground(Color.DARK_GRAY);
-            boardPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-            
-            for (int r = 0; r < BOARD_SIZE; r++) {
-                for (int c = 0; c < BOARD_SIZE; c++) {
-                    JButton tile = new JButton();
-                    TicTacToeGame.this.board[r][c] = tile;
-                    boardPanel.add(tile);
-
-                    tile.setBackground(Color.DARK_GRAY);
-                    tile.setForeground(Color.WHITE);
-                    tile.setFont(new Font("Arial", Font.BOLD, 80));
-                    tile.setFocusable(false);
-                    tile.setPreferredSize(new Dimension(BUTTON_SIZE, BUTTON_SIZE));
-
-                    tile.addActionListener(new ActionListener() {
-                        @Override
-                        public void actionPerformed(ActionEvent e) {
-                            JButton tile = (JButton) e.getSource();
-                            
-                            if (gameOver || !isRunning) return;
-                            
-                            if (tile.getText().isEmpty()) {
-                                tile.setText(currentPlayer);
-                                turns++;
-                                
-                                updateStatus("Turno de " + (currentPlayer.equals(playerX) ? playerO : playerX));
-                                checkWinner();
-                            }
-                        }
-                    });
+            boardView = new BoardView();
+            add(boardView, BorderLayout.CENTER);
+        }
+
+        public void resetBoard() {
+            boardView.reset();
+        }
+
+        public void updateStatus(String text) {
+            statusLabel.setText(text);
+        }
+    }
+
+    //Tablero pintado en un único componente: sin un JButton por celda, la celda se obtiene de las coordenadas del clic
+    private class BoardView extends JComponent {
+        private int paintedSize;
+        private int cellSize;
+        private Font markFont;
+        private int[] highlighted = new int[0];
+        private boolean tie;
+
+        BoardView() {
+            setOpaque(true);
+            setBackground(CELL_BACKGROUND);
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    int cell = cellAt(e.getX(), e.getY());
+                    if (cell >= 0) {
+                        playCell(cell);
+                    }
                 }
+            });
+            reset();
+        }
+
+        // La fuente y el tamaño preferido solo cambian si cambia la dimensión del tablero
+        void reset() {
+            highlighted = new int[0];
+            tie = false;
+            if (paintedSize != model.getSize()) {
+                paintedSize = model.getSize();
+                cellSize = cellSize();
+                markFont = new Font("Arial", Font.BOLD, cellSize * 8 / 15);
+                int pixels = paintedSize * cellSize + 2 * BOARD_MARGIN;
+                setPreferredSize(new Dimension(pixels, pixels));
+                revalidate();
             }
-            
-            add(boardPanel, BorderLayout.CENTER);
-            revalidate();
             repaint();
         }
 
-        public void updateStatus(String text) {
-            if (statusLabel != null) {
-                statusLabel.setText(text);
+        void repaintCell(int cell) {
+            repaint(cellBounds(cell));
+        }
+
+        void highlightCells(int[] cells) {
+            highlighted = cells;
+            for (int cell : cells) {
+                repaintCell(cell);
+            }
+        }
+
+        void highlightTie() {
+            tie = true;
+            repaint();
+        }
+
+        private int originX() {
+            return Math.max(BOARD_MARGIN, (getWidth() - paintedSize * cellSize) / 2);
+        }
+
+        private int originY() {
+            return Math.max(BOARD_MARGIN, (getHeight() - paintedSize * cellSize) / 2);
+        }
+
+        private int cellAt(int x, int y) {
+            int col = Math.floorDiv(x - originX(), cellSize);
+            int row = Math.floorDiv(y - originY(), cellSize);
+            return model.isInside(row, col) ? model.index(row, col) : -1;
+        }
+
+        private Rectangle cellBounds(int cell) {
+            int row = cell / paintedSize;
+            int col = cell % paintedSize;
+            return new Rectangle(originX() + col * cellSize, originY() + row * cellSize, cellSize, cellSize);
+        }
+
+        private boolean isHighlighted(int cell) {
+            for (int winning : highlighted) {
+                if (winning == cell) return true;
+            }
+            return false;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setColor(getBackground());
+            g2.fillRect(0, 0, getWidth(), getHeight());
+
+            // Solo se recorren las celdas dentro de la región a repintar
+            Rectangle clip = g2.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            int x0 = originX();
+            int y0 = originY();
+            int firstCol = Math.max(0, (clip.x - x0) / cellSize);
+            int lastCol = Math.min(paintedSize - 1, (clip.x + clip.width - x0) / cellSize);
+            int firstRow = Math.max(0, (clip.y - y0) / cellSize);
+            int lastRow = Math.min(paintedSize - 1, (clip.y + clip.height - y0) / cellSize);
+
+            g2.setFont(markFont);
+            FontMetrics metrics = g2.getFontMetrics();
+
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int col = firstCol; col <= lastCol; col++) {
+                    int cell = row * paintedSize + col;
+                    int x = x0 + col * cellSize;
+                    int y = y0 + row * cellSize;
+                    boolean winning = isHighlighted(cell);
+
+                    if (winning || tie) {
+                        g2.setColor(HIGHLIGHT_BACKGROUND);
+                        g2.fillRect(x, y, cellSize, cellSize);
+                    }
+                    g2.setColor(GRID_COLOR);
+                    g2.drawRect(x, y, cellSize - 1, cellSize - 1);
+
+                    TicTacToeBoard.Player owner = model.getCell(cell);
+                    if (owner != null) {
+                        String mark = owner.name();
+                        g2.setColor(winning ? Color.GREEN : (tie ? Color.ORANGE : Color.WHITE));
+                        g2.drawString(mark,
+                            x + (cellSize - metrics.stringWidth(mark)) / 2,
+                            y + (cellSize - metrics.getHeight()) / 2 + metrics.getAscent());
+                    }
+                }
             }
+            g2.dispose();
         }
     }
 }
@@ -0,0 +1,137 @@
+package model.games;
+
+import model.core.GameEvent;
+import model.core.GameListener;
+import model.core.ReplicatedGame;
+import model.core.ScriptableGame;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+//Tic-Tac-Toe sin interfaz: las entradas son las celdas libres para X y O responde en el acto,
+//con la IA perfecta en el 3×3 clásico o al azar en tableros grandes. No avanza con tick()
+public class TicTacToeSimulation implements ReplicatedGame {
+    public static final String GAME_NAME = "Tic-Tac-Toe";
+
+    // La tabla de transposición de la IA pesa ~77 KB: una por hilo y no una por partida
+    private static final ThreadLocal<TicTacToeAI> AI = ThreadLocal.withInitial(TicTacToeAI::new);
+
+    private TicTacToeBoard board;
+    private final Random random;
+    private final GameListener listener;
+    private int score;
+
+    public TicTacToeSimulation(int size, int winLength, Random random, GameListener listener) {
+        this.board = new TicTacToeBoard(size, winLength);
+        this.random = random;
+        this.listener = listener;
+    }
+
+    public static ScriptableGame.Provider provider(int size, int winLength) {
+        return new ScriptableGame.Provider() {
+            @Override
+            public String getGameName() {
+                return GAME_NAME;
+            }
+
+            @Override
+            public ScriptableGame newSimulation(long seed, GameListener listener) {
+                return new TicTacToeSimulation(size, winLength, new Random(seed), listener);
+            }
+        };
+    }
+
+    @Override
+    public String getGameName() {
+        return GAME_NAME;
+    }
+
+    @Override
+    public List<String> getAvailableInputs() {
+        if (board.isFinished()) {
+            return Collections.emptyList();
+        }
+        List<String> inputs = new ArrayList<>(board.getCellCount() - board.getTurns());
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            if (board.isEmpty(cell)) {
+                inputs.add(Integer.toString(cell));
+            }
+        }
+        return inputs;
+    }
+
+    @Override
+    public void applyInput(String input) {
+        int cell;
+        try {
+            cell = Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (!board.play(cell)) {
+            return;
+        }
+        if (!board.isFinished()) {
+            board.play(chooseReply());
+        }
+        if (board.isFinished()) {
+            finish();
+        }
+    }
+
+    private int chooseReply() {
+        if (board.isClassic()) {
+            return AI.get().chooseMove(board);
+        }
+        int free = board.getCellCount() - board.getTurns();
+        int target = random.nextInt(free);
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            if (board.isEmpty(cell) && target-- == 0) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    // Mismos puntos que la partida con interfaz para una sola ronda
+    private void finish() {
+        score = board.getResult() == TicTacToeBoard.Result.DRAW ? 55 : 110;
+        listener.onGameFinished(new GameEvent(GAME_NAME, GameEvent.EventType.GAME_FINISHED, score));
+    }
+
+    @Override
+    public void tick() {
+    }
+
+    @Override
+    public boolean isFinished() {
+        return board.isFinished();
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    // El tablero con su formato de instantánea y el puntaje
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        board.writeTo(out);
+        out.writeInt(score);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        board = TicTacToeBoard.readFrom(in);
+        score = in.readInt();
+    }
+
+    public TicTacToeBoard.Result getResult() {
+        return board.getResult();
+    }
+}
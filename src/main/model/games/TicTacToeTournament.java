@@ -0,0 +1,248 @@
+package model.games;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+//Torneo sin interfaz gráfica entre motores del Tres en Raya, repartido en todos los núcleos con fork-join
+//Uso: java model.games.TicTacToeTournament [--games N] [--size N] [--k K] [--a perfect|gomoku|random]
+//     [--b perfect|gomoku|random] [--budget ms] [--seed S] [--threads T] [--csv archivo]
+public class TicTacToeTournament {
+
+    public static final String CSV_HEADER =
+        "playerA,playerB,size,winLength,games,winsA,draws,winsB,moves,threads,elapsedMs,gamesPerSec,movesPerSec";
+
+    // Partidas por hoja: por debajo de esto no compensa seguir dividiendo
+    private static final int LEAF_GAMES = 2_000;
+    private static final long DEFAULT_GAMES = 1_000_000;
+    private static final long DEFAULT_BUDGET_MS = 50;
+
+    public enum PlayerType {
+        PERFECT, GOMOKU, RANDOM;
+
+        static PlayerType parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final PlayerType playerA;
+    private final PlayerType playerB;
+    private final int size;
+    private final int winLength;
+    private final long seed;
+
+    // Cada hilo del pool reutiliza su propio motor: la tabla de transposición no se comparte entre hilos
+    private final ThreadLocal<TicTacToeAI> perfectEngines = ThreadLocal.withInitial(TicTacToeAI::new);
+    private final ThreadLocal<GomokuAI> gomokuEngines;
+
+    public TicTacToeTournament(PlayerType playerA, PlayerType playerB, int size, int winLength,
+                               long gomokuBudgetMillis, long seed) {
+        if (size != TicTacToeBoard.CLASSIC_SIZE || winLength != TicTacToeBoard.CLASSIC_SIZE) {
+            if (playerA == PlayerType.PERFECT || playerB == PlayerType.PERFECT) {
+                throw new IllegalArgumentException("El motor perfecto solo juega el 3×3 clásico");
+            }
+        }
+        this.playerA = playerA;
+        this.playerB = playerB;
+        this.size = size;
+        this.winLength = winLength;
+        this.seed = seed;
+        this.gomokuEngines = ThreadLocal.withInitial(() -> new GomokuAI(gomokuBudgetMillis));
+    }
+
+    public Tally run(long games, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        Tally tally = pool.invoke(new MatchTask(0, games));
+        tally.elapsedNanos = System.nanoTime() - start;
+        tally.threads = pool.getParallelism();
+        return tally;
+    }
+
+    // Juega las partidas [from, to); en las pares A lleva las X y en las impares las O
+    private Tally playRange(long from, long to) {
+        Tally tally = new Tally();
+        SplittableRandom random = new SplittableRandom(seed ^ (from * 0x9E3779B97F4A7C15L));
+        TicTacToeBoard board = new TicTacToeBoard(size, winLength);
+
+        for (long game = from; game < to; game++) {
+            board.reset();
+            boolean aIsX = (game & 1) == 0;
+
+            while (!board.isFinished()) {
+                boolean aToMove = (board.getCurrentPlayer() == TicTacToeBoard.Player.X) == aIsX;
+                int cell = chooseMove(aToMove ? playerA : playerB, board, random);
+                board.play(cell);
+            }
+
+            tally.games++;
+            tally.moves += board.getTurns();
+            switch (board.getResult()) {
+                case X_WINS:
+                    if (aIsX) tally.winsA++; else tally.winsB++;
+                    break;
+                case O_WINS:
+                    if (aIsX) tally.winsB++; else tally.winsA++;
+                    break;
+                default:
+                    tally.draws++;
+                    break;
+            }
+        }
+        return tally;
+    }
+
+    private int chooseMove(PlayerType type, TicTacToeBoard board, SplittableRandom random) {
+        switch (type) {
+            case PERFECT:
+                return perfectEngines.get().chooseMove(board);
+            case GOMOKU:
+                return gomokuEngines.get().chooseMove(board);
+            default:
+                return randomMove(board, random);
+        }
+    }
+
+    private static int randomMove(TicTacToeBoard board, SplittableRandom random) {
+        int free = board.getCellCount() - board.getTurns();
+        int skip = random.nextInt(free);
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            if (board.isEmpty(cell) && skip-- == 0) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    public String toCsvRow(Tally tally) {
+        double seconds = tally.elapsedNanos / 1e9;
+        return String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%d,%d,%d,%d,%.1f,%.0f,%.0f",
+            playerA.name().toLowerCase(Locale.ROOT), playerB.name().toLowerCase(Locale.ROOT),
+            size, winLength, tally.games, tally.winsA, tally.draws, tally.winsB, tally.moves,
+            tally.threads, tally.elapsedNanos / 1e6,
+            tally.games / seconds, tally.moves / seconds);
+    }
+
+    private class MatchTask extends RecursiveTask<Tally> {
+        private final long from;
+        private final long to;
+
+        MatchTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= LEAF_GAMES) {
+                return playRange(from, to);
+            }
+            // El punto medio se deja par para que cada mitad reparta igual los colores
+            long middle = (from + (to - from) / 2) & ~1L;
+            MatchTask left = new MatchTask(from, middle);
+            MatchTask right = new MatchTask(middle, to);
+            left.fork();
+            Tally result = right.compute();
+            return result.merge(left.join());
+        }
+    }
+
+    //Resultados acumulados desde el punto de vista del jugador A
+    public static class Tally {
+        private long games;
+        private long winsA;
+        private long draws;
+        private long winsB;
+        private long moves;
+        private long elapsedNanos;
+        private int threads;
+
+        Tally merge(Tally other) {
+            games += other.games;
+            winsA += other.winsA;
+            draws += other.draws;
+            winsB += other.winsB;
+            moves += other.moves;
+            return this;
+        }
+
+        public long getGames() { return games; }
+        public long getWinsA() { return winsA; }
+        public long getDraws() { return draws; }
+        public long getWinsB() { return winsB; }
+        public long getMoves() { return moves; }
+        public double getElapsedMillis() { return elapsedNanos / 1e6; }
+    }
+
+    public static void main(String[] args) {
+        long games = DEFAULT_GAMES;
+        int size = TicTacToeBoard.CLASSIC_SIZE;
+        int winLength = -1;
+        PlayerType playerA = PlayerType.PERFECT;
+        PlayerType playerB = PlayerType.RANDOM;
+        long budget = DEFAULT_BUDGET_MS;
+        long seed = 42;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String csvPath = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games": games = Long.parseLong(args[++i]); break;
+                    case "--size": size = Integer.parseInt(args[++i]); break;
+                    case "--k": winLength = Integer.parseInt(args[++i]); break;
+                    case "--a": playerA = PlayerType.parse(args[++i]); break;
+                    case "--b": playerB = PlayerType.parse(args[++i]); break;
+                    case "--budget": budget = Long.parseLong(args[++i]); break;
+                    case "--seed": seed = Long.parseLong(args[++i]); break;
+                    case "--threads": threads = Integer.parseInt(args[++i]); break;
+                    case "--csv": csvPath = args[++i]; break;
+                    default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+            if (winLength < 0) {
+                winLength = Math.min(size, 5);
+            }
+
+            TicTacToeTournament tournament = new TicTacToeTournament(playerA, playerB, size, winLength, budget, seed);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            Tally tally;
+            try {
+                tally = tournament.run(games, pool);
+            } finally {
+                pool.shutdown();
+            }
+
+            String row = tournament.toCsvRow(tally);
+            if (csvPath == null) {
+                System.out.println(CSV_HEADER);
+                System.out.println(row);
+            } else {
+                appendCsv(csvPath, row);
+                System.out.println("Resultados añadidos a " + csvPath + ": " + row);
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Argumentos inválidos: " + e.getMessage());
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("No se pudo escribir el CSV: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Añade la fila al CSV; la cabecera solo se escribe si el archivo es nuevo
+    private static void appendCsv(String path, String row) throws IOException {
+        File file = new File(path);
+        boolean writeHeader = !file.exists() || file.length() == 0;
+        try (PrintWriter out = new PrintWriter(new FileWriter(file, true))) {
+            if (writeHeader) {
+                out.println(CSV_HEADER);
+            }
+            out.println(row);
+        }
+    }
+}
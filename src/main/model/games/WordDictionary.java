@@ -0,0 +1,500 @@
+package model.games;
+
+import model.core.AsyncLogger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+//Diccionario compacto para el Ahorcado: todas las palabras viven en un único char[] con desplazamientos,
+//ordenadas por (dificultad, longitud) para que cada combinación sea un rango contiguo de identificadores
+public class WordDictionary {
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("games");
+    public static final String DEFAULT_FILE = "data/palabras.txt";
+    public static final int MIN_LENGTH = 3;
+    public static final int MAX_LENGTH = 24;
+    public static final int ALPHABET = 26;
+
+    private static final String[] BUILT_IN_WORDS = {
+        "pluma", "programacion", "java", "computadora", "algoritmo",
+        "desarrollo", "software", "hardware", "aplicacion",
+        "tecnologia", "informatica", "sistema", "proyecto"
+    };
+
+    // Frecuencia aproximada de cada letra en español (por mil), para estimar la dificultad
+    private static final int[] LETTER_FREQUENCY = {
+        125, 14, 47, 59, 137, 7, 10, 7, 63, 4, 1, 50, 32,
+        71, 87, 25, 9, 69, 80, 46, 39, 9, 1, 2, 9, 5
+    };
+
+    private static WordDictionary defaultInstance;
+
+    public enum Difficulty {
+        FACIL, MEDIA, DIFICIL
+    }
+
+    private final char[] chars;
+    private final int[] offsets;
+    private final int[] letterMasks;
+    // bucketStart[d][len] .. bucketStart[d][len + 1] son las palabras de dificultad d y longitud len
+    private final int[][] bucketStart;
+    // letterIndex[l] = bitset sobre ids de las palabras que contienen la letra l; se construye al pedirlo
+    private long[][] letterIndex;
+
+    private WordDictionary(char[] chars, int[] offsets, int[] letterMasks, int[][] bucketStart) {
+        this.chars = chars;
+        this.offsets = offsets;
+        this.letterMasks = letterMasks;
+        this.bucketStart = bucketStart;
+    }
+
+    // Diccionario compartido: data/palabras.txt si existe, si no la lista integrada
+    public static synchronized WordDictionary getDefault() {
+        if (defaultInstance == null) {
+            Path path = Paths.get(DEFAULT_FILE);
+            if (Files.isRegularFile(path)) {
+                try {
+                    defaultInstance = load(path);
+                } catch (IOException e) {
+                    LOG.error("Error cargando diccionario {}: {}", path, e.getMessage());
+                }
+            }
+            if (defaultInstance == null || defaultInstance.size() == 0) {
+                defaultInstance = fromWords(Arrays.asList(BUILT_IN_WORDS));
+            }
+            LOG.info("Diccionario cargado: {} palabras", defaultInstance.size());
+        }
+        return defaultInstance;
+    }
+
+    // Una palabra por línea; las líneas que empiezan por '#' son comentarios
+    public static WordDictionary load(Path... files) throws IOException {
+        Builder builder = new Builder();
+        for (Path file : files) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                builder.read(reader);
+            }
+        }
+        return builder.build();
+    }
+
+    public static WordDictionary fromWords(Iterable<String> words) {
+        Builder builder = new Builder();
+        for (String word : words) {
+            builder.add(word);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    public int length(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    public char charAt(int id, int position) {
+        return chars[offsets[id] + position];
+    }
+
+    // Máscara de 26 bits con las letras distintas de la palabra (bit 0 = 'a')
+    public int letterMask(int id) {
+        return letterMasks[id];
+    }
+
+    // Bits de las posiciones de la palabra donde aparece la letra (bit 0 = primera letra)
+    public int positionMask(int id, char letter) {
+        int mask = 0;
+        for (int i = offsets[id], position = 0; i < offsets[id + 1]; i++, position++) {
+            if (chars[i] == letter) mask |= 1 << position;
+        }
+        return mask;
+    }
+
+    // Solo se crea un String cuando se necesita mostrar o usar la palabra
+    public String word(int id) {
+        return new String(chars, offsets[id], length(id));
+    }
+
+    public Difficulty difficulty(int id) {
+        for (Difficulty d : Difficulty.values()) {
+            int[] starts = bucketStart[d.ordinal()];
+            if (id >= starts[MIN_LENGTH] && id < starts[MAX_LENGTH + 1]) {
+                return d;
+            }
+        }
+        throw new IndexOutOfBoundsException("Id de palabra inválido: " + id);
+    }
+
+    // Primer y último id (exclusivo) de las palabras con esa dificultad y longitud
+    public int rangeStart(Difficulty difficulty, int length) {
+        return bucketStart[difficulty.ordinal()][clampLength(length)];
+    }
+
+    public int rangeEnd(Difficulty difficulty, int length) {
+        return bucketStart[difficulty.ordinal()][clampLength(length) + 1];
+    }
+
+    public Selection select(Difficulty difficulty, int minLength, int maxLength) {
+        return select(difficulty, minLength, maxLength, 0, 0);
+    }
+
+    // Palabras que cumplen el filtro; con dificultad null valen las tres.
+    // Los filtros por letras recorren los rangos una vez; el resto solo guarda los rangos
+    public Selection select(Difficulty difficulty, int minLength, int maxLength, int requiredLetters, int excludedLetters) {
+        int from = Math.max(MIN_LENGTH, minLength);
+        int to = Math.min(MAX_LENGTH, maxLength);
+        List<int[]> ranges = new ArrayList<>();
+
+        for (Difficulty d : Difficulty.values()) {
+            if (difficulty != null && d != difficulty) continue;
+            if (from > to) continue;
+            int start = bucketStart[d.ordinal()][from];
+            int end = bucketStart[d.ordinal()][to + 1];
+            if (end > start) {
+                ranges.add(new int[]{start, end});
+            }
+        }
+
+        if (requiredLetters == 0 && excludedLetters == 0) {
+            return new Selection(ranges);
+        }
+
+        int count = 0;
+        int[] ids = new int[16];
+        for (int[] range : ranges) {
+            for (int id = range[0]; id < range[1]; id++) {
+                int mask = letterMasks[id];
+                if ((mask & requiredLetters) == requiredLetters && (mask & excludedLetters) == 0) {
+                    if (count == ids.length) ids = Arrays.copyOf(ids, count * 2);
+                    ids[count++] = id;
+                }
+            }
+        }
+        return new Selection(Arrays.copyOf(ids, count));
+    }
+
+    public Selection all() {
+        return select(null, MIN_LENGTH, MAX_LENGTH);
+    }
+
+    // Bitset (long[] con size() bits) de las palabras que contienen la letra; no se debe modificar
+    public long[] wordsContaining(char letter) {
+        return letterIndex()[letter - 'a'];
+    }
+
+    public int bitsetLength() {
+        return (size() + 63) >>> 6;
+    }
+
+    private synchronized long[][] letterIndex() {
+        if (letterIndex == null) {
+            long[][] index = new long[ALPHABET][bitsetLength()];
+            for (int id = 0; id < size(); id++) {
+                for (int mask = letterMasks[id]; mask != 0; mask &= mask - 1) {
+                    index[Integer.numberOfTrailingZeros(mask)][id >>> 6] |= 1L << id;
+                }
+            }
+            letterIndex = index;
+        }
+        return letterIndex;
+    }
+
+    public static int maskOf(char letter) {
+        int index = letter - 'a';
+        return index >= 0 && index < ALPHABET ? 1 << index : 0;
+    }
+
+    private static int clampLength(int length) {
+        return Math.max(MIN_LENGTH, Math.min(MAX_LENGTH, length));
+    }
+
+    //Conjunto de palabras filtrado: rangos contiguos o lista explícita de ids; muestreo uniforme en O(1)
+    public static class Selection {
+        private final int[] rangeStarts;
+        private final int[] cumulative;
+        private final int[] ids;
+        private final int size;
+
+        private Selection(List<int[]> ranges) {
+            this.rangeStarts = new int[ranges.size()];
+            this.cumulative = new int[ranges.size()];
+            int total = 0;
+            for (int i = 0; i < ranges.size(); i++) {
+                rangeStarts[i] = ranges.get(i)[0];
+                total += ranges.get(i)[1] - ranges.get(i)[0];
+                cumulative[i] = total;
+            }
+            this.ids = null;
+            this.size = total;
+        }
+
+        private Selection(int[] ids) {
+            this.rangeStarts = null;
+            this.cumulative = null;
+            this.ids = ids;
+            this.size = ids.length;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        // i-ésima palabra de la selección; como mucho 3 rangos, así que el recorrido es constante
+        public int get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fuera de " + size);
+            }
+            if (ids != null) {
+                return ids[index];
+            }
+            int previous = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                if (index < cumulative[i]) {
+                    return rangeStarts[i] + index - previous;
+                }
+                previous = cumulative[i];
+            }
+            throw new IllegalStateException("Selección inconsistente");
+        }
+
+        // Devuelve -1 si no hay palabras que cumplan el filtro
+        public int sample(Random random) {
+            return size == 0 ? -1 : get(random.nextInt(size));
+        }
+    }
+
+    //Acumula palabras sin crear un String por cada una y luego las reordena por cubeta
+    private static class Builder {
+        private char[] chars = new char[1 << 16];
+        private int[] offsets = new int[1 << 12];
+        private int count;
+        private int charCount;
+        private int[] hashTable = new int[1 << 13];
+
+        private final char[] buffer = new char[256];
+        private int bufferLength;
+        private boolean overflow;
+        private boolean comment;
+
+        void read(Reader reader) throws IOException {
+            char[] block = new char[8192];
+            int n;
+            while ((n = reader.read(block)) > 0) {
+                for (int i = 0; i < n; i++) {
+                    accept(block[i]);
+                }
+            }
+            accept('\n');
+        }
+
+        void add(String word) {
+            for (int i = 0; i < word.length(); i++) {
+                accept(word.charAt(i));
+            }
+            accept('\n');
+        }
+
+        private void accept(char c) {
+            if (c == '\n' || c == '\r') {
+                if (!comment && !overflow) {
+                    addBuffered();
+                }
+                bufferLength = 0;
+                overflow = false;
+                comment = false;
+                return;
+            }
+            if (bufferLength == 0 && c == '#') {
+                comment = true;
+            }
+            if (comment || overflow) {
+                return;
+            }
+            if (bufferLength == buffer.length) {
+                overflow = true;
+                return;
+            }
+            buffer[bufferLength++] = c;
+        }
+
+        // Normaliza a minúsculas a-z sin tildes; descarta lo que no se pueda jugar con el teclado
+        private void addBuffered() {
+            int start = 0;
+            int end = bufferLength;
+            while (start < end && Character.isWhitespace(buffer[start])) start++;
+            while (end > start && Character.isWhitespace(buffer[end - 1])) end--;
+            if (end - start < MIN_LENGTH) {
+                return;
+            }
+
+            int length = 0;
+            for (int i = start; i < end; i++) {
+                char c = normalize(buffer[i]);
+                if (c == 0) {
+                    return;
+                }
+                buffer[length++] = c;
+            }
+            if (length < MIN_LENGTH || length > MAX_LENGTH || contains(length)) {
+                return;
+            }
+
+            ensureCapacity(length);
+            System.arraycopy(buffer, 0, chars, charCount, length);
+            offsets[count] = charCount;
+            charCount += length;
+            count++;
+            offsets[count] = charCount;
+            insertHash(count - 1);
+        }
+
+        private static char normalize(char c) {
+            if (c >= 'a' && c <= 'z') return c;
+            if (c >= 'A' && c <= 'Z') return (char) (c + ('a' - 'A'));
+            if (c < 128) return 0;
+            String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            char base = Character.toLowerCase(decomposed.charAt(0));
+            return base >= 'a' && base <= 'z' ? base : 0;
+        }
+
+        private void ensureCapacity(int length) {
+            if (charCount + length > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + length));
+            }
+            if (count + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            if ((count + 1) * 2 > hashTable.length) {
+                rehash();
+            }
+        }
+
+        // Tabla de direccionamiento abierto con id + 1 para descartar duplicados
+        private boolean contains(int length) {
+            int mask = hashTable.length - 1;
+            for (int slot = hash(buffer, 0, length) & mask; hashTable[slot] != 0; slot = (slot + 1) & mask) {
+                int id = hashTable[slot] - 1;
+                if (offsets[id + 1] - offsets[id] == length
+                        && Arrays.equals(chars, offsets[id], offsets[id] + length, buffer, 0, length)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void insertHash(int id) {
+            int mask = hashTable.length - 1;
+            int slot = hash(chars, offsets[id], offsets[id + 1] - offsets[id]) & mask;
+            while (hashTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            hashTable[slot] = id + 1;
+        }
+
+        private void rehash() {
+            hashTable = new int[hashTable.length * 2];
+            for (int id = 0; id < count; id++) {
+                insertHash(id);
+            }
+        }
+
+        private static int hash(char[] source, int from, int length) {
+            int h = 0;
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + source[from + i];
+            }
+            return h ^ (h >>> 16);
+        }
+
+        WordDictionary build() {
+            hashTable = null;
+            int[] masks = new int[count];
+            int[] scores = new int[count];
+            for (int id = 0; id < count; id++) {
+                int mask = 0;
+                for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+                    mask |= 1 << (chars[i] - 'a');
+                }
+                masks[id] = mask;
+                scores[id] = difficultyScore(mask, offsets[id + 1] - offsets[id]);
+            }
+
+            // Los tercios de la puntuación separan fácil, media y difícil
+            int[] sortedScores = scores.clone();
+            Arrays.sort(sortedScores);
+            int easyLimit = count == 0 ? 0 : sortedScores[count / 3];
+            int mediumLimit = count == 0 ? 0 : sortedScores[2 * count / 3];
+
+            int levels = Difficulty.values().length;
+            int[] bucketOf = new int[count];
+            int[] bucketSize = new int[levels * (MAX_LENGTH + 1)];
+            for (int id = 0; id < count; id++) {
+                int level = scores[id] < easyLimit ? 0 : (scores[id] < mediumLimit ? 1 : 2);
+                bucketOf[id] = level * (MAX_LENGTH + 1) + (offsets[id + 1] - offsets[id]);
+                bucketSize[bucketOf[id]]++;
+            }
+
+            // Ordenación por conteo: el id final de cada palabra sale de la posición de su cubeta
+            int[] next = new int[bucketSize.length];
+            int[][] bucketStart = new int[levels][MAX_LENGTH + 2];
+            int position = 0;
+            for (int bucket = 0; bucket < bucketSize.length; bucket++) {
+                int level = bucket / (MAX_LENGTH + 1);
+                int length = bucket % (MAX_LENGTH + 1);
+                bucketStart[level][length] = position;
+                next[bucket] = position;
+                position += bucketSize[bucket];
+            }
+            for (int level = 0; level < levels; level++) {
+                bucketStart[level][MAX_LENGTH + 1] = level + 1 < levels ? bucketStart[level + 1][0] : count;
+            }
+
+            int[] order = new int[count];
+            for (int id = 0; id < count; id++) {
+                order[next[bucketOf[id]]++] = id;
+            }
+
+            char[] packed = new char[charCount];
+            int[] packedOffsets = new int[count + 1];
+            int[] packedMasks = new int[count];
+            int cursor = 0;
+            for (int newId = 0; newId < count; newId++) {
+                int old = order[newId];
+                int length = offsets[old + 1] - offsets[old];
+                System.arraycopy(chars, offsets[old], packed, cursor, length);
+                packedOffsets[newId] = cursor;
+                packedMasks[newId] = masks[old];
+                cursor += length;
+            }
+            packedOffsets[count] = cursor;
+
+            return new WordDictionary(packed, packedOffsets, packedMasks, bucketStart);
+        }
+
+        // Más difícil cuanto más raras son sus letras y menos letras distintas hay que descubrir
+        private static int difficultyScore(int mask, int length) {
+            int distinct = Integer.bitCount(mask);
+            int rarity = 0;
+            for (int letter = 0; letter < ALPHABET; letter++) {
+                if ((mask & (1 << letter)) != 0) {
+                    rarity += 140 - LETTER_FREQUENCY[letter];
+                }
+            }
+            return rarity / distinct + Math.max(0, 10 - length) * 8 - distinct * 2;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package model.net;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+//Diferencia de un estado contra una base ya confirmada: XOR byte a byte y las corridas de ceros
+//(lo que no cambió) comprimidas. Formato: repeticiones de [ceros varint][literales varint][bytes XOR].
+//Los ceros del final no se escriben; si el estado es más largo que la base, la base se completa con ceros
+public final class DeltaCodec {
+    // Menos de esta cantidad de ceros seguidos se copian como literales: no vale la pena cortar la corrida
+    private static final int MIN_ZERO_RUN = 3;
+
+    private DeltaCodec() {
+    }
+
+    // Escribe la diferencia en 'out'; devuelve los bytes escritos
+    public static int encode(byte[] base, byte[] current, ByteBuffer out) {
+        int start = out.position();
+        int length = current.length;
+        int i = 0;
+        while (i < length) {
+            int zeroStart = i;
+            while (i < length && xor(base, current, i) == 0) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            int literalStart = i;
+            int zeros = 0;
+            while (i < length && zeros < MIN_ZERO_RUN) {
+                zeros = xor(base, current, i) == 0 ? zeros + 1 : 0;
+                i++;
+            }
+            int literalEnd = zeros >= MIN_ZERO_RUN ? i - zeros : i;
+            i = literalEnd;
+
+            putVarint(out, literalStart - zeroStart);
+            putVarint(out, literalEnd - literalStart);
+            for (int k = literalStart; k < literalEnd; k++) {
+                out.put(xor(base, current, k));
+            }
+        }
+        return out.position() - start;
+    }
+
+    // Lee 'encodedLength' bytes de diferencia y devuelve el estado de 'length' bytes
+    public static byte[] decode(byte[] base, ByteBuffer in, int encodedLength, int length) {
+        byte[] result = Arrays.copyOf(base, length);
+        int end = in.position() + encodedLength;
+        int position = 0;
+        while (in.position() < end) {
+            position += getVarint(in);
+            int literals = getVarint(in);
+            if (position + literals > length) {
+                throw new IllegalArgumentException("Diferencia fuera del estado");
+            }
+            for (int k = 0; k < literals; k++) {
+                result[position] ^= in.get();
+                position++;
+            }
+        }
+        return result;
+    }
+
+    private static byte xor(byte[] base, byte[] current, int index) {
+        byte before = index < base.length ? base[index] : 0;
+        return (byte) (before ^ current[index]);
+    }
+
+    private static void putVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0 && shift < 32);
+        return value;
+    }
+}
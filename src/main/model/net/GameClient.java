@@ -0,0 +1,329 @@
+package model.net;
+
+import model.core.GameListener;
+import model.core.ReplicatedGame;
+import model.core.ScriptableGame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+//Cliente con predicción: cada frame() aplica el comando a una copia local de la partida sin esperar al
+//servidor y lo manda junto con los que aún no se confirmaron. Al llegar un estado autoritativo se
+//compara con lo que se había predicho para ese comando; si difiere se adopta el del servidor y se
+//vuelven a aplicar los comandos pendientes. No es thread-safe: lo maneja un solo hilo
+public class GameClient {
+    // Comandos sin confirmar antes de dejar de predecir; acota cuánto puede adelantarse el cliente
+    public static final int MAX_PENDING = 64;
+
+    private static final int HISTORY = 64;
+    private static final long HELLO_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long COMMAND_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final InetSocketAddress server;
+    private final String gameName;
+    private final long seed;
+    private final NetLink.Conditions conditions;
+    private final ReplicatedGame predicted;
+    private final ArrayDeque<Command> pending;
+    private final ByteBuffer receiveBuffer;
+    private final ByteBuffer sendBuffer;
+    private final ByteArrayOutputStream stateBytes;
+    private final DataOutputStream stateOut;
+
+    // Estados confirmados (base de las diferencias) y predichos, por número de comando
+    private final int[] confirmedSeq = new int[HISTORY];
+    private final byte[][] confirmed = new byte[HISTORY][];
+    private final int[] predictedSeq = new int[HISTORY];
+    private final byte[][] predictedStates = new byte[HISTORY][];
+
+    private DatagramChannel channel;
+    private NetLink link;
+    private int sessionId;
+    private boolean welcomed;
+    private String rejection;
+    private long lastHelloNanos;
+    private long lastCommandsNanos;
+    private int frame;
+    private int lastStateSeq = NetProtocol.NO_STATE;
+    private int lastAckSent = NetProtocol.NO_STATE;
+
+    private long statesReceived;
+    private long deltaStates;
+    private long bytesReceived;
+    private long mispredictions;
+    private long stalledFrames;
+
+    public GameClient(InetSocketAddress server, ScriptableGame.Provider provider, long seed,
+                      NetLink.Conditions conditions, GameListener listener) {
+        ScriptableGame game = provider.newSimulation(seed, listener);
+        if (!(game instanceof ReplicatedGame)) {
+            throw new IllegalArgumentException(provider.getGameName() + " no se puede jugar en red");
+        }
+        this.server = server;
+        this.gameName = provider.getGameName();
+        this.seed = seed;
+        this.conditions = conditions;
+        this.predicted = (ReplicatedGame) game;
+        this.pending = new ArrayDeque<>();
+        this.receiveBuffer = ByteBuffer.allocate(NetProtocol.MAX_DATAGRAM);
+        this.sendBuffer = ByteBuffer.allocate(NetProtocol.MAX_DATAGRAM);
+        this.stateBytes = new ByteArrayOutputStream(256);
+        this.stateOut = new DataOutputStream(stateBytes);
+        Arrays.fill(confirmedSeq, NetProtocol.NO_STATE);
+        Arrays.fill(predictedSeq, NetProtocol.NO_STATE);
+    }
+
+    // Abre el socket y manda el saludo; la bienvenida llega en algún poll() posterior
+    public void connect() throws IOException {
+        channel = DatagramChannel.open();
+        channel.bind(new InetSocketAddress(server.getAddress(), 0));
+        channel.connect(server);
+        channel.configureBlocking(false);
+        link = new NetLink(channel, conditions);
+        sendHello();
+    }
+
+    public DatagramChannel getChannel() {
+        return channel;
+    }
+
+    // Procesa lo recibido y manda lo que ya cumplió su demora simulada
+    public void poll() throws IOException {
+        receiveBuffer.clear();
+        while (channel.receive(receiveBuffer) != null) {
+            receiveBuffer.flip();
+            bytesReceived += receiveBuffer.remaining();
+            try {
+                handle(receiveBuffer);
+            } catch (RuntimeException e) {
+                // Se descarta el datagrama; el servidor volverá a mandar el estado
+            }
+            receiveBuffer.clear();
+        }
+        if (!welcomed && rejection == null && System.nanoTime() - lastHelloNanos > HELLO_RETRY_NANOS) {
+            sendHello();
+        }
+        // Sin comandos nuevos igual hay que confirmar el estado, o el servidor lo seguiría reenviando
+        // y si no se juega más (partida terminada) los pendientes se reenvían solos
+        if (welcomed && (lastStateSeq > lastAckSent
+                || (!pending.isEmpty() && System.nanoTime() - lastCommandsNanos > COMMAND_RETRY_NANOS))) {
+            sendCommands();
+        }
+        link.flush();
+    }
+
+    // Un paso local: aplica la entrada (null = ninguna), avanza y manda los comandos sin confirmar.
+    // Devuelve false si no se pudo predecir porque hay demasiados comandos sin confirmar
+    public boolean frame(String input) throws IOException {
+        if (!welcomed) {
+            return false;
+        }
+        if (pending.size() >= MAX_PENDING) {
+            stalledFrames++;
+            sendCommands();
+            return false;
+        }
+        frame++;
+        Command command = new Command(frame, input);
+        simulate(command);
+        pending.add(command);
+        remember(predictedSeq, predictedStates, frame, serialize());
+        sendCommands();
+        return true;
+    }
+
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        if (welcomed) {
+            sendBuffer.clear();
+            NetProtocol.writeHeader(sendBuffer, NetProtocol.BYE, sessionId, lastStateSeq);
+            sendBuffer.flip();
+            channel.write(sendBuffer);
+        }
+        channel.close();
+    }
+
+    private void handle(ByteBuffer packet) throws IOException {
+        int type = NetProtocol.readType(packet);
+        if (type < 0) {
+            return;
+        }
+        int id = packet.getInt();
+        packet.getInt();
+
+        if (type == NetProtocol.WELCOME) {
+            sessionId = id;
+            welcomed = true;
+        } else if (type == NetProtocol.REJECT) {
+            rejection = NetProtocol.getString(packet);
+        } else if (type == NetProtocol.STATE && welcomed && id == sessionId) {
+            handleState(packet);
+        }
+    }
+
+    private void handleState(ByteBuffer packet) throws IOException {
+        int seq = packet.getInt();
+        int baseSeq = packet.getInt();
+        int length = packet.getShort() & 0xFFFF;
+        int encoded = packet.getShort() & 0xFFFF;
+        // Los datagramas pueden llegar desordenados: un estado viejo ya no sirve
+        if (seq <= lastStateSeq) {
+            return;
+        }
+
+        byte[] state;
+        if (baseSeq == NetProtocol.NO_STATE) {
+            state = new byte[length];
+            packet.get(state);
+        } else {
+            byte[] base = lookup(confirmedSeq, confirmed, baseSeq);
+            if (base == null) {
+                return;
+            }
+            state = DeltaCodec.decode(base, packet, encoded, length);
+            deltaStates++;
+        }
+        statesReceived++;
+        lastStateSeq = seq;
+        remember(confirmedSeq, confirmed, seq, state);
+
+        while (!pending.isEmpty() && pending.peek().seq <= seq) {
+            pending.poll();
+        }
+
+        byte[] guess = seq == 0 ? null : lookup(predictedSeq, predictedStates, seq);
+        if (seq > 0 && !Arrays.equals(guess, state)) {
+            mispredictions++;
+            reconcile(state);
+        }
+    }
+
+    // Se adopta el estado del servidor y se repiten encima los comandos que todavía no confirmó
+    private void reconcile(byte[] state) throws IOException {
+        predicted.readState(new DataInputStream(new ByteArrayInputStream(state)));
+        Iterator<Command> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Command command = iterator.next();
+            simulate(command);
+            remember(predictedSeq, predictedStates, command.seq, serialize());
+        }
+    }
+
+    // Igual que el servidor: la entrada solo se aplica si es válida en ese momento
+    private void simulate(Command command) {
+        if (command.input != null && predicted.getAvailableInputs().contains(command.input)) {
+            predicted.applyInput(command.input);
+        }
+        predicted.tick();
+    }
+
+    private void sendHello() throws IOException {
+        sendBuffer.clear();
+        NetProtocol.writeHeader(sendBuffer, NetProtocol.HELLO, 0, NetProtocol.NO_STATE);
+        NetProtocol.putString(sendBuffer, gameName);
+        sendBuffer.putLong(seed);
+        sendBuffer.flip();
+        link.send(sendBuffer, server);
+        lastHelloNanos = System.nanoTime();
+    }
+
+    // Los comandos sin confirmar, desde el más viejo; la repetición cubre las pérdidas. La cabecera
+    // confirma el último estado recibido, que el servidor usa como base de la próxima diferencia
+    private void sendCommands() throws IOException {
+        sendBuffer.clear();
+        NetProtocol.writeHeader(sendBuffer, NetProtocol.COMMANDS, sessionId, lastStateSeq);
+        sendBuffer.putInt(pending.isEmpty() ? frame + 1 : pending.peek().seq);
+        int countPosition = sendBuffer.position();
+        sendBuffer.put((byte) 0);
+        int count = 0;
+        for (Command command : pending) {
+            if (count == NetProtocol.MAX_COMMANDS_PER_PACKET || sendBuffer.remaining() < 1 + command.encoded.length) {
+                break;
+            }
+            sendBuffer.put((byte) command.encoded.length);
+            sendBuffer.put(command.encoded);
+            count++;
+        }
+        sendBuffer.put(countPosition, (byte) count);
+        sendBuffer.flip();
+        link.send(sendBuffer, server);
+        lastAckSent = lastStateSeq;
+        lastCommandsNanos = System.nanoTime();
+    }
+
+    private byte[] serialize() throws IOException {
+        stateBytes.reset();
+        predicted.writeState(stateOut);
+        stateOut.flush();
+        return stateBytes.toByteArray();
+    }
+
+    private static void remember(int[] seqs, byte[][] states, int seq, byte[] state) {
+        int slot = seq % HISTORY;
+        seqs[slot] = seq;
+        states[slot] = state;
+    }
+
+    private static byte[] lookup(int[] seqs, byte[][] states, int seq) {
+        int slot = seq % HISTORY;
+        return seqs[slot] == seq ? states[slot] : null;
+    }
+
+    public boolean isConnected() {
+        return welcomed;
+    }
+
+    public String getRejection() {
+        return rejection;
+    }
+
+    // Todo lo predicho quedó confirmado y coincide con el estado del servidor
+    public boolean isInSync() throws IOException {
+        byte[] state = lookup(confirmedSeq, confirmed, frame);
+        return pending.isEmpty() && lastStateSeq == frame && Arrays.equals(state, serialize());
+    }
+
+    public ReplicatedGame getPredictedGame() {
+        return predicted;
+    }
+
+    public NetLink getLink() {
+        return link;
+    }
+
+    // Último comando predicho y último confirmado por el servidor
+    public int getFrame() { return frame; }
+    public int getConfirmedFrame() { return lastStateSeq; }
+    public int getPendingCount() { return pending.size(); }
+    public long getStatesReceived() { return statesReceived; }
+    public long getDeltaStates() { return deltaStates; }
+    public long getBytesReceived() { return bytesReceived; }
+    public long getMispredictions() { return mispredictions; }
+    public long getStalledFrames() { return stalledFrames; }
+
+    //Un paso numerado con su entrada ya codificada
+    private static class Command {
+        final int seq;
+        final String input;
+        final byte[] encoded;
+
+        Command(int seq, String input) {
+            this.seq = seq;
+            this.input = input;
+            this.encoded = input == null ? new byte[0] : input.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package model.net;
+
+import model.core.AsyncLogger;
+import model.core.GameSession;
+import model.core.GameSessionFactory;
+import model.core.MetricsRegistry;
+import model.core.ReplicatedGame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//Servidor autoritativo de partidas en red: un solo hilo con un Selector atiende un DatagramChannel no
+//bloqueante y todas las sesiones. Cada cliente manda comandos numerados (con los no confirmados repetidos
+//para tolerar pérdidas); el servidor los aplica en orden sobre una GameSession propia y responde con el
+//estado, como diferencia contra el último estado que el cliente confirmó
+public class GameServer {
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("net");
+
+    // Estados recientes por sesión que pueden servir de base para una diferencia
+    private static final int HISTORY = 32;
+    private static final long RESEND_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long LOOP_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int SOCKET_BUFFER_BYTES = 4 * 1024 * 1024;
+
+    private final InetSocketAddress bindAddress;
+    private final NetLink.Conditions conditions;
+    private final GameSessionFactory sessionFactory;
+    private final Map<SocketAddress, ServerSession> sessions;
+    private final List<ServerSession> dirty;
+    private final ByteBuffer receiveBuffer;
+    private final ByteBuffer sendBuffer;
+    private final ByteArrayOutputStream stateBytes;
+    private final DataOutputStream stateOut;
+
+    private final MetricsRegistry.Counter packetsReceived;
+    private final MetricsRegistry.Counter packetsSent;
+    private final MetricsRegistry.Counter bytesSent;
+    private final MetricsRegistry.Counter fullStates;
+    private final MetricsRegistry.Counter deltaStates;
+    private final MetricsRegistry.LatencyHistogram loopTime;
+
+    private DatagramChannel channel;
+    private Selector selector;
+    private NetLink link;
+    private Thread thread;
+    private volatile boolean running;
+    private volatile int sessionCount;
+    private int nextSessionId;
+
+    public GameServer(InetSocketAddress bindAddress, NetLink.Conditions conditions) {
+        this.bindAddress = bindAddress;
+        this.conditions = conditions;
+        this.sessionFactory = GameSessionFactory.getInstance();
+        this.sessions = new HashMap<>();
+        this.dirty = new ArrayList<>();
+        this.receiveBuffer = ByteBuffer.allocateDirect(NetProtocol.MAX_DATAGRAM);
+        this.sendBuffer = ByteBuffer.allocate(NetProtocol.MAX_DATAGRAM);
+        this.stateBytes = new ByteArrayOutputStream(256);
+        this.stateOut = new DataOutputStream(stateBytes);
+
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        this.packetsReceived = metrics.counter("net_packets_received_total", null);
+        this.packetsSent = metrics.counter("net_packets_sent_total", null);
+        this.bytesSent = metrics.counter("net_bytes_sent_total", null);
+        this.fullStates = metrics.counter("net_states_full_total", null);
+        this.deltaStates = metrics.counter("net_states_delta_total", null);
+        this.loopTime = metrics.histogram("net_server_loop_seconds", null);
+        metrics.gauge("net_sessions", null, () -> sessionCount);
+    }
+
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        channel = DatagramChannel.open();
+        channel.setOption(StandardSocketOptions.SO_RCVBUF, SOCKET_BUFFER_BYTES);
+        channel.setOption(StandardSocketOptions.SO_SNDBUF, SOCKET_BUFFER_BYTES);
+        channel.bind(bindAddress);
+        channel.configureBlocking(false);
+        selector = Selector.open();
+        channel.register(selector, SelectionKey.OP_READ);
+        link = new NetLink(channel, conditions);
+
+        running = true;
+        thread = new Thread(this::loop, "net-server");
+        thread.setDaemon(true);
+        thread.start();
+        LOG.info("Servidor de red escuchando en {}", channel.getLocalAddress());
+    }
+
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    }
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    // CPU usada por el hilo del servidor, para estimar sesiones por núcleo
+    public long getCpuNanos() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Thread current = thread;
+        return current == null ? 0 : threads.getThreadCpuTime(current.getId());
+    }
+
+    public NetLink getLink() {
+        return link;
+    }
+
+    public void stop() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            selector.wakeup();
+            try {
+                current.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void loop() {
+        long lastSweep = System.nanoTime();
+        try {
+            while (running) {
+                long timeout = Math.min(LOOP_NANOS, link.nanosUntilNext());
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeout)));
+                selector.selectedKeys().clear();
+
+                long start = System.nanoTime();
+                receiveAll(start);
+                for (ServerSession session : dirty) {
+                    try {
+                        sendState(session, start);
+                    } catch (RuntimeException e) {
+                        drop(session, e);
+                    }
+                }
+                dirty.clear();
+                if (start - lastSweep >= LOOP_NANOS) {
+                    sweep(start);
+                    lastSweep = start;
+                }
+                link.flush();
+                loopTime.recordSince(start);
+            }
+        } catch (IOException e) {
+            LOG.error("El servidor de red se detuvo: {}", e.getMessage());
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void receiveAll(long now) throws IOException {
+        SocketAddress from;
+        receiveBuffer.clear();
+        while ((from = channel.receive(receiveBuffer)) != null) {
+            receiveBuffer.flip();
+            packetsReceived.increment();
+            try {
+                handle(receiveBuffer, from, now);
+            } catch (RuntimeException e) {
+                // Un datagrama mal formado no debe tirar el servidor
+                LOG.debug("Datagrama inválido de {}: {}", from, e.getMessage());
+            }
+            receiveBuffer.clear();
+        }
+    }
+
+    private void handle(ByteBuffer packet, SocketAddress from, long now) throws IOException {
+        int type = NetProtocol.readType(packet);
+        if (type < 0) {
+            return;
+        }
+        int sessionId = packet.getInt();
+        int ack = packet.getInt();
+        ServerSession session = sessions.get(from);
+
+        if (type == NetProtocol.HELLO) {
+            String gameName = NetProtocol.getString(packet);
+            long seed = packet.getLong();
+            if (session == null) {
+                session = open(from, gameName, seed, now);
+                if (session == null) {
+                    return;
+                }
+            }
+            sendWelcome(session);
+            markDirty(session);
+            return;
+        }
+        if (session == null || session.id != sessionId) {
+            return;
+        }
+        session.lastHeardNanos = now;
+
+        if (type == NetProtocol.COMMANDS) {
+            session.acknowledge(ack);
+            applyCommands(session, packet);
+        } else if (type == NetProtocol.BYE) {
+            close(session);
+        }
+    }
+
+    private ServerSession open(SocketAddress from, String gameName, long seed, long now) throws IOException {
+        GameSession gameSession;
+        try {
+            gameSession = sessionFactory.open(gameName, seed);
+        } catch (IllegalArgumentException e) {
+            reject(from, e.getMessage());
+            return null;
+        }
+        if (!(gameSession.getGame() instanceof ReplicatedGame)) {
+            gameSession.close();
+            reject(from, gameName + " no se puede jugar en red");
+            return null;
+        }
+        // Sin fragmentación: un estado que no entra en un datagrama no se puede mandar nunca
+        byte[] initial = serialize((ReplicatedGame) gameSession.getGame());
+        if (initial.length > NetProtocol.MAX_STATE_BYTES) {
+            gameSession.close();
+            reject(from, gameName + " tiene un estado de " + initial.length + " bytes; el máximo es "
+                + NetProtocol.MAX_STATE_BYTES);
+            return null;
+        }
+        ServerSession session = new ServerSession(++nextSessionId, from, gameSession, now);
+        session.record(0, initial);
+        sessions.put(from, session);
+        sessionCount = sessions.size();
+        LOG.debug("Sesión {} de {}", session.id, gameName);
+        return session;
+    }
+
+    // Solo se aplica el comando siguiente al último aplicado; los repetidos se ignoran y un hueco espera la repetición
+    private void applyCommands(ServerSession session, ByteBuffer packet) throws IOException {
+        int first = packet.getInt();
+        int count = packet.get() & 0xFF;
+        boolean applied = false;
+        for (int i = 0; i < count; i++) {
+            int length = packet.get() & 0xFF;
+            int seq = first + i;
+            if (seq != session.processedSeq + 1) {
+                packet.position(packet.position() + length);
+                continue;
+            }
+            if (length > 0) {
+                byte[] input = new byte[length];
+                packet.get(input);
+                String command = new String(input, StandardCharsets.UTF_8);
+                if (session.game.getAvailableInputs().contains(command)) {
+                    session.game.applyInput(command);
+                }
+            }
+            session.game.tick();
+            session.processedSeq = seq;
+            applied = true;
+        }
+        if (applied) {
+            session.record(session.processedSeq, serialize(session.game));
+            markDirty(session);
+        }
+    }
+
+    private void markDirty(ServerSession session) {
+        if (!session.dirty) {
+            session.dirty = true;
+            dirty.add(session);
+        }
+    }
+
+    // Diferencia contra lo que el cliente confirmó, o estado completo si esa base ya no está o no conviene
+    private void sendState(ServerSession session, long now) throws IOException {
+        session.dirty = false;
+        byte[] current = session.latestState();
+        byte[] base = session.baseline();
+        if (current.length > NetProtocol.MAX_STATE_BYTES) {
+            throw new IllegalStateException("Estado de " + current.length + " bytes, no entra en un datagrama");
+        }
+
+        sendBuffer.clear();
+        NetProtocol.writeHeader(sendBuffer, NetProtocol.STATE, session.id, session.processedSeq);
+        sendBuffer.putInt(session.processedSeq);
+        int baseSeqPosition = sendBuffer.position();
+        sendBuffer.putInt(NetProtocol.NO_STATE);
+        sendBuffer.putShort((short) current.length);
+        int lengthPosition = sendBuffer.position();
+        sendBuffer.putShort((short) 0);
+        int payloadStart = sendBuffer.position();
+
+        // La diferencia solo sirve si es más chica que el estado: con el límite ahí, si crece de más desborda
+        int encoded = -1;
+        if (base != null) {
+            sendBuffer.limit(payloadStart + current.length);
+            try {
+                encoded = DeltaCodec.encode(base, current, sendBuffer);
+            } catch (BufferOverflowException e) {
+                encoded = -1;
+            }
+            sendBuffer.limit(sendBuffer.capacity());
+        }
+        if (encoded < 0 || encoded >= current.length) {
+            sendBuffer.position(payloadStart);
+            sendBuffer.put(current);
+            encoded = current.length;
+            fullStates.increment();
+        } else {
+            sendBuffer.putInt(baseSeqPosition, session.clientAck);
+            deltaStates.increment();
+        }
+        sendBuffer.putShort(lengthPosition, (short) encoded);
+
+        sendBuffer.flip();
+        bytesSent.add(sendBuffer.remaining());
+        link.send(sendBuffer, session.address);
+        packetsSent.increment();
+        session.lastSentNanos = now;
+    }
+
+    private void sendWelcome(ServerSession session) throws IOException {
+        sendBuffer.clear();
+        NetProtocol.writeHeader(sendBuffer, NetProtocol.WELCOME, session.id, session.processedSeq);
+        sendBuffer.flip();
+        link.send(sendBuffer, session.address);
+        packetsSent.increment();
+    }
+
+    private void reject(SocketAddress to, String reason) throws IOException {
+        sendBuffer.clear();
+        NetProtocol.writeHeader(sendBuffer, NetProtocol.REJECT, 0, NetProtocol.NO_STATE);
+        NetProtocol.putString(sendBuffer, reason);
+        sendBuffer.flip();
+        link.send(sendBuffer, to);
+        packetsSent.increment();
+    }
+
+    // Reenvía el último estado si el cliente no lo confirmó (se perdió) y cierra las sesiones abandonadas
+    private void sweep(long now) throws IOException {
+        Iterator<ServerSession> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            ServerSession session = iterator.next();
+            if (now - session.lastHeardNanos > IDLE_TIMEOUT_NANOS) {
+                iterator.remove();
+                session.gameSession.close();
+                LOG.debug("Sesión {} expirada", session.id);
+                continue;
+            }
+            if (session.clientAck != session.processedSeq && now - session.lastSentNanos > RESEND_NANOS) {
+                try {
+                    sendState(session, now);
+                } catch (RuntimeException e) {
+                    iterator.remove();
+                    session.gameSession.close();
+                    LOG.warn("Sesión {} cerrada: {}", session.id, e.getMessage());
+                }
+            }
+        }
+        sessionCount = sessions.size();
+    }
+
+    private void close(ServerSession session) {
+        sessions.remove(session.address);
+        session.gameSession.close();
+        sessionCount = sessions.size();
+    }
+
+    // Una sesión que falla se cierra sola; las demás siguen
+    private void drop(ServerSession session, RuntimeException error) {
+        if (sessions.get(session.address) == session) {
+            close(session);
+        }
+        LOG.warn("Sesión {} cerrada: {}", session.id, error.getMessage());
+    }
+
+    private void closeAll() {
+        for (ServerSession session : sessions.values()) {
+            session.gameSession.close();
+        }
+        sessions.clear();
+        sessionCount = 0;
+        try {
+            selector.close();
+            channel.close();
+        } catch (IOException e) {
+            LOG.warn("Error cerrando el servidor de red: {}", e.getMessage());
+        }
+    }
+
+    private byte[] serialize(ReplicatedGame game) throws IOException {
+        stateBytes.reset();
+        game.writeState(stateOut);
+        stateOut.flush();
+        return stateBytes.toByteArray();
+    }
+
+    //Una conexión: su partida, los comandos aplicados y los últimos estados enviados
+    private static class ServerSession {
+        final int id;
+        final SocketAddress address;
+        final GameSession gameSession;
+        final ReplicatedGame game;
+        final int[] historySeq = new int[HISTORY];
+        final byte[][] history = new byte[HISTORY][];
+        int processedSeq;
+        int clientAck = NetProtocol.NO_STATE;
+        long lastHeardNanos;
+        long lastSentNanos;
+        boolean dirty;
+
+        ServerSession(int id, SocketAddress address, GameSession gameSession, long now) {
+            this.id = id;
+            this.address = address;
+            this.gameSession = gameSession;
+            this.game = (ReplicatedGame) gameSession.getGame();
+            this.lastHeardNanos = now;
+            Arrays.fill(historySeq, NetProtocol.NO_STATE);
+        }
+
+        void record(int seq, byte[] state) {
+            int slot = seq % HISTORY;
+            historySeq[slot] = seq;
+            history[slot] = state;
+        }
+
+        byte[] latestState() {
+            return history[processedSeq % HISTORY];
+        }
+
+        // Los acks llegan desordenados; solo cuenta el más nuevo
+        void acknowledge(int ack) {
+            if (ack > clientAck && ack <= processedSeq) {
+                clientAck = ack;
+            }
+        }
+
+        byte[] baseline() {
+            if (clientAck < 0) {
+                return null;
+            }
+            int slot = clientAck % HISTORY;
+            return historySeq[slot] == clientAck ? history[slot] : null;
+        }
+    }
+}
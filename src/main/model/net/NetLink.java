@@ -0,0 +1,133 @@
+package model.net;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//Salida de datagramas con condiciones de red simuladas: latencia, variación y pérdida. Sin condiciones
+//envía directo; con ellas encola cada datagrama hasta su hora y flush() manda los que ya vencieron.
+//La usan el servidor y el cliente, así cada sentido del enlace tiene su propia demora
+public class NetLink {
+    private final DatagramChannel channel;
+    private final Conditions conditions;
+    private final Random random;
+    private final PriorityQueue<Delayed> queue;
+    private long sequence;
+    private long sent;
+    private long dropped;
+
+    public NetLink(DatagramChannel channel, Conditions conditions) {
+        this.channel = channel;
+        this.conditions = conditions;
+        this.random = new Random(conditions.seed);
+        this.queue = new PriorityQueue<>();
+    }
+
+    public void send(ByteBuffer packet, SocketAddress target) throws IOException {
+        if (conditions.isPerfect()) {
+            transmit(packet, target);
+            return;
+        }
+        if (random.nextDouble() < conditions.lossRate) {
+            dropped++;
+            return;
+        }
+        long delay = conditions.latencyMillis;
+        if (conditions.jitterMillis > 0) {
+            delay += random.nextInt(2 * conditions.jitterMillis + 1) - conditions.jitterMillis;
+        }
+        byte[] copy = new byte[packet.remaining()];
+        packet.get(copy);
+        queue.add(new Delayed(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delay)),
+            sequence++, copy, target));
+    }
+
+    // Manda lo que ya cumplió su demora
+    public void flush() throws IOException {
+        long now = System.nanoTime();
+        Delayed head;
+        while ((head = queue.peek()) != null && head.dueNanos <= now) {
+            queue.poll();
+            transmit(ByteBuffer.wrap(head.data), head.target);
+        }
+    }
+
+    // Cuánto falta para el próximo envío demorado; Long.MAX_VALUE si no hay ninguno
+    public long nanosUntilNext() {
+        Delayed head = queue.peek();
+        return head == null ? Long.MAX_VALUE : Math.max(0, head.dueNanos - System.nanoTime());
+    }
+
+    // Un socket UDP lleno descarta igual que la red
+    private void transmit(ByteBuffer packet, SocketAddress target) throws IOException {
+        if (channel.send(packet, target) > 0) {
+            sent++;
+        } else {
+            dropped++;
+        }
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    //Condiciones de un sentido del enlace
+    public static class Conditions {
+        public static final Conditions NONE = new Conditions(0, 0, 0, 0);
+
+        private final int latencyMillis;
+        private final int jitterMillis;
+        private final double lossRate;
+        private final long seed;
+
+        public Conditions(int latencyMillis, int jitterMillis, double lossRate, long seed) {
+            if (latencyMillis < 0 || jitterMillis < 0 || lossRate < 0 || lossRate >= 1) {
+                throw new IllegalArgumentException("Condiciones de red inválidas");
+            }
+            this.latencyMillis = latencyMillis;
+            this.jitterMillis = jitterMillis;
+            this.lossRate = lossRate;
+            this.seed = seed;
+        }
+
+        public Conditions withSeed(long seed) {
+            return new Conditions(latencyMillis, jitterMillis, lossRate, seed);
+        }
+
+        public boolean isPerfect() {
+            return latencyMillis == 0 && jitterMillis == 0 && lossRate == 0;
+        }
+
+        public int getLatencyMillis() { return latencyMillis; }
+        public int getJitterMillis() { return jitterMillis; }
+        public double getLossRate() { return lossRate; }
+    }
+
+    private static class Delayed implements Comparable<Delayed> {
+        final long dueNanos;
+        final long order;
+        final byte[] data;
+        final SocketAddress target;
+
+        Delayed(long dueNanos, long order, byte[] data, SocketAddress target) {
+            this.dueNanos = dueNanos;
+            this.order = order;
+            this.data = data;
+            this.target = target;
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            int byTime = Long.compare(dueNanos, other.dueNanos);
+            return byTime != 0 ? byTime : Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package model.net;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+//Protocolo binario de sincronización sobre UDP. Cada datagrama lleva una cabecera de 12 bytes:
+//  magic(2) versión(1) tipo(1) sesión(4) ack(4)
+//'ack' es, del cliente, el último estado recibido (base para las diferencias) y, del servidor, el último
+//comando aplicado. Cuerpos:
+//  HELLO    juego(texto) semilla(8)
+//  WELCOME  -
+//  COMMANDS primerComando(4) cantidad(1) y por comando: largo(1) entrada(bytes); largo 0 = sin entrada
+//  STATE    comando(4) base(4, -1 = completo) largo(2) largoDatos(2) datos
+//  BYE / REJECT motivo(texto)
+//Un comando es un paso de la partida: aplicar la entrada (si hay) y avanzar con tick()
+public final class NetProtocol {
+    public static final short MAGIC = 0x4A47;
+    public static final byte VERSION = 1;
+    public static final int HEADER_BYTES = 12;
+    // Por debajo del MTU habitual para que ningún datagrama se fragmente
+    public static final int MAX_DATAGRAM = 1200;
+    public static final int MAX_COMMANDS_PER_PACKET = 32;
+    // Lo que queda para los datos de un STATE después de la cabecera y sus 12 bytes propios
+    public static final int MAX_STATE_BYTES = MAX_DATAGRAM - HEADER_BYTES - 12;
+    public static final int NO_STATE = -1;
+
+    public static final byte HELLO = 1;
+    public static final byte WELCOME = 2;
+    public static final byte COMMANDS = 3;
+    public static final byte STATE = 4;
+    public static final byte BYE = 5;
+    public static final byte REJECT = 6;
+
+    private NetProtocol() {
+    }
+
+    public static void writeHeader(ByteBuffer buffer, byte type, int session, int ack) {
+        buffer.putShort(MAGIC);
+        buffer.put(VERSION);
+        buffer.put(type);
+        buffer.putInt(session);
+        buffer.putInt(ack);
+    }
+
+    // Devuelve el tipo, o -1 si el datagrama no es de este protocolo; deja la posición en 'sesión'
+    public static int readType(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getShort() != MAGIC || buffer.get() != VERSION) {
+            return -1;
+        }
+        return buffer.get();
+    }
+
+    public static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, 255);
+        buffer.put((byte) length);
+        buffer.put(bytes, 0, length);
+    }
+
+    public static String getString(ByteBuffer buffer) {
+        int length = buffer.get() & 0xFF;
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Texto truncado");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
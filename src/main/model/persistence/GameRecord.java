@@ -1,12 +1,19 @@
 package model.persistence;
 
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
-import java.text.SimpleDateFormat;
 
 public class GameRecord {
+    // DateTimeFormatter es inmutable: uno solo sirve para todos los registros y todos los hilos
+    private static final DateTimeFormatter DATE_FORMAT =
+        DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").withZone(ZoneId.systemDefault());
+
     private String gameName;
     private int score;
     private Date date;
+    // La fecha no cambia una vez guardada; transient para que Gson no la escriba en el JSON
+    private transient String formattedDate;
     
     public GameRecord() {}
     
@@ -23,12 +30,17 @@ public class GameRecord {
     public void setScore(int score) { this.score = score; }
     
     public Date getDate() { return date; }
-    public void setDate(Date date) { this.date = date; }
+    public void setDate(Date date) {
+        this.date = date;
+        this.formattedDate = null;
+    }
     
     public String getFormattedDate() {
         if (date == null) return "Fecha desconocida";
-        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm");
-        return sdf.format(date);
+        if (formattedDate == null) {
+            formattedDate = DATE_FORMAT.format(date.toInstant());
+        }
+        return formattedDate;
     }
     
     @Override
@@ -1,15 +1,24 @@
 package model.persistence;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.io.*;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import model.core.AsyncLogger;
+import model.core.FlightRecorder;
+import model.core.MetricsRegistry;
 
 public class ScoreManager {
+    private static final AsyncLogger.Channel LOG = AsyncLogger.get("scores");
     private static ScoreManager instance;
     private Map<String, List<GameRecord>> gameRecords;
-    private final String DATA_FILE = "data/scores.json";
+    // Se puede redirigir con -Dscores.file=... (p. ej. para que los benchmarks no toquen las puntuaciones reales)
+    private final String DATA_FILE = System.getProperty("scores.file", "data/scores.json");
     private final Gson gson;
+    private final MetricsRegistry.LatencyHistogram saveLatency =
+        MetricsRegistry.getInstance().histogram("score_save_seconds", null);
+    private final List<ScoreListener> listeners = new CopyOnWriteArrayList<>();
 
     private ScoreManager() {
         this.gson = new GsonBuilder().setPrettyPrinting().create();
@@ -40,10 +49,15 @@ public class ScoreManager {
 
             saveScores();
 
-            System.out.println(" Score actualizado: " + gameName + " - " + score);
+            LOG.info("Score actualizado: {} - {}", gameName, score);
+
+            // Si no entró al podio la tabla no cambió y no hay nada que avisar
+            if (records.contains(newRecord)) {
+                fireScoresChanged(gameName, records);
+            }
 
         } catch (Exception e) {
-            System.err.println(" Error actualizando score: " + e.getMessage());
+            LOG.error("Error actualizando score: {}", e.getMessage());
         }
     }
 
@@ -51,29 +65,30 @@ public class ScoreManager {
         return gameRecords.getOrDefault(gameName, new ArrayList<>());
     }
 
+    public void addScoreListener(ScoreListener listener) {
+        listeners.add(listener);
+    }
 
-    public List<String> getTopScoresAsStrings(String gameName) {
-        List<GameRecord> records = getTopScores(gameName);
-        List<String> result = new ArrayList<>();
-
-        if (records.isEmpty()) {
-            result.add("No hay records aún");
-            return result;
-        }
+    public void removeScoreListener(ScoreListener listener) {
+        listeners.remove(listener);
+    }
 
-        for (int i = 0; i < records.size(); i++) {
-            GameRecord record = records.get(i);
-            result.add((i + 1) + ". " + record.getScore() + " pts - " + record.getFormattedDate());
+    // Cada oyente recibe su propia copia: la lista interna se reordena en el próximo updateScore
+    private void fireScoresChanged(String gameName, List<GameRecord> records) {
+        for (ScoreListener listener : listeners) {
+            try {
+                listener.onScoresChanged(gameName, Collections.unmodifiableList(new ArrayList<>(records)));
+            } catch (RuntimeException e) {
+                LOG.error("Error avisando cambio de scores", e);
+            }
         }
-
-        return result;
     }
 
     private void loadScores() {
         try {
             File file = new File(DATA_FILE);
             if (!file.exists()) {
-                System.out.println("Archivo de scores no encontrado, creando uno nuevo");
+                LOG.info("Archivo de scores no encontrado, creando uno nuevo");
                 ensureDataDirectory();
                 return;
             }
@@ -83,18 +98,21 @@ public class ScoreManager {
 
             if (data != null && data.records != null) {
                 this.gameRecords = data.records;
-                System.out.println(" Scores cargados: " + gameRecords.size() + " juegos");
+                LOG.info("Scores cargados: {} juegos", gameRecords.size());
             }
 
             reader.close();
 
         } catch (Exception e) {
-            System.err.println(" Error cargando scores: " + e.getMessage());
+            LOG.error("Error cargando scores: {}", e.getMessage());
             this.gameRecords = new HashMap<>();
         }
     }
 
     private void saveScores() {
+        long start = System.nanoTime();
+        FlightRecorder.ScoreSaveEvent trace = FlightRecorder.beginScoreSave();
+        boolean saved = false;
         try {
             ensureDataDirectory();
 
@@ -104,25 +122,34 @@ public class ScoreManager {
             writer.flush();
             writer.close();
 
-            System.out.println(" Scores guardados en: " + DATA_FILE);
+            saved = true;
+            LOG.debug("Scores guardados en: {}", DATA_FILE);
 
         } catch (Exception e) {
-            System.err.println(" Error guardando scores: " + e.getMessage());
+            LOG.error("Error guardando scores: {}", e.getMessage());
             throw new RuntimeException("No se pudo guardar los scores", e);
+        } finally {
+            saveLatency.recordSince(start);
+            trace.finish(DATA_FILE, saved);
         }
     }
 
     private void ensureDataDirectory() {
         try {
-            File dataDir = new File("data");
-            if (!dataDir.exists()) {
+            File dataDir = new File(DATA_FILE).getAbsoluteFile().getParentFile();
+            if (dataDir != null && !dataDir.exists()) {
                 dataDir.mkdirs();
             }
         } catch (Exception e) {
-            System.err.println(" Error creando directorio data: " + e.getMessage());
+            LOG.error("Error creando directorio data: {}", e.getMessage());
         }
     }
 
+    //Aviso de que cambió el podio de un juego; puede llegar desde cualquier hilo
+    public interface ScoreListener {
+        void onScoresChanged(String gameName, List<GameRecord> topScores);
+    }
+
     private static class ScoreData {
         Map<String, List<GameRecord>> records;
 
@@ -131,13 +158,17 @@ public class ScoreManager {
         }
     }
 
+    // Volcado completo solo en DEBUG; con el nivel por defecto no recorre ni formatea nada
     public void printAllScores() {
-        System.out.println("=== TODOS LOS SCORES ===");
+        if (!LOG.isEnabled(AsyncLogger.Level.DEBUG)) {
+            return;
+        }
+        LOG.debug("=== TODOS LOS SCORES ===");
         for (String gameName : gameRecords.keySet()) {
-            System.out.println("🎮 " + gameName + ":");
+            LOG.debug("🎮 {}:", gameName);
             List<GameRecord> records = gameRecords.get(gameName);
             for (GameRecord record : records) {
-                System.out.println("   - " + record.getScore() + " pts (" + record.getFormattedDate() + ")");
+                LOG.debug("   - {} pts ({})", record.getScore(), record.getFormattedDate());
             }
         }
     }
@@ -0,0 +1,321 @@
+package view;
+
+import controller.MainController;
+import model.core.AssetManager;
+import model.core.EdtMonitor;
+import model.core.MetricsRegistry;
+import model.core.PluginMonitor;
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+//Ventana de diagnóstico con el consumo de EDT y CPU de cada plugin
+public class DiagnosticsDialog extends JDialog {
+
+    private static final Color BG_DARK = new Color(30, 41, 59);
+    private static final Color CARD_DARK = new Color(51, 65, 85);
+    private static final Color TEXT_WHITE = new Color(248, 250, 252);
+    private static final int REFRESH_MS = 1000;
+
+    private final MainController controller;
+    private final StatsTableModel tableModel;
+    private final JTable table;
+    private final JLabel assetsLabel;
+    private final StallTableModel stallModel;
+    private final JTable stallTable;
+    private final JLabel edtSummaryLabel;
+    private final JTextArea stackArea;
+    private final JTextArea metricsArea;
+    private final Timer refreshTimer;
+
+    public DiagnosticsDialog(Frame owner, MainController controller) {
+        super(owner, "📊 Diagnóstico", false);
+        this.controller = controller;
+        this.tableModel = new StatsTableModel();
+        this.table = new JTable(tableModel);
+        this.assetsLabel = new JLabel();
+        this.stallModel = new StallTableModel();
+        this.stallTable = new JTable(stallModel);
+        this.edtSummaryLabel = new JLabel();
+        this.stackArea = new JTextArea();
+        this.metricsArea = new JTextArea();
+        this.refreshTimer = new Timer(REFRESH_MS, e -> refresh());
+
+        initializeUI();
+        refresh();
+    }
+
+    private void initializeUI() {
+        JPanel content = new JPanel(new BorderLayout(0, 10));
+        content.setBackground(BG_DARK);
+        content.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+        table.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        table.setRowHeight(24);
+        table.setBackground(CARD_DARK);
+        table.setForeground(TEXT_WHITE);
+        table.setFillsViewportHeight(true);
+
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+
+        JButton resumeButton = new JButton("Reactivar seleccionado");
+        resumeButton.addActionListener(e -> {
+            int row = table.getSelectedRow();
+            if (row >= 0) {
+                controller.resumePlugin(tableModel.getGameName(row));
+                refresh();
+            }
+        });
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.setOpaque(false);
+        buttons.add(resumeButton);
+
+        assetsLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        assetsLabel.setForeground(TEXT_WHITE);
+
+        JPanel footer = new JPanel(new BorderLayout());
+        footer.setOpaque(false);
+        footer.add(assetsLabel, BorderLayout.WEST);
+        footer.add(buttons, BorderLayout.EAST);
+
+        content.add(scrollPane, BorderLayout.CENTER);
+        content.add(footer, BorderLayout.SOUTH);
+
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Plugins", content);
+        tabs.addTab("EDT", createEdtPanel());
+        tabs.addTab("Métricas", createMetricsPanel());
+
+        setContentPane(tabs);
+        setSize(900, 420);
+        setLocationRelativeTo(getOwner());
+    }
+
+    // Histograma de despachos del EDT y bloqueos recientes con su pila más repetida
+    private JPanel createEdtPanel() {
+        JPanel panel = new JPanel(new BorderLayout(0, 10));
+        panel.setBackground(BG_DARK);
+        panel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+        edtSummaryLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        edtSummaryLabel.setForeground(TEXT_WHITE);
+
+        stallTable.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        stallTable.setRowHeight(22);
+        stallTable.setBackground(CARD_DARK);
+        stallTable.setForeground(TEXT_WHITE);
+        stallTable.setFillsViewportHeight(true);
+        stallTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        stallTable.getSelectionModel().addListSelectionListener(e -> showSelectedStack());
+
+        stackArea.setEditable(false);
+        stackArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+            new JScrollPane(stallTable), new JScrollPane(stackArea));
+        split.setResizeWeight(0.5);
+        split.setBorder(BorderFactory.createEmptyBorder());
+
+        panel.add(edtSummaryLabel, BorderLayout.NORTH);
+        panel.add(split, BorderLayout.CENTER);
+        return panel;
+    }
+
+    // Mismo texto que se exporta a archivo o al endpoint de Prometheus
+    private JPanel createMetricsPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BG_DARK);
+        panel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+        metricsArea.setEditable(false);
+        metricsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+
+        panel.add(new JScrollPane(metricsArea), BorderLayout.CENTER);
+        return panel;
+    }
+
+    private void showSelectedStack() {
+        int row = stallTable.getSelectedRow();
+        if (row < 0) {
+            return;
+        }
+        EdtMonitor.Stall stall = stallModel.getStall(row);
+        StringBuilder text = new StringBuilder();
+        text.append(stall.getSampleCount()).append(" muestras; pila más frecuente:\n");
+        for (StackTraceElement frame : stall.getRepresentativeStack()) {
+            text.append("    at ").append(frame).append('\n');
+        }
+        stackArea.setText(text.toString());
+        stackArea.setCaretPosition(0);
+    }
+
+    private void refreshEdt() {
+        EdtMonitor edt = EdtMonitor.getInstance();
+        long[] histogram = edt.getHistogram();
+        StringBuilder text = new StringBuilder("<html>");
+        text.append(String.format("Despachos: %d, prom. %.2f ms, máx. %.1f ms, espera en cola prom. %.1f ms, bloqueos ≥ %d ms: %d<br>",
+            edt.getDispatchCount(), edt.getAvgDispatchMillis(), edt.getMaxDispatchMillis(),
+            edt.getAvgQueueWaitMillis(), edt.getStallThresholdMillis(), edt.getStallCount()));
+        long lower = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            String label = i < EdtMonitor.BUCKET_LIMITS_MS.length
+                ? lower + "-" + EdtMonitor.BUCKET_LIMITS_MS[i] + " ms"
+                : "≥" + lower + " ms";
+            text.append(label).append(": ").append(histogram[i]).append("&nbsp;&nbsp; ");
+            if (i < EdtMonitor.BUCKET_LIMITS_MS.length) {
+                lower = EdtMonitor.BUCKET_LIMITS_MS[i];
+            }
+        }
+        edtSummaryLabel.setText(text.append("</html>").toString());
+
+        int selected = stallTable.getSelectedRow();
+        EdtMonitor.Stall selectedStall = selected >= 0 ? stallModel.getStall(selected) : null;
+        stallModel.setStalls(edt.getRecentStalls());
+        int index = stallModel.indexOf(selectedStall);
+        if (index >= 0) {
+            stallTable.setRowSelectionInterval(index, index);
+        }
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        if (visible) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+        super.setVisible(visible);
+    }
+
+    @Override
+    public void dispose() {
+        refreshTimer.stop();
+        super.dispose();
+    }
+
+    private void refresh() {
+        int selected = table.getSelectedRow();
+        tableModel.setStats(controller.getPluginStats());
+        if (selected >= 0 && selected < tableModel.getRowCount()) {
+            table.setRowSelectionInterval(selected, selected);
+        }
+
+        AssetManager assets = AssetManager.getInstance();
+        assetsLabel.setText(String.format("Imágenes: %d en caché, %.1f / %.0f MB, aciertos %d, fallos %d (%.0f%%)",
+            assets.getEntryCount(),
+            assets.getMemoryBytes() / (1024.0 * 1024.0),
+            assets.getMaxBytes() / (1024.0 * 1024.0),
+            assets.getHits(), assets.getMisses(), assets.getHitRate() * 100));
+
+        refreshEdt();
+
+        int caret = Math.min(metricsArea.getCaretPosition(), metricsArea.getDocument().getLength());
+        metricsArea.setText(MetricsRegistry.getInstance().toPrometheusText());
+        metricsArea.setCaretPosition(Math.min(caret, metricsArea.getDocument().getLength()));
+    }
+
+    private static class StallTableModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Hora", "Duración (ms)", "Atribuido a", "Evento", "Muestras"};
+
+        private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+        private List<EdtMonitor.Stall> stalls = new ArrayList<>();
+
+        void setStalls(List<EdtMonitor.Stall> stalls) {
+            this.stalls = stalls;
+            fireTableDataChanged();
+        }
+
+        EdtMonitor.Stall getStall(int row) {
+            return stalls.get(row);
+        }
+
+        int indexOf(EdtMonitor.Stall stall) {
+            return stall == null ? -1 : stalls.indexOf(stall);
+        }
+
+        @Override
+        public int getRowCount() {
+            return stalls.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            EdtMonitor.Stall stall = stalls.get(row);
+            switch (column) {
+                case 0: return timeFormat.format(new Date(stall.getTimestamp()));
+                case 1: return stall.getDurationMillis();
+                case 2: return stall.getOwner();
+                case 3: return stall.getEvent();
+                case 4: return stall.getSampleCount();
+                default: return "";
+            }
+        }
+    }
+
+    private static class StatsTableModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {
+            "Juego", "Llamadas", "EDT total (ms)", "EDT prom. (ms)", "EDT máx. (ms)",
+            "CPU (ms)", "Tareas fondo", "Latencia fondo (ms)", "Excesos", "Estado"
+        };
+
+        private List<PluginMonitor.PluginStats> stats = new ArrayList<>();
+
+        void setStats(List<PluginMonitor.PluginStats> stats) {
+            this.stats = stats;
+            fireTableDataChanged();
+        }
+
+        String getGameName(int row) {
+            return stats.get(row).getGameName();
+        }
+
+        @Override
+        public int getRowCount() {
+            return stats.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            PluginMonitor.PluginStats s = stats.get(row);
+            switch (column) {
+                case 0: return s.getGameName();
+                case 1: return s.getCallbacks();
+                case 2: return String.format("%.1f", s.getTotalEdtMillis());
+                case 3: return String.format("%.2f", s.getAvgEdtMillis());
+                case 4: return String.format("%.1f", s.getMaxEdtMillis());
+                case 5: return String.format("%.1f", s.getCpuMillis());
+                case 6: return s.getBackgroundTasks();
+                case 7: return String.format("%.2f", s.getAvgBackgroundLatencyMillis());
+                case 8: return s.getViolations();
+                case 9: return s.isSuspended() ? "Suspendido" : "Activo";
+                default: return "";
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package view;
 
 import controller.MainController;
-import model.core.GamePlugin;
+import model.core.FrameScheduler;
+import model.core.PluginManifest;
+import view.components.ScorePanel;
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
@@ -22,10 +24,12 @@ public class MainView extends JFrame {
     private MainController controller;
     private JPanel gameContainer;
     private JLabel scoreLabel;
-    private JTextArea scoresArea;
+    private ScorePanel scorePanel;
     private JList<String> gamesList;
-    private List<GamePlugin> currentGamesList;
+    private List<PluginManifest> currentGamesList;
     private JPanel gamesPanel;
+    private DiagnosticsDialog diagnosticsDialog;
+    private SplitScreenPanel splitScreen;
 
     public MainView(MainController controller) {
         this.controller = controller;
@@ -74,6 +78,45 @@ public class MainView extends JFrame {
 
         topBar.add(leftPanel, BorderLayout.WEST);
 
+        JButton diagnosticsButton = new JButton("📊 Diagnóstico");
+        diagnosticsButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        diagnosticsButton.setBackground(ACCENT_PURPLE);
+        diagnosticsButton.setForeground(TEXT_WHITE);
+        diagnosticsButton.setFocusPainted(false);
+        diagnosticsButton.addActionListener(e -> showDiagnostics());
+
+        JButton installButton = new JButton("➕ Instalar plugin");
+        installButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        installButton.setBackground(PRIMARY_BLUE);
+        installButton.setForeground(TEXT_WHITE);
+        installButton.setFocusPainted(false);
+        installButton.addActionListener(e -> controller.installPlugin(this));
+
+        JButton recordingButton = new JButton("🎞 Volcar grabación");
+        recordingButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        recordingButton.setBackground(CARD_DARK);
+        recordingButton.setForeground(TEXT_WHITE);
+        recordingButton.setFocusPainted(false);
+        recordingButton.setToolTipText("Guarda los últimos minutos de la grabación JFR en data/recordings");
+        recordingButton.addActionListener(e -> dumpRecording(recordingButton));
+
+        JButton splitButton = new JButton("🔲 Pantalla dividida");
+        splitButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        splitButton.setBackground(CARD_DARK);
+        splitButton.setForeground(TEXT_WHITE);
+        splitButton.setFocusPainted(false);
+        splitButton.setToolTipText("Juega de 2 a 4 juegos a la vez");
+        splitButton.addActionListener(e -> chooseSplitScreen());
+
+        JPanel rightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 5));
+        rightPanel.setOpaque(false);
+        rightPanel.add(splitButton);
+        rightPanel.add(installButton);
+        rightPanel.add(recordingButton);
+        rightPanel.add(diagnosticsButton);
+
+        topBar.add(rightPanel, BorderLayout.EAST);
+
         return topBar;
     }
 
@@ -98,9 +141,9 @@ public class MainView extends JFrame {
         headerPanel.add(iconLabel, BorderLayout.WEST);
         headerPanel.add(title, BorderLayout.CENTER);
 
-        currentGamesList = controller.getAvailableGames();
+        currentGamesList = controller.getGameCatalog();
         String[] gameNames = currentGamesList.stream()
-                .map(GamePlugin::getGameName)
+                .map(PluginManifest::getName)
                 .toArray(String[]::new);
 
         gamesList = new JList<>(gameNames);
@@ -116,9 +159,9 @@ public class MainView extends JFrame {
             if (!e.getValueIsAdjusting()) {
                 int index = gamesList.getSelectedIndex();
                 if (index >= 0 && index < currentGamesList.size()) {
-                    GamePlugin selectedGame = currentGamesList.get(index);
+                    String selectedGame = currentGamesList.get(index).getName();
                     controller.selectGame(selectedGame);
-                    updateScoresDisplay(selectedGame.getGameName());
+                    updateScoresDisplay(selectedGame);
                 }
             }
         });
@@ -136,11 +179,63 @@ public class MainView extends JFrame {
         return panel;
     }
 
+    private void dumpRecording(JButton source) {
+        source.setEnabled(false);
+        controller.dumpFlightRecording("manual").whenComplete((file, error) ->
+            SwingUtilities.invokeLater(() -> {
+                source.setEnabled(true);
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    JOptionPane.showMessageDialog(this, cause.getMessage(),
+                            "Grabación", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Grabación guardada en:\n" + file.toAbsolutePath(),
+                            "Grabación", JOptionPane.INFORMATION_MESSAGE);
+                }
+            }));
+    }
+
+    private void chooseSplitScreen() {
+        String[] gameNames = controller.getGameCatalog().stream()
+                .map(PluginManifest::getName)
+                .toArray(String[]::new);
+        JList<String> choices = new JList<>(gameNames);
+        choices.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        choices.setVisibleRowCount(Math.min(8, gameNames.length));
+
+        JPanel panel = new JPanel(new BorderLayout(0, 8));
+        panel.add(new JLabel("Elige de 2 a 4 juegos (Ctrl + clic):"), BorderLayout.NORTH);
+        panel.add(new JScrollPane(choices), BorderLayout.CENTER);
+
+        int option = JOptionPane.showConfirmDialog(this, panel, "Pantalla dividida",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (option != JOptionPane.OK_OPTION) {
+            return;
+        }
+        List<String> selected = choices.getSelectedValuesList();
+        if (selected.size() < 2 || selected.size() > 4) {
+            JOptionPane.showMessageDialog(this, "Selecciona entre 2 y 4 juegos",
+                    "Pantalla dividida", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        gamesList.clearSelection();
+        controller.startSplitScreen(selected);
+    }
+
+    private void showDiagnostics() {
+        if (diagnosticsDialog == null) {
+            diagnosticsDialog = new DiagnosticsDialog(this, controller);
+        }
+        diagnosticsDialog.setVisible(true);
+        diagnosticsDialog.toFront();
+    }
+
     public void refreshGamesList() {
         if (gamesList != null) {
-            currentGamesList = controller.getAvailableGames();
+            currentGamesList = controller.getGameCatalog();
             String[] gameNames = currentGamesList.stream()
-                    .map(GamePlugin::getGameName)
+                    .map(PluginManifest::getName)
                     .toArray(String[]::new);
 
             gamesList.setListData(gameNames);
@@ -274,35 +369,41 @@ public class MainView extends JFrame {
         headerPanel.add(trophyIcon, BorderLayout.WEST);
         headerPanel.add(title, BorderLayout.CENTER);
 
-        scoresArea = new JTextArea(10, 15);
-        scoresArea.setEditable(false);
-        scoresArea.setFont(new Font("Consolas", Font.PLAIN, 15));
-        scoresArea.setBackground(CARD_DARK);
-        scoresArea.setForeground(TEXT_WHITE);
-        scoresArea.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
-        scoresArea.setLineWrap(true);
-        scoresArea.setWrapStyleWord(true);
-
-        JScrollPane scrollPane = new JScrollPane(scoresArea);
-        scrollPane.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(PRIMARY_DARK, 2),
-                BorderFactory.createEmptyBorder(8, 8, 8, 8)));
-        scrollPane.getVerticalScrollBar().setUnitIncrement(20);
-        scrollPane.setBackground(CARD_DARK);
+        // Se actualiza solo cuando cambia el podio del juego que muestra
+        scorePanel = new ScorePanel();
+        controller.addScoreListener(scorePanel);
 
         panel.add(headerPanel, BorderLayout.NORTH);
-        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(scorePanel, BorderLayout.CENTER);
 
         return panel;
     }
 
     public void displayGame(JPanel gamePanel) {
+        closeSplitScreen();
         gameContainer.removeAll();
         gameContainer.add(gamePanel, BorderLayout.CENTER);
         gameContainer.revalidate();
         gameContainer.repaint();
     }
 
+    public void displaySplitScreen(List<String> gameNames, List<JPanel> gamePanels, FrameScheduler frameScheduler) {
+        closeSplitScreen();
+        splitScreen = new SplitScreenPanel(gameNames, gamePanels, frameScheduler);
+        gameContainer.removeAll();
+        gameContainer.add(splitScreen, BorderLayout.CENTER);
+        gameContainer.revalidate();
+        gameContainer.repaint();
+        setTitle("🎮 Plataforma de Juegos - " + String.join(" | ", gameNames));
+    }
+
+    private void closeSplitScreen() {
+        if (splitScreen != null) {
+            splitScreen.dispose();
+            splitScreen = null;
+        }
+    }
+
     public void updateGameInfo(String gameName, String description) {
         setTitle("🎮 Plataforma de Juegos - " + gameName);
     }
@@ -312,31 +413,7 @@ public class MainView extends JFrame {
     }
 
     public void updateScoresDisplay(String gameName) {
-        List<String> topScores = controller.getTopScores(gameName);
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("━━━━━━━━━━━━━━━━━━━━\n");
-        sb.append("  🏆 ").append(gameName).append("\n");
-        sb.append("━━━━━━━━━━━━━━━━━━━━\n\n");
-
-        if (topScores.isEmpty()) {
-            sb.append("  Sin puntajes registrados\n");
-        } else {
-            for (int i = 0; i < topScores.size(); i++) {
-                if (i == 0)
-                    sb.append("🥇 ");
-                else if (i == 1)
-                    sb.append("🥈 ");
-                else if (i == 2)
-                    sb.append("🥉 ");
-                else
-                    sb.append("   ");
-
-                sb.append(topScores.get(i)).append("\n");
-            }
-        }
-
-        scoresArea.setText(sb.toString());
+        scorePanel.showGame(gameName, controller.getTopScores(gameName));
     }
 
     public void showGameFinishedMessage(String gameName, int score) {
@@ -0,0 +1,117 @@
+package view;
+
+import model.core.FrameScheduler;
+import javax.swing.*;
+import javax.swing.plaf.LayerUI;
+import java.awt.*;
+import java.util.List;
+import java.util.Locale;
+
+//Pantalla dividida: de 2 a 4 juegos en grilla. Encima se dibuja el tiempo de cuadro total del
+//FrameScheduler y el de cada juego contra su presupuesto
+public class SplitScreenPanel extends JPanel {
+
+    private static final Color BG_DARKER = new Color(15, 23, 42);
+    private static final Color CARD_DARK = new Color(51, 65, 85);
+    private static final Color TEXT_WHITE = new Color(248, 250, 252);
+    private static final Color OVERLAY_BG = new Color(15, 23, 42, 200);
+    private static final Color OVER_BUDGET = new Color(239, 68, 68);
+    private static final Color ON_BUDGET = new Color(34, 197, 94);
+    private static final int OVERLAY_WIDTH = 310;
+    private static final int OVERLAY_MAX_HEIGHT = 100;
+
+    private final FrameScheduler frameScheduler;
+    private final JPanel grid;
+
+    public SplitScreenPanel(List<String> gameNames, List<JPanel> gamePanels, FrameScheduler frameScheduler) {
+        super(new BorderLayout());
+        this.frameScheduler = frameScheduler;
+        setOpaque(false);
+
+        int columns = 2;
+        int rows = gamePanels.size() > 2 ? 2 : 1;
+        grid = new JPanel(new GridLayout(rows, columns, 8, 8));
+        grid.setBackground(BG_DARKER);
+        for (int i = 0; i < gamePanels.size(); i++) {
+            grid.add(createTile(gameNames.get(i), gamePanels.get(i)));
+        }
+
+        // JLayer hace que cualquier repintado de un juego pase también por el indicador
+        add(new JLayer<JComponent>(grid, new FrameTimeOverlay()), BorderLayout.CENTER);
+        frameScheduler.setFrameListener(this::repaintOverlay);
+    }
+
+    private JPanel createTile(String gameName, JPanel gamePanel) {
+        JPanel tile = new JPanel(new BorderLayout());
+        tile.setBackground(CARD_DARK);
+        tile.setBorder(BorderFactory.createLineBorder(BG_DARKER, 2));
+
+        JLabel title = new JLabel(gameName, SwingConstants.CENTER);
+        title.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        title.setForeground(TEXT_WHITE);
+        title.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+
+        tile.add(title, BorderLayout.NORTH);
+        tile.add(gamePanel, BorderLayout.CENTER);
+        return tile;
+    }
+
+    // Solo la esquina del indicador; los juegos se repintan solos
+    private void repaintOverlay() {
+        repaint(getWidth() - OVERLAY_WIDTH - 16, getHeight() - OVERLAY_MAX_HEIGHT - 16,
+                OVERLAY_WIDTH + 16, OVERLAY_MAX_HEIGHT + 16);
+    }
+
+    // Deja de recibir avisos del planificador al salir de la pantalla dividida
+    public void dispose() {
+        frameScheduler.setFrameListener(null);
+    }
+
+    private static String millis(double nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private class FrameTimeOverlay extends LayerUI<JComponent> {
+        @Override
+        public void paint(Graphics g, JComponent c) {
+            super.paint(g, c);
+
+            List<FrameScheduler.Tile> tiles = frameScheduler.getTiles();
+            String budget = millis(frameScheduler.getFrameBudgetNanos());
+            String tileBudget = millis(frameScheduler.getTileBudgetNanos());
+
+            Graphics2D g2d = (Graphics2D) g.create();
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setFont(new Font("Consolas", Font.PLAIN, 12));
+            FontMetrics metrics = g2d.getFontMetrics();
+            int lineHeight = metrics.getHeight();
+            int height = Math.min(OVERLAY_MAX_HEIGHT, lineHeight * (1 + Math.max(1, tiles.size())) + 10);
+            int x = c.getWidth() - OVERLAY_WIDTH - 8;
+            int y = c.getHeight() - height - 8;
+
+            g2d.setColor(OVERLAY_BG);
+            g2d.fillRoundRect(x, y, OVERLAY_WIDTH, height, 10, 10);
+
+            int line = y + 5 + metrics.getAscent();
+            long total = frameScheduler.getLastFrameNanos();
+            g2d.setColor(total > frameScheduler.getFrameBudgetNanos() ? OVER_BUDGET : TEXT_WHITE);
+            g2d.drawString("Cuadro " + millis(total) + " ms (prom " + millis(frameScheduler.getAverageFrameNanos())
+                    + ", p99 " + millis(frameScheduler.getAggregateTime().getPercentileNanos(99))
+                    + ") / " + budget + " ms", x + 8, line);
+
+            if (tiles.isEmpty()) {
+                g2d.setColor(TEXT_WHITE);
+                g2d.drawString("Ningún juego con bucle propio", x + 8, line + lineHeight);
+            }
+            for (FrameScheduler.Tile tile : tiles) {
+                line += lineHeight;
+                boolean over = tile.getAverageFrameNanos() > frameScheduler.getTileBudgetNanos();
+                g2d.setColor(over || tile.getThrottle() > 0 ? OVER_BUDGET : ON_BUDGET);
+                String throttled = tile.getThrottle() > 0 ? "  1/" + (1 << tile.getThrottle()) : "";
+                g2d.drawString(tile.getGameName() + ": " + millis(tile.getAverageFrameNanos()) + " / "
+                        + tileBudget + " ms" + throttled, x + 8, line);
+            }
+            g2d.dispose();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package view.components;
+
+import model.persistence.GameRecord;
+import model.persistence.ScoreManager;
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+//Tabla de mejores puntajes del juego seleccionado. La lista se apoya en un ListModel propio que
+//escucha al ScoreManager: cuando cambia el podio solo avisa (y la JList solo repinta) las filas
+//que realmente cambiaron, en lugar de rearmar todo el texto
+public class ScorePanel extends JPanel implements ScoreManager.ScoreListener {
+
+    private static final Color BG_DARK = new Color(30, 41, 59);
+    private static final Color PRIMARY_DARK = new Color(15, 23, 42);
+    private static final Color CARD_DARK = new Color(51, 65, 85);
+    private static final Color CARD_ALT = new Color(45, 55, 72);
+    private static final Color TEXT_WHITE = new Color(248, 250, 252);
+    private static final Color TEXT_GRAY = new Color(148, 163, 184);
+    private static final Font ROW_FONT = new Font("Consolas", Font.PLAIN, 15);
+    private static final String[] MEDALS = {"🥇", "🥈", "🥉"};
+    private static final String LIST_CARD = "list";
+    private static final String EMPTY_CARD = "empty";
+
+    private final LeaderboardModel model;
+    private final JLabel gameLabel;
+    private final CardLayout cards;
+    private final JPanel content;
+
+    public ScorePanel() {
+        super(new BorderLayout(0, 10));
+        setBackground(BG_DARK);
+
+        model = new LeaderboardModel();
+
+        gameLabel = new JLabel(" ");
+        gameLabel.setFont(new Font("Segoe UI", Font.BOLD, 15));
+        gameLabel.setForeground(TEXT_WHITE);
+        gameLabel.setBorder(BorderFactory.createEmptyBorder(0, 4, 0, 4));
+
+        JList<GameRecord> list = new JList<>(model);
+        list.setBackground(CARD_DARK);
+        list.setFixedCellHeight(44);
+        list.setFocusable(false);
+        list.setCellRenderer(new RecordRenderer());
+
+        JLabel emptyLabel = new JLabel("Sin puntajes registrados", SwingConstants.CENTER);
+        emptyLabel.setFont(ROW_FONT);
+        emptyLabel.setForeground(TEXT_GRAY);
+        emptyLabel.setVerticalAlignment(SwingConstants.TOP);
+        emptyLabel.setBorder(BorderFactory.createEmptyBorder(20, 10, 20, 10));
+
+        cards = new CardLayout();
+        content = new JPanel(cards);
+        content.setBackground(CARD_DARK);
+        content.add(list, LIST_CARD);
+        content.add(emptyLabel, EMPTY_CARD);
+
+        JScrollPane scrollPane = new JScrollPane(content);
+        scrollPane.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(PRIMARY_DARK, 2),
+                BorderFactory.createEmptyBorder(8, 8, 8, 8)));
+        scrollPane.getVerticalScrollBar().setUnitIncrement(20);
+        scrollPane.setBackground(CARD_DARK);
+
+        add(gameLabel, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+    }
+
+    // Cambia el juego mostrado; solo desde el EDT
+    public void showGame(String gameName, List<GameRecord> topScores) {
+        gameLabel.setText("🏆 " + gameName);
+        model.show(gameName, topScores);
+        updateEmptyState();
+    }
+
+    // El ScoreManager avisa desde el hilo que terminó la partida; el modelo solo se toca en el EDT
+    @Override
+    public void onScoresChanged(String gameName, List<GameRecord> topScores) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            applyChange(gameName, topScores);
+        } else {
+            SwingUtilities.invokeLater(() -> applyChange(gameName, topScores));
+        }
+    }
+
+    private void applyChange(String gameName, List<GameRecord> topScores) {
+        if (model.update(gameName, topScores)) {
+            updateEmptyState();
+        }
+    }
+
+    private void updateEmptyState() {
+        cards.show(content, model.getSize() == 0 ? EMPTY_CARD : LIST_CARD);
+    }
+
+    //Podio del juego actual. Guarda su propia copia para poder comparar fila por fila con la siguiente
+    private static class LeaderboardModel extends AbstractListModel<GameRecord> {
+        private String gameName;
+        private List<GameRecord> rows = new ArrayList<>();
+
+        @Override
+        public int getSize() {
+            return rows.size();
+        }
+
+        @Override
+        public GameRecord getElementAt(int index) {
+            return rows.get(index);
+        }
+
+        void show(String gameName, List<GameRecord> topScores) {
+            this.gameName = gameName;
+            replace(topScores);
+        }
+
+        // Los cambios de otros juegos se ignoran: se leen al seleccionarlos
+        boolean update(String gameName, List<GameRecord> topScores) {
+            if (!gameName.equals(this.gameName)) {
+                return false;
+            }
+            replace(topScores);
+            return true;
+        }
+
+        // Avisa solo el tramo de filas distintas y lo que se agregó o quitó al final
+        private void replace(List<GameRecord> topScores) {
+            List<GameRecord> previous = rows;
+            rows = new ArrayList<>(topScores);
+
+            int common = Math.min(previous.size(), rows.size());
+            int firstChanged = -1;
+            int lastChanged = -1;
+            for (int i = 0; i < common; i++) {
+                if (!sameRow(previous.get(i), rows.get(i))) {
+                    if (firstChanged < 0) {
+                        firstChanged = i;
+                    }
+                    lastChanged = i;
+                }
+            }
+            if (firstChanged >= 0) {
+                fireContentsChanged(this, firstChanged, lastChanged);
+            }
+            if (rows.size() > previous.size()) {
+                fireIntervalAdded(this, common, rows.size() - 1);
+            } else if (rows.size() < previous.size()) {
+                fireIntervalRemoved(this, common, previous.size() - 1);
+            }
+        }
+
+        private static boolean sameRow(GameRecord a, GameRecord b) {
+            if (a == b) {
+                return true;
+            }
+            return a.getScore() == b.getScore()
+                && (a.getDate() == null ? b.getDate() == null : a.getDate().equals(b.getDate()));
+        }
+    }
+
+    private static class RecordRenderer extends DefaultListCellRenderer {
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value,
+                int index, boolean isSelected, boolean cellHasFocus) {
+            JLabel label = (JLabel) super.getListCellRendererComponent(list, value, index, false, false);
+            GameRecord record = (GameRecord) value;
+
+            String medal = index < MEDALS.length ? MEDALS[index] : "  ";
+            label.setText(medal + " " + (index + 1) + ". " + record.getScore() + " pts - " + record.getFormattedDate());
+            label.setFont(ROW_FONT);
+            label.setBorder(BorderFactory.createEmptyBorder(8, 12, 8, 12));
+            label.setBackground(index % 2 == 0 ? CARD_DARK : CARD_ALT);
+            label.setForeground(TEXT_WHITE);
+            return label;
+        }
+    }
+}